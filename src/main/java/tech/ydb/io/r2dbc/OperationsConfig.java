@@ -17,9 +17,17 @@
 package tech.ydb.io.r2dbc;
 
 import java.time.Duration;
+import java.util.List;
 
 import io.r2dbc.spi.ConnectionFactoryOptions;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.annotation.Nullable;
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.jfr.JfrEvents;
+import tech.ydb.io.r2dbc.logging.SlowQueryLogger;
 import tech.ydb.io.r2dbc.options.OperationOptions;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
+import tech.ydb.io.r2dbc.tracing.YdbTracer;
 
 /**
  * @author Egor Kuleshov
@@ -27,27 +35,75 @@ import tech.ydb.io.r2dbc.options.OperationOptions;
 public class OperationsConfig {
     private static final Duration DEFAULT_STATEMENT_TIMEOUT = Duration.ZERO;
     private static final boolean DEFAULT_FAIL_ON_TRUNCATED_RESULT = false;
+    private static final boolean DEFAULT_SCAN_ON_TRUNCATED_RESULT = false;
+    private static final boolean DEFAULT_PARALLEL_RESULT_DECODING = false;
+    private static final boolean DEFAULT_STATEMENT_FUSION = false;
+    private static final int DEFAULT_INLINE_RESULT_MAX_ROWS = 0;
+    private static final YdbStatsMode DEFAULT_STATS_MODE = YdbStatsMode.NONE;
     private static final Duration DEFAULT_SESSION_TIMEOUT = Duration.ofSeconds(5);
     private static final Duration DEFAULT_DEADLINE_TIMEOUT = Duration.ZERO;
+    private static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(30);
     private static final int DEFAULT_STATEMENT_CACHE_SIZE = 256;
+    private static final int DEFAULT_STATEMENT_STATISTICS_SIZE = 0;
+    private static final double DEFAULT_SLOW_QUERY_SAMPLE_RATE = 1;
+    private static final boolean DEFAULT_SLOW_QUERY_LOG_PARAMETER_VALUES = false;
+    private static final boolean DEFAULT_JFR_EVENTS = false;
 
     private final Duration statementTimeout;
     private final boolean failOnTruncatedResult;
+    private final boolean scanOnTruncatedResult;
+    private final boolean parallelResultDecoding;
+    private final boolean statementFusion;
+    @Nullable
+    private final Scheduler resultScheduler;
+    private final int inlineResultMaxRows;
+    private final YdbStatsMode statsMode;
     private final Duration sessionTimeout;
     private final Duration deadlineTimeout;
+    private final Duration shutdownTimeout;
     private final int statementCacheSize;
+    private final int statementStatisticsSize;
+    private final SlowQueryLogger slowQueryLogger;
+    private final YdbTracer tracer;
+    private final Codecs codecs;
 
     public OperationsConfig(OptionExtractor optionExtractor) {
         this.statementTimeout = optionExtractor.extractOrDefault(ConnectionFactoryOptions.STATEMENT_TIMEOUT,
                 DEFAULT_STATEMENT_TIMEOUT);
         this.failOnTruncatedResult = optionExtractor.extractOrDefault(OperationOptions.FAIL_ON_TRUNCATED_RESULT,
                 DEFAULT_FAIL_ON_TRUNCATED_RESULT);
+        this.scanOnTruncatedResult = optionExtractor.extractOrDefault(OperationOptions.SCAN_ON_TRUNCATED_RESULT,
+                DEFAULT_SCAN_ON_TRUNCATED_RESULT);
+        this.parallelResultDecoding = optionExtractor.extractOrDefault(OperationOptions.PARALLEL_RESULT_DECODING,
+                DEFAULT_PARALLEL_RESULT_DECODING);
+        this.statementFusion = optionExtractor.extractOrDefault(OperationOptions.STATEMENT_FUSION,
+                DEFAULT_STATEMENT_FUSION);
+        this.resultScheduler = optionExtractor.extract(OperationOptions.RESULT_SCHEDULER).orElse(null);
+        this.inlineResultMaxRows = optionExtractor.extractOrDefault(OperationOptions.INLINE_RESULT_MAX_ROWS,
+                DEFAULT_INLINE_RESULT_MAX_ROWS);
+        this.statsMode = optionExtractor.extractOrDefault(OperationOptions.STATS_MODE, DEFAULT_STATS_MODE);
         this.sessionTimeout = optionExtractor.extractOrDefault(OperationOptions.SESSION_TIMEOUT,
                 DEFAULT_SESSION_TIMEOUT);
         this.deadlineTimeout = optionExtractor.extractOrDefault(OperationOptions.DEADLINE_TIMEOUT,
                 DEFAULT_DEADLINE_TIMEOUT);
+        this.shutdownTimeout = optionExtractor.extractOrDefault(OperationOptions.SHUTDOWN_TIMEOUT,
+                DEFAULT_SHUTDOWN_TIMEOUT);
         this.statementCacheSize = optionExtractor.extractOrDefault(OperationOptions.STATEMENT_CACHE_SIZE,
                 DEFAULT_STATEMENT_CACHE_SIZE);
+        this.statementStatisticsSize = optionExtractor.extractOrDefault(OperationOptions.STATEMENT_STATISTICS_SIZE,
+                DEFAULT_STATEMENT_STATISTICS_SIZE);
+        this.slowQueryLogger = optionExtractor.extract(OperationOptions.SLOW_QUERY_THRESHOLD)
+                .map(threshold -> new SlowQueryLogger(threshold,
+                        optionExtractor.extractOrDefault(OperationOptions.SLOW_QUERY_SAMPLE_RATE,
+                                DEFAULT_SLOW_QUERY_SAMPLE_RATE),
+                        optionExtractor.extractOrDefault(OperationOptions.SLOW_QUERY_LOG_PARAMETER_VALUES,
+                                DEFAULT_SLOW_QUERY_LOG_PARAMETER_VALUES)))
+                .orElse(SlowQueryLogger.DISABLED);
+        this.tracer = YdbTracer.combine(optionExtractor.extractOrDefault(OperationOptions.TRACER, YdbTracer.NOOP),
+                optionExtractor.extractOrDefault(OperationOptions.JFR_EVENTS, DEFAULT_JFR_EVENTS)
+                        ? JfrEvents.tracer()
+                        : YdbTracer.NOOP);
+        this.codecs = Codecs.of(optionExtractor.extractOrDefault(OperationOptions.CODECS, List.of()));
     }
 
     public static OperationsConfig defaultConfig() {
@@ -62,6 +118,34 @@ public class OperationsConfig {
         return failOnTruncatedResult;
     }
 
+    public boolean isScanOnTruncatedResult() {
+        return scanOnTruncatedResult;
+    }
+
+    public boolean isParallelResultDecoding() {
+        return parallelResultDecoding;
+    }
+
+    public boolean isStatementFusion() {
+        return statementFusion;
+    }
+
+    /**
+     * @return scheduler to deliver results on, or {@code null} to deliver them on transport threads
+     */
+    @Nullable
+    public Scheduler getResultScheduler() {
+        return resultScheduler;
+    }
+
+    public int getInlineResultMaxRows() {
+        return inlineResultMaxRows;
+    }
+
+    public YdbStatsMode getStatsMode() {
+        return statsMode;
+    }
+
     public Duration getSessionTimeout() {
         return sessionTimeout;
     }
@@ -70,7 +154,27 @@ public class OperationsConfig {
         return deadlineTimeout;
     }
 
+    public Duration getShutdownTimeout() {
+        return shutdownTimeout;
+    }
+
     public int getStatementCacheSize() {
         return statementCacheSize;
     }
+
+    public int getStatementStatisticsSize() {
+        return statementStatisticsSize;
+    }
+
+    public SlowQueryLogger getSlowQueryLogger() {
+        return slowQueryLogger;
+    }
+
+    public YdbTracer getTracer() {
+        return tracer;
+    }
+
+    public Codecs getCodecs() {
+        return codecs;
+    }
 }
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Option;
+import tech.ydb.core.grpc.GrpcTransport;
+import tech.ydb.io.r2dbc.options.ClientOptions;
+import tech.ydb.io.r2dbc.options.ConnectionOptions;
+import tech.ydb.table.impl.PooledTableClient;
+
+/**
+ * Transports and session pools shared by connection factories with the same endpoint, database, credentials, TLS
+ * and session pool settings. A shared entry is closed when the last factory using it releases it. Secret options are
+ * kept in the keys as digests only.
+ *
+ * @author Egor Kuleshov
+ */
+final class TransportRegistry {
+    static final TransportRegistry SHARED = new TransportRegistry();
+
+    private static final List<Option<?>> KEY_OPTIONS = List.of(
+            ConnectionFactoryOptions.PROTOCOL,
+            ConnectionFactoryOptions.HOST,
+            ConnectionFactoryOptions.PORT,
+            ConnectionFactoryOptions.DATABASE,
+            ConnectionFactoryOptions.USER,
+            ConnectionFactoryOptions.PASSWORD,
+            ConnectionFactoryOptions.CONNECT_TIMEOUT,
+            ConnectionOptions.DISCOVERY_TIMEOUT,
+            ConnectionOptions.GRPC_COMPRESSION,
+            ConnectionOptions.BALANCING_POLICY,
+            ConnectionOptions.SECURE_CONNECTION,
+            ConnectionOptions.SECURE_CONNECTION_CERTIFICATE,
+            ConnectionOptions.SECURE_CONNECTION_CERTIFICATE_FILE,
+            ConnectionOptions.TOKEN,
+            ConnectionOptions.SERVICE_ACCOUNT_FILE,
+            ConnectionOptions.USE_METADATA,
+            ConnectionOptions.TRANSPORT,
+            ClientOptions.KEEP_QUERY_TEXT,
+            ClientOptions.SESSION_KEEP_ALIVE_TIME,
+            ClientOptions.SESSION_MAX_IDLE_TIME,
+            ClientOptions.SESSION_POOL_MIN_SIZE,
+            ClientOptions.SESSION_POOL_MAX_SIZE
+    );
+
+    private static final Set<Option<?>> SECRET_OPTIONS = Set.of(
+            ConnectionFactoryOptions.PASSWORD,
+            ConnectionOptions.TOKEN
+    );
+
+    private final Map<List<Object>, Entry> entries = new HashMap<>();
+
+    /**
+     * Returns the session pool for the options, creating the transport and the pool if no factory uses them yet.
+     * The registry is locked only to find the entry, so a slow endpoint delays only the factories waiting for it.
+     *
+     * @param optionExtractor options of the connection factory
+     * @return lease which must be released when the factory is closed
+     */
+    Lease acquire(OptionExtractor optionExtractor) {
+        List<Object> key = key(optionExtractor);
+        Entry entry;
+        boolean created;
+        synchronized (this) {
+            entry = entries.get(key);
+            created = entry == null;
+            if (created) {
+                entry = new Entry();
+                entries.put(key, entry);
+            }
+            entry.references++;
+        }
+
+        if (created) {
+            entry.open(optionExtractor);
+        }
+
+        PooledTableClient tableClient;
+        try {
+            tableClient = entry.tableClient.join();
+        } catch (CompletionException e) {
+            synchronized (this) {
+                entry.references--;
+                if (entries.get(key) == entry) {
+                    entries.remove(key);
+                }
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+
+        Entry acquired = entry;
+        return new Lease(tableClient, () -> release(key, acquired));
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void release(List<Object> key, Entry entry) {
+        synchronized (this) {
+            entry.references--;
+            if (entry.references > 0) {
+                return;
+            }
+            if (entries.get(key) == entry) {
+                entries.remove(key);
+            }
+        }
+
+        entry.close();
+    }
+
+    static List<Object> key(OptionExtractor optionExtractor) {
+        List<Object> key = new ArrayList<>(KEY_OPTIONS.size());
+        for (Option<?> option : KEY_OPTIONS) {
+            key.add(optionExtractor.extract(option).map(value -> {
+                if (value instanceof byte[] bytes) {
+                    return ByteBuffer.wrap(bytes);
+                }
+                if (value instanceof CharSequence chars) {
+                    return SECRET_OPTIONS.contains(option) ? digest(chars.toString()) : chars.toString();
+                }
+                return value;
+            }));
+        }
+
+        return key;
+    }
+
+    private static ByteBuffer digest(String secret) {
+        try {
+            return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(secret.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Entry {
+        private final CompletableFuture<PooledTableClient> tableClient = new CompletableFuture<>();
+        private GrpcTransport transport;
+        private boolean ownsTransport;
+        private int references;
+
+        private void open(OptionExtractor optionExtractor) {
+            try {
+                transport = YdbContext.buildGrpcTransport(optionExtractor);
+                ownsTransport = optionExtractor.extract(ConnectionOptions.TRANSPORT).isEmpty();
+                tableClient.complete(YdbContext.buildClient(transport, optionExtractor));
+            } catch (RuntimeException e) {
+                if (transport != null && ownsTransport) {
+                    transport.close();
+                }
+                tableClient.completeExceptionally(e);
+            }
+        }
+
+        private void close() {
+            tableClient.join().close();
+            if (ownsTransport) {
+                transport.close();
+            }
+        }
+    }
+
+    /**
+     * Session pool used by one context. Releasing it more than once has no effect.
+     */
+    static final class Lease {
+        private final PooledTableClient tableClient;
+        private final Runnable release;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Lease(PooledTableClient tableClient, Runnable release) {
+            this.tableClient = tableClient;
+            this.release = release;
+        }
+
+        PooledTableClient getTableClient() {
+            return tableClient;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                release.run();
+            }
+        }
+    }
+}
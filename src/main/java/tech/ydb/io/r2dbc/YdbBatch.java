@@ -18,19 +18,43 @@ package tech.ydb.io.r2dbc;
 
 import io.r2dbc.spi.Batch;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.ydb.io.r2dbc.query.FusedDataQuery;
+import tech.ydb.io.r2dbc.query.QueryType;
 import tech.ydb.io.r2dbc.query.YdbQuery;
 import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.io.r2dbc.state.OutsideTransactionState;
+import tech.ydb.io.r2dbc.statement.YdbStatement;
+import tech.ydb.io.r2dbc.statement.binding.Binding;
+import tech.ydb.table.query.Params;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
 
 /**
+ * By default, statements of the batch are joined into a single query. If some statements have parameters, bound by
+ * positions or by names, their parameters are renamed to unique names and merged with the declarations into one
+ * request. Statements of such a batch may refer only to their own parameters. In the
+ * {@link #parallel(int) parallel} mode statements are executed as independent auto-commit queries, each on its own
+ * pooled session and its own connection, which is closed when the results of the statement are received.
+ *
  * @author Kirill Kurdyukov
  */
 public final class YdbBatch implements Batch {
+    private static final Object[] NO_PARAMETERS = new Object[0];
+
     private final YdbConnection ydbConnection;
     private final YdbContext ydbContext;
     private final List<String> statements = new ArrayList<>();
+    private final List<Object[]> parameters = new ArrayList<>();
+    private final List<Map<String, Object>> namedParameters = new ArrayList<>();
+    private int concurrency;
 
     public YdbBatch(YdbConnection ydbConnection, YdbContext ydbContext) {
         this.ydbConnection = ydbConnection;
@@ -39,19 +63,160 @@ public final class YdbBatch implements Batch {
 
     @Override
     public YdbBatch add(String sql) {
+        return add(sql, NO_PARAMETERS);
+    }
+
+    /**
+     * Adds a statement with values of its positional parameters.
+     *
+     * @param sql statement
+     * @param parameters values of the parameters in the order of their positions
+     * @return this {@link YdbBatch}
+     */
+    public YdbBatch add(String sql, Object... parameters) {
+        for (Object parameter : parameters) {
+            if (parameter == null) {
+                throw new IllegalArgumentException("Null values of batch parameters are not supported");
+            }
+        }
+
         statements.add(sql);
+        this.parameters.add(parameters);
+        this.namedParameters.add(Map.of());
+
+        return this;
+    }
+
+    /**
+     * Adds a statement with values of its parameters bound by names, as {@link YdbStatement#bind(String, Object)}
+     * does.
+     *
+     * @param sql statement
+     * @param parameters values of the parameters by their names
+     * @return this {@link YdbBatch}
+     */
+    public YdbBatch add(String sql, Map<String, ?> parameters) {
+        parameters.forEach((name, value) -> {
+            if (value == null) {
+                throw new IllegalArgumentException("Null values of batch parameters are not supported");
+            }
+        });
+
+        statements.add(sql);
+        this.parameters.add(NO_PARAMETERS);
+        this.namedParameters.add(new LinkedHashMap<>(parameters));
+
+        return this;
+    }
+
+    /**
+     * Executes statements independently of each other, each in its own auto-commit transaction. Results are emitted
+     * in the order of the statements. The connection must be in the auto-commit mode outside a transaction.
+     *
+     * @param concurrency maximum number of statements executed at the same time
+     * @return this {@link YdbBatch}
+     */
+    public YdbBatch parallel(int concurrency) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Concurrency must be positive, but found " + concurrency);
+        }
+        this.concurrency = concurrency;
 
         return this;
     }
 
     @Override
     public Flux<YdbResult> execute() {
+        if (concurrency > 0) {
+            return executeParallel();
+        }
+
+        if (parameters.stream().anyMatch(values -> values.length > 0)
+                || namedParameters.stream().anyMatch(values -> !values.isEmpty())) {
+            return Flux.defer(this::executeParametrized);
+        }
+
         YdbQuery query = ydbContext.fetchYdbQuery(String.join(";\n", this.statements));
 
         if (!query.getIndexArgNames().isEmpty()) {
-            return Flux.error(new IllegalArgumentException("YDB does not support parametrized batch queries"));
+            return Flux.error(new IllegalArgumentException("Parameters of batch statements are not bound"));
         }
 
         return ydbConnection.createStatement(query).execute();
     }
-}
\ No newline at end of file
+
+    private Flux<YdbResult> executeParametrized() {
+        FusedDataQuery fusedQuery = new FusedDataQuery();
+
+        for (int index = 0; index < statements.size(); index++) {
+            YdbQuery query = ydbContext.fetchYdbQuery(statements.get(index));
+            if (query.type() != QueryType.DML) {
+                return Flux.error(new IllegalArgumentException("Scheme statements cannot be batched with parameters"));
+            }
+
+            Binding binding = new Binding(query.getParameterSlots(), ydbContext.getOperationsConfig().getCodecs());
+            try {
+                bind(index, binding::bind, binding::bind);
+                binding.validate();
+            } catch (IllegalArgumentException e) {
+                return Flux.error(e);
+            }
+
+            String yql = query.getYqlQuery(binding);
+            Params params = binding.toParams();
+            Set<String> unboundNames = FusedDataQuery.unboundNames(yql, params);
+            if (!unboundNames.isEmpty()) {
+                return Flux.error(new IllegalArgumentException(String.format(
+                        "Statements of a batch with parameters may refer only to their bound parameters, but %s "
+                                + "found in %s", unboundNames, statements.get(index))));
+            }
+            fusedQuery.add(yql, params, query.getOperationTypes());
+        }
+
+        return ydbConnection.executeDataQuery(fusedQuery.getYql(), fusedQuery.getParams(),
+                fusedQuery.getOperationTypes());
+    }
+
+    private Flux<YdbResult> executeParallel() {
+        return ydbConnection
+                .submitInState(state -> {
+                    if (!(state instanceof OutsideTransactionState outside)
+                            || !state.getYdbTxSettings().isAutoCommit()) {
+                        return Mono.error(new IllegalStateException(
+                                "Parallel batch requires a connection in the auto-commit mode outside a transaction"));
+                    }
+
+                    return Mono.just(new ParallelSettings(state.getYdbTxSettings().withAutoCommit(true),
+                            outside.getStatementTimeout()));
+                })
+                .flatMapMany(settings -> Flux.range(0, statements.size())
+                        .flatMapSequential(index -> Flux.usingWhen(
+                                Mono.fromCallable(() -> ydbContext.createConnection(
+                                        settings.txSettings().withAutoCommit(true), settings.statementTimeout())),
+                                statementConnection -> {
+                                    YdbStatement statement = statementConnection.createStatement(
+                                            statements.get(index));
+                                    bind(index, statement::bind, statement::bind);
+                                    if (ydbConnection.getStatsMode() != null) {
+                                        statement.statsMode(ydbConnection.getStatsMode());
+                                    }
+
+                                    return statement.execute();
+                                },
+                                YdbConnection::close), concurrency));
+    }
+
+    private void bind(int index, BiConsumer<Integer, Object> byPosition, BiConsumer<String, Object> byName) {
+        Object[] values = parameters.get(index);
+        for (int position = 0; position < values.length; position++) {
+            byPosition.accept(position, values[position]);
+        }
+        namedParameters.get(index).forEach(byName);
+    }
+
+    /**
+     * Settings of the connection of the batch, which are passed to the connections of its statements.
+     */
+    private record ParallelSettings(YdbTxSettings txSettings, Duration statementTimeout) {
+    }
+}
@@ -24,15 +24,20 @@ import io.r2dbc.spi.ValidationDepth;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
 import tech.ydb.io.r2dbc.query.OperationType;
 import tech.ydb.io.r2dbc.query.YdbQuery;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
 import tech.ydb.io.r2dbc.settings.YdbTxSettings;
-import tech.ydb.io.r2dbc.state.NextStateResult;
+import tech.ydb.io.r2dbc.state.ConnectionCommandQueue;
 import tech.ydb.io.r2dbc.result.YdbResult;
 import tech.ydb.io.r2dbc.state.CloseState;
+import tech.ydb.io.r2dbc.state.InsideTransactionState;
 import tech.ydb.io.r2dbc.state.YdbConnectionState;
 import tech.ydb.io.r2dbc.statement.YdbDMLStatement;
 import tech.ydb.io.r2dbc.statement.YdbDDLStatement;
@@ -40,68 +45,116 @@ import tech.ydb.io.r2dbc.statement.YdbStatement;
 import tech.ydb.table.query.Params;
 
 /**
+ * Operations of the connection are executed one at a time in the order of subscription, so statements may be
+ * subscribed without waiting for the previous ones to complete.
+ *
  * @author Egor Kuleshov
  */
 public class YdbConnection implements Connection {
     private final YdbContext ydbContext;
-    private volatile YdbConnectionState ydbConnectionState;
+    private final ConnectionCommandQueue commandQueue;
+    private final AtomicInteger activeQueries = new AtomicInteger();
+    @Nullable
+    private volatile YdbStatsMode statsMode;
 
     public YdbConnection(YdbContext ydbContext, YdbConnectionState ydbConnectionState) {
         this.ydbContext = ydbContext;
-        this.ydbConnectionState = ydbConnectionState;
+        this.commandQueue = new ConnectionCommandQueue(ydbConnectionState);
     }
 
     public Flux<YdbResult> executeDataQuery(String yql, Params params, List<OperationType> operationTypes) {
-        return ydbConnectionState
-                .executeDataQuery(yql, params, operationTypes)
-                .doOnSuccess(fluxSessionResult -> updateState(fluxSessionResult.getNextState()))
-                .flatMapMany(NextStateResult::getResult);
+        return executeDataQuery(yql, params, operationTypes, null);
+    }
+
+    /**
+     * @param statsMode level of collected query statistics, or {@code null} to use the mode of the connection
+     */
+    public Flux<YdbResult> executeDataQuery(String yql, Params params, List<OperationType> operationTypes,
+                                            @Nullable YdbStatsMode statsMode) {
+        YdbStatsMode mode = statsMode != null ? statsMode : this.statsMode;
+
+        return Flux.defer(() -> {
+            activeQueries.incrementAndGet();
+
+            return YdbResult.doOnConsumed(
+                    commandQueue
+                            .submitDataQuery(yql, params, operationTypes, mode)
+                            .flatMapMany(results -> results),
+                    YdbResult::isStreamed,
+                    activeQueries::decrementAndGet
+            );
+        });
     }
 
+    /**
+     * Scheme query results are collected before the next operation starts.
+     */
     public Flux<YdbResult> executeSchemeQuery(String yql) {
-        return ydbConnectionState.executeSchemeQuery(yql);
+        return commandQueue
+                .submitInState(state -> state.executeSchemeQuery(yql).collectList())
+                .flatMapIterable(results -> results);
     }
 
     @Override
     public Mono<Void> beginTransaction() {
-        final YdbConnectionState connectionState = ydbConnectionState;
-        if (connectionState instanceof CloseState) {
-            return Mono.error(new IllegalStateException(CloseState.CLOSED_STATE_MESSAGE));
-        }
+        return commandQueue.transition(state -> {
+            if (state instanceof CloseState) {
+                return Mono.error(new IllegalStateException(CloseState.CLOSED_STATE_MESSAGE));
+            }
 
-        return beginTransaction(connectionState, connectionState.getYdbTxSettings());
+            return state.beginTransaction(state.getYdbTxSettings());
+        });
     }
 
     @Override
     public Mono<Void> beginTransaction(TransactionDefinition definition) {
+        YdbTxSettings ydbTxSettings;
         try {
-            return beginTransaction(ydbConnectionState, new YdbTxSettings(definition));
+            ydbTxSettings = new YdbTxSettings(definition);
         } catch (IllegalArgumentException exception) {
             return Mono.error(exception);
         }
-    }
 
-    private Mono<Void> beginTransaction(YdbConnectionState currentYdbConnectionState, YdbTxSettings ydbTxSettings) {
-        return currentYdbConnectionState
-                .beginTransaction(ydbTxSettings)
-                .doOnSuccess(this::updateState)
-                .then();
+        return commandQueue.transition(state -> state.beginTransaction(ydbTxSettings));
     }
 
     @Override
     public Mono<Void> close() {
-        return ydbConnectionState
-                .close()
-                .doOnSuccess(unused -> updateState(CloseState.INSTANCE))
-                .then();
+        return commandQueue.transition(state -> state.close().thenReturn(CloseState.INSTANCE))
+                .doOnSuccess(unused -> ydbContext.removeConnection(this));
+    }
+
+    /**
+     * @return {@code true} if the connection has no active transaction, running operation or unread streamed result
+     */
+    boolean isIdle() {
+        return activeQueries.get() == 0
+                && commandQueue.isIdle()
+                && !(commandQueue.getState() instanceof InsideTransactionState);
+    }
+
+    /**
+     * @param command operation keeping the state
+     * @return result of the operation executed after all previously submitted ones
+     */
+    <T> Mono<T> submitInState(Function<YdbConnectionState, Mono<T>> command) {
+        return commandQueue.submitInState(command);
+    }
+
+    /**
+     * Rolls back the active transaction, if any, and closes the connection.
+     */
+    Mono<Void> abort() {
+        return commandQueue.transition(state -> state instanceof CloseState
+                ? Mono.just(state)
+                : state.rollbackTransaction()
+                        .onErrorResume(e -> Mono.empty())
+                        .thenReturn(CloseState.INSTANCE));
     }
 
     @Override
     public Mono<Void> commitTransaction() {
-        return ydbConnectionState
-                .commitTransaction()
-                .doOnSuccess(this::updateState)
-                .then();
+        return commandQueue.transition(YdbConnectionState::commitTransaction);
     }
 
     @Override
@@ -121,14 +174,15 @@ public class YdbConnection implements Connection {
 
     YdbStatement createStatement(YdbQuery query) {
         return switch (query.type()) {
-            case DML -> new YdbDMLStatement(query, this);
+            case DML -> new YdbDMLStatement(query, this, ydbContext.getOperationsConfig().getCodecs(),
+                    ydbContext.getStatementStatistics());
             case DDL -> new YdbDDLStatement(query, this);
         };
     }
 
     @Override
     public boolean isAutoCommit() {
-        return ydbConnectionState.getYdbTxSettings().isAutoCommit();
+        return commandQueue.getState().getYdbTxSettings().isAutoCommit();
     }
 
     @Override
@@ -138,7 +192,7 @@ public class YdbConnection implements Connection {
 
     @Override
     public IsolationLevel getTransactionIsolationLevel() {
-        return ydbConnectionState.getYdbTxSettings().getIsolationLevel();
+        return commandQueue.getState().getYdbTxSettings().getIsolationLevel();
     }
 
     @Override
@@ -148,10 +202,7 @@ public class YdbConnection implements Connection {
 
     @Override
     public Mono<Void> rollbackTransaction() {
-        return ydbConnectionState
-                .rollbackTransaction()
-                .doOnSuccess(this::updateState)
-                .then();
+        return commandQueue.transition(YdbConnectionState::rollbackTransaction);
     }
 
     @Override
@@ -161,10 +212,7 @@ public class YdbConnection implements Connection {
 
     @Override
     public Mono<Void> setAutoCommit(boolean autoCommit) {
-        return ydbConnectionState
-                .setAutoCommit(autoCommit)
-                .doOnSuccess(this::updateState)
-                .then();
+        return commandQueue.transition(state -> state.setAutoCommit(autoCommit));
     }
 
     @Override
@@ -174,34 +222,48 @@ public class YdbConnection implements Connection {
 
     @Override
     public Mono<Void> setStatementTimeout(Duration timeout) {
-        return ydbConnectionState.setStatementTimeout(timeout);
+        return commandQueue.submitInState(state -> state.setStatementTimeout(timeout));
     }
 
     @Override
     public Mono<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
-        return ydbConnectionState.setIsolationLevel(isolationLevel);
+        return commandQueue.submitInState(state -> state.setIsolationLevel(isolationLevel));
     }
 
     public boolean isReadOnly() {
-        return ydbConnectionState.getYdbTxSettings().isReadOnly();
+        return commandQueue.getState().getYdbTxSettings().isReadOnly();
     }
 
     public Mono<Void> setReadOnly(boolean readOnly) {
-        return ydbConnectionState.setReadOnly(readOnly);
+        return commandQueue.submitInState(state -> state.setReadOnly(readOnly));
+    }
+
+    /**
+     * @return level of query statistics collected for statements of this connection,
+     * or {@code null} if the configured one is used
+     */
+    @Nullable
+    public YdbStatsMode getStatsMode() {
+        return statsMode;
+    }
+
+    /**
+     * Configures the level of query statistics collected for statements executed using the current connection.
+     *
+     * @param statsMode level of collected query statistics, or {@code null} to use the configured one
+     * @return a {@link Mono} that indicates that a stats mode has been configured.
+     */
+    public Mono<Void> setStatsMode(@Nullable YdbStatsMode statsMode) {
+        return Mono.fromRunnable(() -> this.statsMode = statsMode);
     }
 
     @VisibleForTesting
     YdbConnectionState getCurrentState() {
-        return ydbConnectionState;
+        return commandQueue.getState();
     }
 
     @Override
     public Mono<Boolean> validate(ValidationDepth depth) {
-        return ydbConnectionState
-                .keepAlive(depth);
-    }
-
-    private void updateState(YdbConnectionState ydbConnectionState) {
-        this.ydbConnectionState = ydbConnectionState;
+        return commandQueue.submitInState(state -> state.keepAlive(depth));
     }
 }
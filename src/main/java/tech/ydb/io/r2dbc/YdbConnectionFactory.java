@@ -16,17 +16,34 @@
 
 package tech.ydb.io.r2dbc;
 
+import io.r2dbc.spi.Closeable;
 import io.r2dbc.spi.ConnectionFactory;
 import io.r2dbc.spi.ConnectionFactoryMetadata;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import tech.ydb.io.r2dbc.state.OutsideTransactionState;
+import reactor.core.scheduler.Schedulers;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.io.r2dbc.statement.YdbStatementTemplate;
+import tech.ydb.io.r2dbc.statistics.StatementStatistics;
+import tech.ydb.io.r2dbc.statistics.StatementStats;
 
 /**
+ * Closing the factory stops creation of new connections, waits for active transactions and queries of the created
+ * connections, rolls back the ones left after the timeout and closes the session pool and the transport.
+ *
  * @author Kirill Kurdyukov
  */
-public final class YdbConnectionFactory implements ConnectionFactory {
+public final class YdbConnectionFactory implements ConnectionFactory, Closeable {
+    private static final Duration DRAIN_INTERVAL = Duration.ofMillis(20);
+    private static final Duration ABORT_TIMEOUT = Duration.ofSeconds(5);
 
     private final YdbContext ydbContext;
+    private final AtomicReference<Flux<Integer>> shutdown = new AtomicReference<>();
 
     public YdbConnectionFactory(YdbContext ydbContext) {
         this.ydbContext = ydbContext;
@@ -34,14 +51,101 @@ public final class YdbConnectionFactory implements ConnectionFactory {
 
     @Override
     public Mono<YdbConnection> create() {
-        return Mono.just(
-                new YdbConnection(
-                        ydbContext,
-                        new OutsideTransactionState(ydbContext,
-                                ydbContext.getDefaultYdbTxSettings(),
-                                ydbContext.getStatementTimeout())
-                )
-        );
+        return Mono.fromCallable(() -> {
+            YdbTxSettings defaultSettings = ydbContext.getDefaultYdbTxSettings();
+
+            return ydbContext.createConnection(defaultSettings.withAutoCommit(defaultSettings.isAutoCommit()));
+        });
+    }
+
+    /**
+     * Closes the factory waiting for active work up to the configured shutdown timeout.
+     *
+     * @see #shutdown(Duration)
+     */
+    @Override
+    public Mono<Void> close() {
+        return shutdown(ydbContext.getOperationsConfig().getShutdownTimeout()).then();
+    }
+
+    /**
+     * Stops creation of new connections and waits until created connections have no active transactions, queries and
+     * unread streamed results. Connections still busy after the timeout are rolled back. All connections are closed,
+     * and then the session pool and the transport are released. The shutdown runs once, later calls return the same
+     * shutdown regardless of the timeout.
+     *
+     * @param timeout maximum time to wait for active work
+     * @return numbers of busy connections, emitted whenever the number changes while waiting
+     */
+    public Flux<Integer> shutdown(Duration timeout) {
+        Flux<Integer> current = shutdown.get();
+        if (current != null) {
+            return current;
+        }
+
+        Flux<Integer> created = Flux.defer(() -> drain(timeout)).cache();
+
+        return shutdown.compareAndSet(null, created) ? created : shutdown.get();
+    }
+
+    /**
+     * @return number of connections with an active transaction, query or unread streamed result
+     */
+    public int getBusyConnections() {
+        int busy = 0;
+        for (YdbConnection connection : ydbContext.getConnections()) {
+            if (!connection.isIdle()) {
+                busy++;
+            }
+        }
+
+        return busy;
+    }
+
+    public boolean isClosed() {
+        return ydbContext.isClosing();
+    }
+
+    private Flux<Integer> drain(Duration timeout) {
+        ydbContext.stopConnections();
+
+        return Flux.interval(Duration.ZERO, DRAIN_INTERVAL)
+                .map(tick -> getBusyConnections())
+                .distinctUntilChanged()
+                .takeUntil(busy -> busy == 0)
+                .take(timeout)
+                .concatWith(Flux.fromIterable(ydbContext.getConnections())
+                        .flatMap(connection -> connection.abort()
+                                .timeout(ABORT_TIMEOUT)
+                                .onErrorResume(e -> Mono.empty()))
+                        .then(Mono.<Integer>fromRunnable(ydbContext::close)
+                                .subscribeOn(Schedulers.boundedElastic())));
+    }
+
+    /**
+     * Prepare a reusable template of a DML statement, which can be shared between connections and threads.
+     *
+     * @param sql DML query
+     * @return statement template
+     */
+    public YdbStatementTemplate prepare(String sql) {
+        return new YdbStatementTemplate(ydbContext.fetchYdbQuery(sql),
+                ydbContext.getOperationsConfig().getCodecs(), ydbContext.getStatementStatistics());
+    }
+
+    /**
+     * @return client-side statistics of statements executed by connections of the factory
+     */
+    public StatementStatistics getStatementStatistics() {
+        return ydbContext.getStatementStatistics();
+    }
+
+    /**
+     * @param limit maximum number of statements
+     * @return statistics of statements with the largest total execution time
+     */
+    public List<StatementStats> getTopStatements(int limit) {
+        return ydbContext.getStatementStatistics().snapshot(limit);
     }
 
     @Override
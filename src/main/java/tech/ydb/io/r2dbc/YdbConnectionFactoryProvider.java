@@ -19,6 +19,7 @@ package tech.ydb.io.r2dbc;
 import com.google.common.base.Preconditions;
 import io.r2dbc.spi.ConnectionFactoryOptions;
 import io.r2dbc.spi.ConnectionFactoryProvider;
+import reactor.core.publisher.Mono;
 
 /**
  * @author Kirill Kurdyukov
@@ -32,6 +33,18 @@ public final class YdbConnectionFactoryProvider implements ConnectionFactoryProv
         return new YdbConnectionFactory(new YdbContext(new OptionExtractor(connectionFactoryOptions)));
     }
 
+    /**
+     * Creates the connection factory without blocking the calling thread on reading credentials and on the endpoint
+     * discovery.
+     *
+     * @param connectionFactoryOptions options of the factory
+     * @return factory emitted once the transport is ready
+     */
+    public Mono<YdbConnectionFactory> createAsync(ConnectionFactoryOptions connectionFactoryOptions) {
+        return YdbContext.createAsync(new OptionExtractor(connectionFactoryOptions))
+                .map(YdbConnectionFactory::new);
+    }
+
     @Override
     public boolean supports(ConnectionFactoryOptions connectionFactoryOptions) {
         Preconditions.checkNotNull(connectionFactoryOptions, "connectionFactoryOptions must not be null");
@@ -17,12 +17,20 @@
 package tech.ydb.io.r2dbc;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeoutException;
 
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import io.r2dbc.spi.ConnectionFactoryOptions;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import tech.ydb.auth.TokenAuthProvider;
 import tech.ydb.auth.iam.CloudAuthHelper;
 import tech.ydb.core.Result;
@@ -36,6 +44,8 @@ import tech.ydb.io.r2dbc.util.YdbLookup;
 import tech.ydb.io.r2dbc.query.YdbQuery;
 import tech.ydb.io.r2dbc.query.YdbSqlParser;
 import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.io.r2dbc.state.OutsideTransactionState;
+import tech.ydb.io.r2dbc.statistics.StatementStatistics;
 import tech.ydb.table.Session;
 import tech.ydb.table.impl.PooledTableClient;
 import tech.ydb.table.rpc.grpc.GrpcTableRpc;
@@ -48,18 +58,27 @@ public class YdbContext {
     private static final int SESSION_POOL_DEFAULT_MAX_SIZE = 50;
 
 
+    private final TransportRegistry.Lease lease;
     private final PooledTableClient tableClient;
     private final OperationsConfig operationsConfig;
     private final YdbTxSettings defaultYdbTxSettings;
     private final Cache<String, YdbQuery> queriesCache;
+    private final StatementStatistics statementStatistics;
+    private final Set<YdbConnection> connections = Collections.newSetFromMap(new WeakHashMap<>());
+    private boolean closing;
 
     public YdbContext(OptionExtractor optionExtractor) {
-        this(buildClient(buildGrpcTransport(optionExtractor), optionExtractor), new OperationsConfig(optionExtractor));
+        this(openClient(optionExtractor), new OperationsConfig(optionExtractor));
     }
 
 
     public YdbContext(PooledTableClient tableClient, OperationsConfig operationsConfig) {
-        this.tableClient = tableClient;
+        this(new TransportRegistry.Lease(tableClient, tableClient::close), operationsConfig);
+    }
+
+    private YdbContext(TransportRegistry.Lease lease, OperationsConfig operationsConfig) {
+        this.lease = lease;
+        this.tableClient = lease.getTableClient();
         this.operationsConfig = operationsConfig;
         this.defaultYdbTxSettings = YdbTxSettings.defaultSettings();
         if (operationsConfig.getStatementCacheSize() > 0) {
@@ -69,9 +88,94 @@ public class YdbContext {
         } else {
             this.queriesCache = null;
         }
+        this.statementStatistics = new StatementStatistics(operationsConfig.getStatementStatisticsSize());
+    }
+
+    /**
+     * Creates the context without blocking the caller. Certificate and token files are read on
+     * {@link Schedulers#boundedElastic()}, the session pool is built while the first endpoint discovery is in progress,
+     * and the context is emitted once the discovery finishes. If the discovery fails or does not finish within the
+     * discovery timeout, the context is closed and an error is emitted. Cancellation also closes the context.
+     * <p>
+     * With {@link ConnectionOptions#TRANSPORT} or {@link ConnectionOptions#SHARED_TRANSPORT} the context is created
+     * synchronously on a {@link Schedulers#boundedElastic()} worker, so the caller is not blocked, but the worker waits
+     * for the discovery of a new shared transport.
+     *
+     * @param optionExtractor options of the connection factory
+     * @return context ready to create connections
+     */
+    public static Mono<YdbContext> createAsync(OptionExtractor optionExtractor) {
+        return Mono.defer(() -> {
+                    if (optionExtractor.extract(ConnectionOptions.TRANSPORT).isPresent()
+                            || optionExtractor.extractOrDefault(ConnectionOptions.SHARED_TRANSPORT, false)) {
+                        return Mono.just(new YdbContext(optionExtractor));
+                    }
+
+                    GrpcTransportBuilder builder = grpcTransportBuilder(optionExtractor);
+                    OperationsConfig operationsConfig = new OperationsConfig(optionExtractor);
+                    CompletableFuture<Void> discovered = new CompletableFuture<>();
+                    GrpcTransport grpcTransport = builder.buildAsync(() -> discovered.complete(null));
+
+                    YdbContext ydbContext;
+                    try {
+                        ydbContext = new YdbContext(ownedClient(grpcTransport, optionExtractor), operationsConfig);
+                    } catch (RuntimeException e) {
+                        grpcTransport.close();
+                        throw e;
+                    }
+
+                    Duration discoveryTimeout = Duration.ofMillis(builder.getDiscoveryTimeoutMillis());
+                    return Mono.fromFuture(discovered)
+                            .timeout(discoveryTimeout)
+                            .onErrorMap(TimeoutException.class, e -> new IllegalStateException(
+                                    "Discovery of " + builder.getEndpoint() + " is not finished in " + discoveryTimeout,
+                                    e))
+                            .thenReturn(ydbContext)
+                            .doOnError(e -> ydbContext.close())
+                            .doOnCancel(ydbContext::close);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static TransportRegistry.Lease openClient(OptionExtractor optionExtractor) {
+        if (optionExtractor.extractOrDefault(ConnectionOptions.SHARED_TRANSPORT, false)) {
+            return TransportRegistry.SHARED.acquire(optionExtractor);
+        }
+
+        Optional<GrpcTransport> transport = optionExtractor.extract(ConnectionOptions.TRANSPORT);
+        if (transport.isPresent()) {
+            PooledTableClient tableClient = buildClient(transport.get(), optionExtractor);
+            return new TransportRegistry.Lease(tableClient, tableClient::close);
+        }
+
+        GrpcTransport grpcTransport = grpcTransportBuilder(optionExtractor).build();
+        try {
+            return ownedClient(grpcTransport, optionExtractor);
+        } catch (RuntimeException e) {
+            grpcTransport.close();
+            throw e;
+        }
+    }
+
+    private static TransportRegistry.Lease ownedClient(GrpcTransport grpcTransport, OptionExtractor optionExtractor) {
+        PooledTableClient tableClient = buildClient(grpcTransport, optionExtractor);
+
+        return new TransportRegistry.Lease(tableClient, () -> {
+            tableClient.close();
+            grpcTransport.close();
+        });
     }
 
     public static GrpcTransport buildGrpcTransport(OptionExtractor optionExtractor) {
+        Optional<GrpcTransport> transport = optionExtractor.extract(ConnectionOptions.TRANSPORT);
+        if (transport.isPresent()) {
+            return transport.get();
+        }
+
+        return grpcTransportBuilder(optionExtractor).build();
+    }
+
+    private static GrpcTransportBuilder grpcTransportBuilder(OptionExtractor optionExtractor) {
         Optional<String> schema = optionExtractor.extract(ConnectionFactoryOptions.PROTOCOL);
 
         GrpcTransportBuilder builder = GrpcTransport.forHost(
@@ -87,6 +191,7 @@ public class YdbContext {
 
         optionExtractor.extract(ConnectionFactoryOptions.CONNECT_TIMEOUT)
                 .ifPresent(builder::withConnectTimeout);
+        optionExtractor.extractThenConsume(ConnectionOptions.DISCOVERY_TIMEOUT, builder::withDiscoveryTimeout);
         optionExtractor.extractThenConsume(ConnectionOptions.GRPC_COMPRESSION, builder::withGrpcCompression);
 
         optionExtractor.extractThenConsume(ConnectionOptions.BALANCING_POLICY,
@@ -120,11 +225,11 @@ public class YdbContext {
             );
         }
 
-        return builder.build();
+        return builder;
     }
 
 
-    private static PooledTableClient buildClient(GrpcTransport grpcTransport, OptionExtractor optionExtractor) {
+    static PooledTableClient buildClient(GrpcTransport grpcTransport, OptionExtractor optionExtractor) {
         PooledTableClient.Builder clientBuilder = PooledTableClient.newClient(GrpcTableRpc.useTransport(grpcTransport));
         optionExtractor.extractThenConsume(ClientOptions.KEEP_QUERY_TEXT, clientBuilder::keepQueryText);
         optionExtractor.extractThenConsume(ClientOptions.SESSION_KEEP_ALIVE_TIME, clientBuilder::sessionKeepAliveTime);
@@ -148,6 +253,84 @@ public class YdbContext {
         return clientBuilder.build();
     }
 
+    /**
+     * Creates a connection outside a transaction. Connections are tracked by the context, so they can be drained and
+     * aborted when the factory is closed.
+     *
+     * @param ydbTxSettings transaction settings of the connection, not shared with other connections
+     * @return new connection
+     * @throws IllegalStateException if the factory is closed
+     */
+    public YdbConnection createConnection(YdbTxSettings ydbTxSettings) {
+        return createConnection(ydbTxSettings, getStatementTimeout());
+    }
+
+    /**
+     * @param ydbTxSettings transaction settings of the connection, not shared with other connections
+     * @param statementTimeout statement timeout of the connection
+     * @return new connection
+     * @throws IllegalStateException if the factory is closed
+     * @see #createConnection(YdbTxSettings)
+     */
+    public YdbConnection createConnection(YdbTxSettings ydbTxSettings, Duration statementTimeout) {
+        YdbConnection connection = new YdbConnection(this,
+                new OutsideTransactionState(this, ydbTxSettings, statementTimeout));
+        synchronized (connections) {
+            if (closing) {
+                throw new IllegalStateException("Connection factory is closed");
+            }
+            connections.add(connection);
+        }
+
+        return connection;
+    }
+
+    /**
+     * Stops tracking of a closed connection.
+     */
+    void removeConnection(YdbConnection connection) {
+        synchronized (connections) {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Stops creation of new connections.
+     *
+     * @return connections created by the context
+     */
+    List<YdbConnection> stopConnections() {
+        synchronized (connections) {
+            closing = true;
+
+            return new ArrayList<>(connections);
+        }
+    }
+
+    /**
+     * @return connections created by the context and not collected yet
+     */
+    List<YdbConnection> getConnections() {
+        synchronized (connections) {
+            return new ArrayList<>(connections);
+        }
+    }
+
+    boolean isClosing() {
+        synchronized (connections) {
+            return closing;
+        }
+    }
+
+    /**
+     * Closes the session pool and the transport created by the context. A shared transport is closed when the last
+     * context using it is closed, and a transport passed with {@link ConnectionOptions#TRANSPORT} is never closed.
+     */
+    public void close() {
+        stopConnections();
+        lease.release();
+    }
+
     public OperationsConfig getOperationsConfig() {
         return operationsConfig;
     }
@@ -164,6 +347,10 @@ public class YdbContext {
         return operationsConfig.getDeadlineTimeout();
     }
 
+    public StatementStatistics getStatementStatistics() {
+        return statementStatistics;
+    }
+
     public YdbTxSettings getDefaultYdbTxSettings() {
         return defaultYdbTxSettings;
     }
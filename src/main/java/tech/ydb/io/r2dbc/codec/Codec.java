@@ -0,0 +1,58 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.codec;
+
+import tech.ydb.table.values.Type;
+import tech.ydb.table.values.Value;
+
+/**
+ * Custom conversion between a Java type and YDB values. Registered codecs are consulted before the built-in
+ * conversions of {@link tech.ydb.io.r2dbc.type.YdbType}, both for bound parameters and for
+ * {@link io.r2dbc.spi.Row#get(int, Class)}. Parameters are encoded by codecs also within
+ * {@link io.r2dbc.spi.Parameter}, items of collections and components of records.
+ *
+ * <p>A codec works with SDK values, which are thin wrappers over protobuf: it can read bytes of a value without
+ * a copy, for example, by {@link tech.ydb.table.values.PrimitiveValue#getBytesAsByteString()}, and return
+ * its own {@link Value} implementation, which writes protobuf directly in {@link Value#toPb()}.
+ *
+ * @param <T> Java type
+ * @author Egor Kuleshov
+ */
+public interface Codec<T> {
+    /**
+     * @return Java type of the codec, the codec also encodes subclasses of the type
+     */
+    Class<T> getJavaType();
+
+    /**
+     * @param ydbType type of a column, without optional
+     * @return whether the codec decodes values of the YDB type
+     */
+    boolean canDecode(Type ydbType);
+
+    /**
+     * @param value non-null Java value
+     * @return YDB value
+     */
+    Value<?> encode(T value);
+
+    /**
+     * @param value non-null YDB value of a type accepted by {@link #canDecode(Type)}
+     * @return Java value
+     */
+    T decode(Value<?> value);
+}
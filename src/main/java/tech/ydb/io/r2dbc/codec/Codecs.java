@@ -0,0 +1,107 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.codec;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.util.annotation.Nullable;
+import tech.ydb.table.values.Type;
+
+/**
+ * Immutable registry of {@link Codec}, the first registered codec matching a type wins.
+ * Lookups are cached per Java class and YDB type.
+ *
+ * @author Egor Kuleshov
+ */
+public final class Codecs {
+    public static final Codecs EMPTY = new Codecs(List.of());
+
+    private final List<Codec<?>> codecs;
+    /**
+     * Results of the lookups, an empty {@link Optional} caches the absence of a matching codec.
+     */
+    private final ConcurrentHashMap<Key, Optional<Codec<?>>> cache = new ConcurrentHashMap<>();
+
+    private Codecs(List<Codec<?>> codecs) {
+        this.codecs = codecs;
+    }
+
+    public static Codecs of(Collection<? extends Codec<?>> codecs) {
+        if (codecs.isEmpty()) {
+            return EMPTY;
+        }
+
+        return new Codecs(List.copyOf(codecs));
+    }
+
+    public boolean isEmpty() {
+        return codecs.isEmpty();
+    }
+
+    /**
+     * @param clazz class of a bound value
+     * @return codec encoding values of the class, or {@code null} if there is no such codec
+     */
+    @Nullable
+    @SuppressWarnings("unchecked")
+    public Codec<Object> findEncoder(Class<?> clazz) {
+        if (codecs.isEmpty()) {
+            return null;
+        }
+
+        return (Codec<Object>) cache.computeIfAbsent(new Key(clazz, null), key -> {
+            for (Codec<?> codec : codecs) {
+                if (codec.getJavaType().isAssignableFrom(clazz)) {
+                    return Optional.of(codec);
+                }
+            }
+
+            return Optional.empty();
+        }).orElse(null);
+    }
+
+    /**
+     * @param clazz requested class, {@link Object} is always left to the built-in conversion
+     * @param ydbType type of a column, without optional
+     * @return codec decoding values of the type to the class, or {@code null} if there is no such codec
+     */
+    @Nullable
+    public Codec<?> findDecoder(Class<?> clazz, Type ydbType) {
+        if (codecs.isEmpty() || clazz == Object.class) {
+            return null;
+        }
+
+        return cache.computeIfAbsent(new Key(clazz, ydbType), key -> {
+            for (Codec<?> codec : codecs) {
+                if (clazz.isAssignableFrom(codec.getJavaType()) && codec.canDecode(ydbType)) {
+                    return Optional.of(codec);
+                }
+            }
+
+            return Optional.empty();
+        }).orElse(null);
+    }
+
+    /**
+     * Key of a lookup, YDB type is {@code null} for encoding.
+     */
+    private record Key(Class<?> javaType, @Nullable Type ydbType) {
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+import tech.ydb.io.r2dbc.tracing.YdbTracer;
+
+/**
+ * Entry point to the JDK Flight Recorder events of the driver. Events are emitted only if they are enabled in
+ * a running recording, otherwise the overhead is a check of the event state.
+ * Runtimes without the {@code jdk.jfr} module get no-op implementations.
+ *
+ * @author Egor Kuleshov
+ */
+public final class JfrEvents {
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private JfrEvents() {
+    }
+
+    public static boolean isAvailable() {
+        return AVAILABLE;
+    }
+
+    /**
+     * The tracer is installed only with {@link tech.ydb.io.r2dbc.options.OperationOptions#JFR_EVENTS}, so
+     * the driver keeps its untraced path by default.
+     *
+     * @return tracer, which emits events for session acquisition, queries and transaction control
+     */
+    public static YdbTracer tracer() {
+        return AVAILABLE ? JfrTracer.INSTANCE : YdbTracer.NOOP;
+    }
+
+    /**
+     * Starts recording the decoding of a result set.
+     *
+     * @param columns number of columns of the result set
+     * @return recorder of the decoding
+     */
+    public static ResultDecodingRecorder startDecoding(int columns) {
+        return AVAILABLE ? JfrResultDecodingRecorder.start(columns) : ResultDecodingRecorder.NOOP;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+import jdk.jfr.EventType;
+
+/**
+ * @author Egor Kuleshov
+ */
+final class JfrResultDecodingRecorder extends ResultDecodingRecorder {
+    private static final EventType EVENT_TYPE = EventType.getEventType(ResultDecodingEvent.class);
+
+    private final ResultDecodingEvent event;
+    private boolean finished;
+
+    private JfrResultDecodingRecorder(ResultDecodingEvent event) {
+        this.event = event;
+    }
+
+    static ResultDecodingRecorder start(int columns) {
+        if (!EVENT_TYPE.isEnabled()) {
+            return NOOP;
+        }
+        ResultDecodingEvent event = new ResultDecodingEvent();
+        event.columns = columns;
+        event.begin();
+
+        return new JfrResultDecodingRecorder(event);
+    }
+
+    @Override
+    public long rowStarted() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void rowDecoded(long startNanos) {
+        event.rows++;
+        event.decodingTime += System.nanoTime() - startNanos;
+    }
+
+    @Override
+    public void finish(String status) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        event.status = status;
+        event.end();
+        if (event.shouldCommit()) {
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import jdk.jfr.EventType;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.ContextView;
+import tech.ydb.io.r2dbc.tracing.Tracing;
+import tech.ydb.io.r2dbc.tracing.YdbSpan;
+import tech.ydb.io.r2dbc.tracing.YdbTracer;
+
+/**
+ * Emits JDK Flight Recorder events for the driver spans. The phases of a query are not separate events,
+ * their durations are recorded in the event of the query.
+ *
+ * @author Egor Kuleshov
+ */
+final class JfrTracer implements YdbTracer {
+    static final JfrTracer INSTANCE = new JfrTracer();
+
+    private static final EventType SESSION_ACQUIRE_TYPE = EventType.getEventType(SessionAcquireEvent.class);
+    private static final EventType DATA_QUERY_TYPE = EventType.getEventType(DataQueryEvent.class);
+    private static final EventType SCHEME_QUERY_TYPE = EventType.getEventType(SchemeQueryEvent.class);
+    private static final EventType COMMIT_TYPE = EventType.getEventType(CommitEvent.class);
+    private static final EventType ROLLBACK_TYPE = EventType.getEventType(RollbackEvent.class);
+
+    private JfrTracer() {
+    }
+
+    @Override
+    public YdbSpan startSpan(String name, ContextView context) {
+        JfrSpan parent = context.getOrDefault(YdbSpan.CONTEXT_KEY, null) instanceof JfrSpan span ? span : null;
+        YdbEvent event = switch (name) {
+            case Tracing.SESSION_ACQUIRE -> begin(SESSION_ACQUIRE_TYPE, SessionAcquireEvent::new);
+            case Tracing.QUERY -> begin(DATA_QUERY_TYPE, DataQueryEvent::new);
+            case Tracing.SCHEME_QUERY -> begin(SCHEME_QUERY_TYPE, SchemeQueryEvent::new);
+            case Tracing.TRANSACTION_COMMIT -> begin(COMMIT_TYPE, CommitEvent::new);
+            case Tracing.TRANSACTION_ROLLBACK -> begin(ROLLBACK_TYPE, RollbackEvent::new);
+            default -> null;
+        };
+
+        if (event == null && parent == null) {
+            return YdbSpan.NOOP;
+        }
+
+        return new JfrSpan(name, event, parent);
+    }
+
+    /**
+     * Checks the state of the event type before creating an event, so no event is allocated without a recording.
+     */
+    @Nullable
+    private static YdbEvent begin(EventType eventType, Supplier<YdbEvent> eventFactory) {
+        if (!eventType.isEnabled()) {
+            return null;
+        }
+        YdbEvent event = eventFactory.get();
+        event.begin();
+
+        return event;
+    }
+
+    private static final class JfrSpan implements YdbSpan {
+        private final String name;
+        @Nullable
+        private final YdbEvent event;
+        @Nullable
+        private final JfrSpan parent;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean ended = new AtomicBoolean();
+
+        JfrSpan(String name, @Nullable YdbEvent event, @Nullable JfrSpan parent) {
+            this.name = name;
+            this.event = event;
+            this.parent = parent;
+        }
+
+        @Override
+        public void setAttribute(String key, String value) {
+            if (event != null) {
+                event.setAttribute(key, value);
+            }
+        }
+
+        @Override
+        public void setAttribute(String key, long value) {
+            if (event != null) {
+                event.setAttribute(key, value);
+            }
+        }
+
+        @Override
+        public void recordError(Throwable throwable) {
+        }
+
+        @Override
+        public void end() {
+            if (!ended.compareAndSet(false, true)) {
+                return;
+            }
+            if (parent != null && parent.event != null) {
+                parent.event.onPhase(name, System.nanoTime() - startNanos);
+            }
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.commit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+import jdk.jfr.Label;
+import jdk.jfr.Timespan;
+import tech.ydb.io.r2dbc.tracing.Tracing;
+
+/**
+ * Base of the query events with the durations of the query phases.
+ *
+ * @author Egor Kuleshov
+ */
+abstract class QueryEvent extends YdbEvent {
+    @Label("Query Fingerprint")
+    String fingerprint;
+
+    @Label("Session Id")
+    String sessionId;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Session Wait")
+    @Timespan
+    long sessionWait;
+
+    @Label("Execution")
+    @Timespan
+    long execution;
+
+    @Label("Streaming")
+    @Timespan
+    long streaming;
+
+    @Override
+    void setAttribute(String key, String value) {
+        switch (key) {
+            case Tracing.QUERY_FINGERPRINT -> fingerprint = value;
+            case Tracing.SESSION_ID -> sessionId = value;
+            default -> super.setAttribute(key, value);
+        }
+    }
+
+    @Override
+    void setAttribute(String key, long value) {
+        if (Tracing.ROWS.equals(key)) {
+            rows = value;
+        }
+    }
+
+    @Override
+    void onPhase(String name, long nanos) {
+        switch (name) {
+            case Tracing.SESSION_ACQUIRE -> sessionWait = nanos;
+            case Tracing.QUERY_EXECUTE -> execution = nanos;
+            case Tracing.QUERY_RESULTS -> streaming = nanos;
+            default -> {
+            }
+        }
+    }
+}
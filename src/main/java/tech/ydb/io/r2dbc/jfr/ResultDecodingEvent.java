@@ -0,0 +1,40 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * @author Egor Kuleshov
+ */
+@Name("tech.ydb.r2dbc.ResultDecoding")
+@Label("YDB Result Decoding")
+@Description("Reading rows of a result set, the decoding time excludes the processing of rows by the application")
+final class ResultDecodingEvent extends YdbEvent {
+    @Label("Columns")
+    int columns;
+
+    @Label("Rows")
+    long rows;
+
+    @Label("Decoding Time")
+    @Timespan
+    long decodingTime;
+}
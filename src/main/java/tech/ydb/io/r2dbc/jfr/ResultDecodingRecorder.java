@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+/**
+ * Accumulates the time spent decoding rows of a result set. The base implementation does nothing.
+ *
+ * @author Egor Kuleshov
+ */
+public class ResultDecodingRecorder {
+    public static final ResultDecodingRecorder NOOP = new ResultDecodingRecorder();
+
+    ResultDecodingRecorder() {
+    }
+
+    /**
+     * @return start of decoding a row, passed to {@link #rowDecoded(long)}
+     */
+    public long rowStarted() {
+        return 0;
+    }
+
+    /**
+     * @param startNanos start of decoding the row returned by {@link #rowStarted()}
+     */
+    public void rowDecoded(long startNanos) {
+    }
+
+    /**
+     * Finishes the recording, subsequent calls are ignored.
+     *
+     * @param status status of reading the result set
+     */
+    public void finish(String status) {
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import tech.ydb.io.r2dbc.tracing.Tracing;
+
+/**
+ * @author Egor Kuleshov
+ */
+@Name("tech.ydb.r2dbc.SessionAcquire")
+@Label("YDB Session Acquisition")
+@Description("Waiting for a session from the session pool")
+final class SessionAcquireEvent extends YdbEvent {
+    @Label("Session Id")
+    String sessionId;
+
+    @Override
+    void setAttribute(String key, String value) {
+        if (Tracing.SESSION_ID.equals(key)) {
+            sessionId = value;
+        } else {
+            super.setAttribute(key, value);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+import jdk.jfr.Label;
+import tech.ydb.io.r2dbc.tracing.Tracing;
+
+/**
+ * Base of the transaction control events.
+ *
+ * @author Egor Kuleshov
+ */
+abstract class TransactionEvent extends YdbEvent {
+    @Label("Transaction Mode")
+    String txMode;
+
+    @Label("Transaction Id")
+    String txId;
+
+    @Override
+    void setAttribute(String key, String value) {
+        switch (key) {
+            case Tracing.TX_MODE -> txMode = value;
+            case Tracing.TX_ID -> txId = value;
+            default -> super.setAttribute(key, value);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Label;
+import jdk.jfr.StackTrace;
+import tech.ydb.io.r2dbc.tracing.Tracing;
+
+/**
+ * Base of the driver events, which are filled from the attributes of the driver spans.
+ *
+ * @author Egor Kuleshov
+ */
+@Category({"YDB", "R2DBC"})
+@StackTrace(false)
+abstract class YdbEvent extends jdk.jfr.Event {
+    @Label("Status")
+    String status;
+
+    void setAttribute(String key, String value) {
+        if (Tracing.STATUS_CODE.equals(key)) {
+            status = value;
+        }
+    }
+
+    void setAttribute(String key, long value) {
+    }
+
+    /**
+     * @param name name of the finished child span
+     * @param nanos duration of the child span
+     */
+    void onPhase(String name, long nanos) {
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.logging;
+
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.table.Session;
+
+/**
+ * Passes the phases of one execution to two traces.
+ *
+ * @author Egor Kuleshov
+ */
+final class CompositeQueryTrace extends QueryTrace {
+    private final QueryTrace first;
+    private final QueryTrace second;
+
+    CompositeQueryTrace(QueryTrace first, QueryTrace second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public void onSession(Session session) {
+        first.onSession(session);
+        second.onSession(session);
+    }
+
+    @Override
+    public void onExecuted() {
+        first.onExecuted();
+        second.onExecuted();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        first.onError(throwable);
+        second.onError(throwable);
+    }
+
+    @Override
+    public Flux<YdbResult> onResults(Flux<YdbResult> results) {
+        return second.onResults(first.onResults(results));
+    }
+
+    @Override
+    public Context contextWrite(Context context) {
+        return second.contextWrite(first.contextWrite(context));
+    }
+}
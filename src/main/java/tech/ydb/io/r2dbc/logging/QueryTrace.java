@@ -0,0 +1,92 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.logging;
+
+import reactor.core.publisher.Flux;
+import reactor.util.context.Context;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.table.Session;
+
+/**
+ * Phases of one query execution: waiting for a session, executing and streaming results.
+ * The base implementation does nothing, it is used for executions which are not traced.
+ *
+ * @author Egor Kuleshov
+ */
+public class QueryTrace {
+    public static final QueryTrace NOOP = new QueryTrace();
+
+    protected QueryTrace() {
+    }
+
+    /**
+     * Combines traces, so each of them receives the phases of the execution.
+     *
+     * @param first first trace
+     * @param second second trace
+     * @return combined trace
+     */
+    public static QueryTrace combine(QueryTrace first, QueryTrace second) {
+        if (first == NOOP) {
+            return second;
+        }
+        if (second == NOOP) {
+            return first;
+        }
+
+        return new CompositeQueryTrace(first, second);
+    }
+
+    /**
+     * Called when a session for the query is acquired.
+     *
+     * @param session session executing the query
+     */
+    public void onSession(Session session) {
+    }
+
+    /**
+     * Called when the server returns the result of the query.
+     */
+    public void onExecuted() {
+    }
+
+    /**
+     * Called when the query fails before its results are returned.
+     *
+     * @param throwable error
+     */
+    public void onError(Throwable throwable) {
+    }
+
+    /**
+     * @param results results of the query
+     * @return results, which finish the trace when they are complete, fail or are cancelled
+     * and the rows of the streamed results are consumed
+     */
+    public Flux<YdbResult> onResults(Flux<YdbResult> results) {
+        return results;
+    }
+
+    /**
+     * @param context Reactor context of the execution
+     * @return context for the operations of the execution, for example, with the span of the execution
+     */
+    public Context contextWrite(Context context) {
+        return context;
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.logging;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import reactor.util.Logger;
+import reactor.util.Loggers;
+import reactor.util.annotation.Nullable;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.values.Value;
+
+/**
+ * Logs executions, which take longer than the threshold, with the time spent waiting for a session, executing
+ * the query on the server and streaming its results. Parameter values are logged only if enabled, otherwise
+ * only their types are logged.
+ *
+ * @author Egor Kuleshov
+ */
+public final class SlowQueryLogger {
+    public static final SlowQueryLogger DISABLED = new SlowQueryLogger(null, 0, false,
+            Loggers.getLogger(SlowQueryLogger.class));
+
+    private final Duration threshold;
+    private final long thresholdNanos;
+    private final double sampleRate;
+    private final boolean logParameterValues;
+    private final Logger logger;
+
+    /**
+     * @param threshold minimum duration of a logged execution
+     * @param sampleRate part of executions between 0 and 1 to trace
+     * @param logParameterValues log values of parameters, otherwise they are redacted
+     */
+    public SlowQueryLogger(Duration threshold, double sampleRate, boolean logParameterValues) {
+        this(threshold, sampleRate, logParameterValues, Loggers.getLogger(SlowQueryLogger.class));
+    }
+
+    SlowQueryLogger(@Nullable Duration threshold, double sampleRate, boolean logParameterValues, Logger logger) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Slow query sample rate must be between 0 and 1, but found "
+                    + sampleRate);
+        }
+
+        this.threshold = threshold;
+        this.thresholdNanos = threshold == null ? Long.MAX_VALUE : threshold.toNanos();
+        this.sampleRate = sampleRate;
+        this.logParameterValues = logParameterValues;
+        this.logger = logger;
+    }
+
+    public boolean isEnabled() {
+        return threshold != null && sampleRate > 0 && logger.isWarnEnabled();
+    }
+
+    /**
+     * Starts a trace of an execution, executions which are not sampled get {@link QueryTrace#NOOP}.
+     *
+     * @param yql query text
+     * @param params query parameters
+     * @param txSettings transaction settings
+     * @param txId identifier of the open transaction, or {@code null} outside a transaction
+     * @return trace of the execution
+     */
+    public QueryTrace start(String yql, Params params, YdbTxSettings txSettings, @Nullable String txId) {
+        if (!isEnabled() || (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return QueryTrace.NOOP;
+        }
+
+        return new SlowQueryTrace(this, yql, params, txSettings, txId);
+    }
+
+    void report(Execution execution) {
+        if (execution.totalNanos() < thresholdNanos) {
+            return;
+        }
+
+        String message = String.format("Slow query %s ms (session wait %s ms, execution %s ms, streaming %s ms), "
+                        + "rows %s, session %s, tx %s, parameters [%s]: %s",
+                millis(execution.totalNanos()),
+                millis(execution.sessionWaitNanos()),
+                millis(execution.executionNanos()),
+                millis(execution.streamingNanos()),
+                execution.rows() < 0 ? "unknown" : execution.rows(),
+                execution.sessionId(),
+                execution.txSettings().getMode() + (execution.txId() == null ? "" : " " + execution.txId()),
+                parameters(execution.params()),
+                execution.yql());
+
+        if (execution.error() != null) {
+            logger.warn(message, execution.error());
+        } else {
+            logger.warn(message);
+        }
+    }
+
+    private String parameters(Params params) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Map.Entry<String, Value<?>> entry : params.values().entrySet()) {
+            joiner.add(entry.getKey() + ": " + entry.getValue().getType()
+                    + (logParameterValues ? " = " + entry.getValue() : ""));
+        }
+
+        return joiner.toString();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    /**
+     * Finished execution, times are in nanoseconds.
+     */
+    record Execution(String yql,
+                     Params params,
+                     YdbTxSettings txSettings,
+                     @Nullable String txId,
+                     @Nullable String sessionId,
+                     long totalNanos,
+                     long sessionWaitNanos,
+                     long executionNanos,
+                     long streamingNanos,
+                     long rows,
+                     @Nullable Throwable error) {
+    }
+}
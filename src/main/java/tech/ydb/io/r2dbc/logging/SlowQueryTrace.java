@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.logging;
+
+import reactor.core.publisher.Flux;
+import reactor.util.annotation.Nullable;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.table.Session;
+import tech.ydb.table.query.Params;
+
+/**
+ * Trace of a sampled query execution, which is reported to {@link SlowQueryLogger} when finished.
+ *
+ * @author Egor Kuleshov
+ */
+final class SlowQueryTrace extends QueryTrace {
+    private final SlowQueryLogger logger;
+    private final String yql;
+    private final Params params;
+    private final YdbTxSettings txSettings;
+    @Nullable
+    private final String txId;
+    private final long startNanos;
+
+    private volatile long sessionNanos;
+    private volatile long executedNanos;
+    private volatile String sessionId;
+    private volatile boolean finished;
+
+    SlowQueryTrace(SlowQueryLogger logger, String yql, Params params, YdbTxSettings txSettings,
+                   @Nullable String txId) {
+        this.logger = logger;
+        this.yql = yql;
+        this.params = params;
+        this.txSettings = txSettings;
+        this.txId = txId;
+        this.startNanos = System.nanoTime();
+    }
+
+    @Override
+    public void onSession(Session session) {
+        sessionNanos = System.nanoTime();
+        sessionId = session.getId();
+    }
+
+    @Override
+    public void onExecuted() {
+        executedNanos = System.nanoTime();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        finish(-1, throwable);
+    }
+
+    @Override
+    public Flux<YdbResult> onResults(Flux<YdbResult> results) {
+        long[] rows = new long[1];
+
+        return YdbResult.doOnConsumed(results
+                        .doOnNext(result -> rows[0] = rows[0] < 0 || result.getRowCount() < 0
+                                ? -1
+                                : rows[0] + result.getRowCount())
+                        .doOnError(throwable -> finish(rows[0], throwable)),
+                YdbResult::isStreamed,
+                () -> finish(rows[0], null));
+    }
+
+    private void finish(long rows, @Nullable Throwable throwable) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+
+        long endNanos = System.nanoTime();
+        long session = sessionNanos == 0 ? endNanos : sessionNanos;
+        long executed = executedNanos == 0 ? Math.max(endNanos, session) : executedNanos;
+
+        logger.report(new SlowQueryLogger.Execution(
+                yql,
+                params,
+                txSettings,
+                txId,
+                sessionId,
+                endNanos - startNanos,
+                session - startNanos,
+                executed - session,
+                endNanos - executed,
+                rows,
+                throwable
+        ));
+    }
+}
@@ -16,9 +16,12 @@
 
 package tech.ydb.io.r2dbc.options;
 
+import java.time.Duration;
+
 import io.r2dbc.spi.Option;
 import tech.ydb.core.grpc.BalancingSettings;
 import tech.ydb.core.grpc.GrpcCompression;
+import tech.ydb.core.grpc.GrpcTransport;
 
 /**
  * @author Egor Kuleshov
@@ -32,6 +35,10 @@ public class ConnectionOptions {
      * Balancing policy
      */
     public static final Option<BalancingSettings.Policy> BALANCING_POLICY = Option.valueOf("balancingPolicy");
+    /**
+     * Maximum time to wait for the first endpoint discovery
+     */
+    public static final Option<Duration> DISCOVERY_TIMEOUT = Option.valueOf("discoveryTimeout");
     /**
      * Use TLS connection
      */
@@ -56,4 +63,14 @@ public class ConnectionOptions {
      * Use metadata service for authentication
      */
     public static final Option<Boolean> USE_METADATA = Option.valueOf("useMetadata");
+    /**
+     * Use the provided transport instead of connecting to host and port. The transport is owned by the caller and is
+     * not closed by the driver
+     */
+    public static final Option<GrpcTransport> TRANSPORT = Option.valueOf("transport");
+    /**
+     * Share the transport and the session pool with other factories of the same endpoint, database, credentials, TLS
+     * and session pool settings
+     */
+    public static final Option<Boolean> SHARED_TRANSPORT = Option.valueOf("sharedTransport");
 }
@@ -17,8 +17,13 @@
 package tech.ydb.io.r2dbc.options;
 
 import java.time.Duration;
+import java.util.Collection;
 
 import io.r2dbc.spi.Option;
+import reactor.core.scheduler.Scheduler;
+import tech.ydb.io.r2dbc.codec.Codec;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
+import tech.ydb.io.r2dbc.tracing.YdbTracer;
 
 /**
  * @author Egor Kuleshov
@@ -28,10 +33,43 @@ public class OperationOptions {
      * Return an exception when received truncated result
      */
     public static final Option<Boolean> FAIL_ON_TRUNCATED_RESULT = Option.valueOf("failOnTruncatedResult");
+    /**
+     * Re-read a truncated result of a single SELECT outside a transaction with a streaming scan query.
+     * The query is executed twice: the scan query starts when the rows of the result are consumed, and
+     * its rows can be consumed only once
+     */
+    public static final Option<Boolean> SCAN_ON_TRUNCATED_RESULT = Option.valueOf("scanOnTruncatedResult");
+    /**
+     * Decode result sets of a multi-statement query concurrently, preserving their order
+     */
+    public static final Option<Boolean> PARALLEL_RESULT_DECODING = Option.valueOf("parallelResultDecoding");
+    /**
+     * Combine data queries queued one after another inside a transaction into a single request
+     */
+    public static final Option<Boolean> STATEMENT_FUSION = Option.valueOf("statementFusion");
+    /**
+     * Scheduler to deliver query results on instead of gRPC transport threads, for example
+     * {@code Schedulers.boundedElastic()}. Results are delivered on transport threads by default
+     */
+    public static final Option<Scheduler> RESULT_SCHEDULER = Option.valueOf("resultScheduler");
+    /**
+     * Results with at most this number of rows are delivered on the transport thread even if a result scheduler is
+     * configured, 0 by default
+     */
+    public static final Option<Integer> INLINE_RESULT_MAX_ROWS = Option.valueOf("inlineResultMaxRows");
+    /**
+     * Level of server statistics collected for data queries, {@link YdbStatsMode#NONE} by default.
+     * May be overridden per connection or per statement.
+     */
+    public static final Option<YdbStatsMode> STATS_MODE = Option.valueOf("statsMode");
     /**
      * Default timeout to create a session
      */
     public static final Option<Duration> SESSION_TIMEOUT = Option.valueOf("sessionTimeout");
+    /**
+     * Time to wait for active transactions and queries when the connection factory is closed, 30 seconds by default
+     */
+    public static final Option<Duration> SHUTDOWN_TIMEOUT = Option.valueOf("shutdownTimeout");
     /**
      * Deadline timeout for all operations
      */
@@ -41,4 +79,34 @@ public class OperationOptions {
      * A value of {@code 0} disables the cache.
      */
     public static final Option<Integer> STATEMENT_CACHE_SIZE = Option.valueOf("statementCacheQueries");
+    /**
+     * Specifies the maximum number of statements tracked by client-side statement statistics.
+     * A value of {@code 0} disables the statistics.
+     */
+    public static final Option<Integer> STATEMENT_STATISTICS_SIZE = Option.valueOf("statementStatisticsSize");
+    /**
+     * Log executions of queries, which take longer than the threshold
+     */
+    public static final Option<Duration> SLOW_QUERY_THRESHOLD = Option.valueOf("slowQueryThreshold");
+    /**
+     * Part of executions between 0 and 1 checked by the slow query log, 1 by default
+     */
+    public static final Option<Double> SLOW_QUERY_SAMPLE_RATE = Option.valueOf("slowQuerySampleRate");
+    /**
+     * Log values of parameters of slow queries, otherwise only their types are logged
+     */
+    public static final Option<Boolean> SLOW_QUERY_LOG_PARAMETER_VALUES =
+            Option.valueOf("slowQueryLogParameterValues");
+    /**
+     * Tracer of sessions, queries and transactions, spans are not created by default
+     */
+    public static final Option<YdbTracer> TRACER = Option.valueOf("tracer");
+    /**
+     * Emit JDK Flight Recorder events for sessions, queries and transactions, disabled by default
+     */
+    public static final Option<Boolean> JFR_EVENTS = Option.valueOf("jfrEvents");
+    /**
+     * Custom codecs consulted before the built-in conversions of parameters and columns, in the given order
+     */
+    public static final Option<Collection<Codec<?>>> CODECS = Option.valueOf("codecs");
 }
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.parameter;
+
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.values.ListType;
+import tech.ydb.table.values.ListValue;
+import tech.ydb.table.values.PrimitiveType;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.Value;
+
+/**
+ * YDB List value over a Java array. Items are written straight into protobuf without boxing them into
+ * {@link PrimitiveValue} objects, which are created only if the value is read by {@link #asList()}.
+ *
+ * @author Egor Kuleshov
+ */
+abstract class ArrayValue implements Value<ListType> {
+    private final ListType type;
+
+    private ArrayValue(PrimitiveType itemType) {
+        this.type = ListType.of(itemType);
+    }
+
+    static ArrayValue of(long[] values) {
+        long[] items = values.clone();
+
+        return new ArrayValue(PrimitiveType.Int64) {
+            @Override
+            Value<?>[] items() {
+                Value<?>[] list = new Value<?>[items.length];
+                for (int index = 0; index < items.length; index++) {
+                    list[index] = PrimitiveValue.newInt64(items[index]);
+                }
+
+                return list;
+            }
+
+            @Override
+            void addItems(ValueProtos.Value.Builder builder) {
+                for (long item : items) {
+                    builder.addItems(ValueProtos.Value.newBuilder().setInt64Value(item));
+                }
+            }
+        };
+    }
+
+    static ArrayValue of(int[] values) {
+        int[] items = values.clone();
+
+        return new ArrayValue(PrimitiveType.Int32) {
+            @Override
+            Value<?>[] items() {
+                Value<?>[] list = new Value<?>[items.length];
+                for (int index = 0; index < items.length; index++) {
+                    list[index] = PrimitiveValue.newInt32(items[index]);
+                }
+
+                return list;
+            }
+
+            @Override
+            void addItems(ValueProtos.Value.Builder builder) {
+                for (int item : items) {
+                    builder.addItems(ValueProtos.Value.newBuilder().setInt32Value(item));
+                }
+            }
+        };
+    }
+
+    static ArrayValue of(double[] values) {
+        double[] items = values.clone();
+
+        return new ArrayValue(PrimitiveType.Double) {
+            @Override
+            Value<?>[] items() {
+                Value<?>[] list = new Value<?>[items.length];
+                for (int index = 0; index < items.length; index++) {
+                    list[index] = PrimitiveValue.newDouble(items[index]);
+                }
+
+                return list;
+            }
+
+            @Override
+            void addItems(ValueProtos.Value.Builder builder) {
+                for (double item : items) {
+                    builder.addItems(ValueProtos.Value.newBuilder().setDoubleValue(item));
+                }
+            }
+        };
+    }
+
+    static ArrayValue of(String[] values) {
+        String[] items = values.clone();
+        for (int index = 0; index < items.length; index++) {
+            if (items[index] == null) {
+                throw new IllegalArgumentException("Array item " + index + " is null");
+            }
+        }
+
+        return new ArrayValue(PrimitiveType.Text) {
+            @Override
+            Value<?>[] items() {
+                Value<?>[] list = new Value<?>[items.length];
+                for (int index = 0; index < items.length; index++) {
+                    list[index] = PrimitiveValue.newText(items[index]);
+                }
+
+                return list;
+            }
+
+            @Override
+            void addItems(ValueProtos.Value.Builder builder) {
+                for (String item : items) {
+                    builder.addItems(ValueProtos.Value.newBuilder().setTextValue(item));
+                }
+            }
+        };
+    }
+
+    abstract Value<?>[] items();
+
+    abstract void addItems(ValueProtos.Value.Builder builder);
+
+    @Override
+    public ListType getType() {
+        return type;
+    }
+
+    @Override
+    public ListValue asList() {
+        return type.newValueOwn(items());
+    }
+
+    @Override
+    public ValueProtos.Value toPb() {
+        ValueProtos.Value.Builder builder = ValueProtos.Value.newBuilder();
+        addItems(builder);
+
+        return builder.build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Value<?> value)) {
+            return false;
+        }
+        return type.equals(value.getType()) && toPb().equals(value.toPb());
+    }
+
+    @Override
+    public int hashCode() {
+        return toPb().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayValue{type=" + type + '}';
+    }
+}
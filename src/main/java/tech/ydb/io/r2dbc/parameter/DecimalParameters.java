@@ -0,0 +1,81 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.parameter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import tech.ydb.table.values.DecimalType;
+import tech.ydb.table.values.DecimalValue;
+
+/**
+ * Decimal parameter values of a custom precision and scale. Values built from unscaled {@code long} do not
+ * allocate {@link BigDecimal}. The result can be bound as is, e.g. {@code statement.bind("$amount",
+ * DecimalParameters.of(1234, 2))} binds {@code 12.34} as {@code Decimal(22, 2)}.
+ *
+ * @author Egor Kuleshov
+ */
+public final class DecimalParameters {
+    /**
+     * Precision of {@link DecimalType#getDefault()}
+     */
+    public static final int DEFAULT_PRECISION = DecimalType.getDefault().getPrecision();
+
+    private DecimalParameters() {
+    }
+
+    /**
+     * @param unscaled unscaled value
+     * @param scale number of digits after the decimal point, at most {@link #DEFAULT_PRECISION}
+     * @return decimal value {@code unscaled * 10^-scale} of {@code Decimal(22, scale)}
+     */
+    public static DecimalValue of(long unscaled, int scale) {
+        return of(unscaled, DEFAULT_PRECISION, scale);
+    }
+
+    /**
+     * @param unscaled unscaled value
+     * @param precision total number of digits
+     * @param scale number of digits after the decimal point
+     * @return decimal value {@code unscaled * 10^-scale} of {@code Decimal(precision, scale)}
+     */
+    public static DecimalValue of(long unscaled, int precision, int scale) {
+        return DecimalType.of(precision, scale).newValueUnscaled(unscaled);
+    }
+
+    /**
+     * @param high high 64 bits of the unscaled 128-bit value
+     * @param low low 64 bits of the unscaled 128-bit value
+     * @param precision total number of digits
+     * @param scale number of digits after the decimal point
+     * @return decimal value of {@code Decimal(precision, scale)}
+     */
+    public static DecimalValue of(long high, long low, int precision, int scale) {
+        return DecimalType.of(precision, scale).newValue(high, low);
+    }
+
+    /**
+     * @param value decimal value
+     * @param precision total number of digits
+     * @param scale number of digits after the decimal point
+     * @return decimal value of {@code Decimal(precision, scale)}
+     * @throws ArithmeticException if the value has more digits after the decimal point than the scale
+     */
+    public static DecimalValue of(BigDecimal value, int precision, int scale) {
+        return DecimalType.of(precision, scale).newValue(value.setScale(scale, RoundingMode.UNNECESSARY));
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.parameter;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import reactor.util.annotation.Nullable;
+import tech.ydb.io.r2dbc.codec.Codec;
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.type.YdbType;
+import tech.ydb.table.values.StructType;
+import tech.ydb.table.values.Type;
+import tech.ydb.table.values.Value;
+
+/**
+ * Encoder of a record to YDB Struct. The plan is built once per record class: record components become struct
+ * members, components of primitive types are required and components of reference types are optional.
+ * Components of collections, arrays and records have a type depending on the value, and components without
+ * a built-in conversion are encoded by codecs. The type of such a struct is taken from the encoded values.
+ *
+ * @author Egor Kuleshov
+ */
+final class StructEncoder {
+    private static final MethodType ACCESSOR_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private final String recordName;
+    private final StructType type;
+    private final String[] names;
+    private final Member[] members;
+
+    private StructEncoder(String recordName, StructType type, Member[] members) {
+        this.recordName = recordName;
+        this.type = type;
+        this.members = members;
+        this.names = new String[members.length];
+        for (int index = 0; index < members.length; index++) {
+            names[index] = type.getMemberName(index);
+        }
+    }
+
+    static StructEncoder of(Class<?> recordClass) {
+        RecordComponent[] components = recordClass.getRecordComponents();
+        List<String> names = new ArrayList<>(components.length);
+        List<Type> types = new ArrayList<>(components.length);
+        Map<String, Member> nameToMember = new HashMap<>(components.length);
+
+        for (RecordComponent component : components) {
+            ValueEncoder encoder = YdbParameterResolver.findCachedEncoder(component.getType());
+            YdbType ydbType = encoder.ydbType();
+            boolean optional = !component.getType().isPrimitive();
+
+            names.add(component.getName());
+            if (ydbType == null) {
+                // the type is known only after encoding a value of the component
+                types.add(YdbType.TEXT.getYdbType());
+                nameToMember.put(component.getName(), new Member(component.getName(), accessor(component),
+                        encoder == ValueEncoder.UNRESOLVED ? null : encoder, optional, null));
+                continue;
+            }
+
+            types.add(optional ? ydbType.getYdbType().makeOptional() : ydbType.getYdbType());
+            nameToMember.put(component.getName(), new Member(component.getName(), accessor(component), encoder,
+                    optional, optional ? ydbType.getYdbType().makeOptional().emptyValue() : null));
+        }
+
+        StructType type = StructType.of(names, types);
+        Member[] members = new Member[type.getMembersCount()];
+        for (int index = 0; index < members.length; index++) {
+            members[index] = nameToMember.get(type.getMemberName(index));
+        }
+
+        return new StructEncoder(recordClass.getName(), type, members);
+    }
+
+    Value<?> encode(Object record, Codecs codecs) {
+        Value<?>[] values = new Value<?>[members.length];
+        boolean planned = true;
+        for (int index = 0; index < members.length; index++) {
+            values[index] = members[index].encode(record, codecs, recordName);
+            planned &= values[index].getType().equals(type.getMemberType(index));
+        }
+        if (planned) {
+            return type.newValueUnsafe(values);
+        }
+
+        Type[] types = new Type[values.length];
+        for (int index = 0; index < values.length; index++) {
+            types[index] = values[index].getType();
+        }
+
+        return StructType.ofCopy(names, types).newValueUnsafe(values);
+    }
+
+    private static MethodHandle accessor(RecordComponent component) {
+        Method method = component.getAccessor();
+        try {
+            method.setAccessible(true);
+            return MethodHandles.lookup().unreflect(method).asType(ACCESSOR_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new IllegalArgumentException("Could not access record component " + component.getName(), e);
+        }
+    }
+
+    private static final class Member {
+        private final String name;
+        private final MethodHandle accessor;
+        /**
+         * Built-in encoder of the component, {@code null} if the component has no built-in conversion and is
+         * encoded only by codecs.
+         */
+        @Nullable
+        private final ValueEncoder encoder;
+        private final boolean optional;
+        /**
+         * Empty value of an optional member with a built-in encoder.
+         */
+        @Nullable
+        private final Value<?> emptyValue;
+
+        private Member(String name, MethodHandle accessor, @Nullable ValueEncoder encoder, boolean optional,
+                       @Nullable Value<?> emptyValue) {
+            this.name = name;
+            this.accessor = accessor;
+            this.encoder = encoder;
+            this.optional = optional;
+            this.emptyValue = emptyValue;
+        }
+
+        private Value<?> encode(Object record, Codecs codecs, String recordName) {
+            Object value;
+            try {
+                value = (Object) accessor.invokeExact(record);
+            } catch (Throwable e) {
+                throw new IllegalArgumentException("Could not read record component", e);
+            }
+
+            if (value == null) {
+                if (emptyValue == null) {
+                    throw new IllegalArgumentException(String.format(
+                            "Could not resolve component %s of %s to YdbType", name, recordName));
+                }
+
+                return emptyValue;
+            }
+
+            Value<?> encoded = encodeValue(value, codecs, recordName);
+
+            return optional ? encoded.makeOptional() : encoded;
+        }
+
+        private Value<?> encodeValue(Object value, Codecs codecs, String recordName) {
+            Codec<Object> codec = codecs.findEncoder(value.getClass());
+            if (codec != null) {
+                return codec.encode(value);
+            }
+            if (encoder == null) {
+                throw new IllegalArgumentException(String.format(
+                        "Could not resolve component %s of %s to YdbType", name, recordName));
+            }
+
+            return encoder.encode(value, codecs);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.parameter;
+
+import java.util.function.BiFunction;
+
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.type.YdbType;
+import tech.ydb.table.values.Value;
+
+/**
+ * Encoder of Java objects of one class to YDB values.
+ *
+ * @author Egor Kuleshov
+ */
+final class ValueEncoder {
+    static final ValueEncoder UNRESOLVED = new ValueEncoder(null, null);
+
+    private final YdbType ydbType;
+    /**
+     * Encodes a value, codecs are passed to encoders of composite values to encode their items.
+     */
+    private final BiFunction<Object, Codecs, Value<?>> encoder;
+
+    ValueEncoder(YdbType ydbType, BiFunction<Object, Codecs, Value<?>> encoder) {
+        this.ydbType = ydbType;
+        this.encoder = encoder;
+    }
+
+    /**
+     * @return YDB type of encoded values, or {@code null} if it depends on the value
+     */
+    YdbType ydbType() {
+        return ydbType;
+    }
+
+    Value<?> encode(Object obj, Codecs codecs) {
+        return encoder.apply(obj, codecs);
+    }
+}
@@ -20,14 +20,27 @@ import io.r2dbc.spi.Parameter;
 import io.r2dbc.spi.R2dbcType;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
 
+import com.google.protobuf.ByteString;
+import tech.ydb.io.r2dbc.codec.Codec;
+import tech.ydb.io.r2dbc.codec.Codecs;
 import tech.ydb.io.r2dbc.type.YdbType;
+import tech.ydb.table.values.ListType;
 import tech.ydb.table.values.OptionalType;
+import tech.ydb.table.values.PrimitiveValue;
 import tech.ydb.table.values.Type;
 import tech.ydb.table.values.Value;
 
@@ -36,31 +49,56 @@ import tech.ydb.table.values.Value;
  */
 public class YdbParameterResolver {
 
-    private static final HashMap<Class<?>, YdbType> CLASS_YDB_TYPE = new HashMap<>(32);
+    private static final HashMap<Class<?>, ValueEncoder> CLASS_ENCODER = new HashMap<>(32);
     private static final HashMap<Type, YdbType> TYPE_YDB_TYPE = new HashMap<>(32);
 
+    /**
+     * Encoders resolved by the type hierarchy, computed once per class.
+     */
+    private static final ClassValue<ValueEncoder> ENCODERS = new ClassValue<>() {
+        @Override
+        protected ValueEncoder computeValue(Class<?> type) {
+            return findEncoder(type);
+        }
+    };
+
     static {
-        CLASS_YDB_TYPE.put(String.class, YdbType.TEXT);
-        CLASS_YDB_TYPE.put(long.class, YdbType.INT64);
-        CLASS_YDB_TYPE.put(Long.class, YdbType.INT64);
-        CLASS_YDB_TYPE.put(byte.class, YdbType.INT8);
-        CLASS_YDB_TYPE.put(Byte.class, YdbType.INT8);
-        CLASS_YDB_TYPE.put(short.class, YdbType.INT16);
-        CLASS_YDB_TYPE.put(Short.class, YdbType.INT16);
-        CLASS_YDB_TYPE.put(int.class, YdbType.INT32);
-        CLASS_YDB_TYPE.put(Integer.class, YdbType.INT32);
-        CLASS_YDB_TYPE.put(float.class, YdbType.FLOAT);
-        CLASS_YDB_TYPE.put(Float.class, YdbType.FLOAT);
-        CLASS_YDB_TYPE.put(double.class, YdbType.DOUBLE);
-        CLASS_YDB_TYPE.put(Double.class, YdbType.DOUBLE);
-        CLASS_YDB_TYPE.put(boolean.class, YdbType.BOOL);
-        CLASS_YDB_TYPE.put(Boolean.class, YdbType.BOOL);
-        CLASS_YDB_TYPE.put(byte[].class, YdbType.BYTES);
-        CLASS_YDB_TYPE.put(Instant.class, YdbType.TIMESTAMP);
-        CLASS_YDB_TYPE.put(LocalDate.class, YdbType.DATE);
-        CLASS_YDB_TYPE.put(LocalDateTime.class, YdbType.DATETIME);
-        CLASS_YDB_TYPE.put(BigDecimal.class, YdbType.DECIMAL);
-        CLASS_YDB_TYPE.put(Duration.class, YdbType.INTERVAL);
+        register(String.class, YdbType.TEXT);
+        register(long.class, YdbType.INT64);
+        register(Long.class, YdbType.INT64);
+        register(byte.class, YdbType.INT8);
+        register(Byte.class, YdbType.INT8);
+        register(short.class, YdbType.INT16);
+        register(Short.class, YdbType.INT16);
+        register(int.class, YdbType.INT32);
+        register(Integer.class, YdbType.INT32);
+        register(float.class, YdbType.FLOAT);
+        register(Float.class, YdbType.FLOAT);
+        register(double.class, YdbType.DOUBLE);
+        register(Double.class, YdbType.DOUBLE);
+        register(boolean.class, YdbType.BOOL);
+        register(Boolean.class, YdbType.BOOL);
+        register(byte[].class, YdbType.BYTES);
+        register(Instant.class, YdbType.TIMESTAMP);
+        register(LocalDate.class, YdbType.DATE);
+        register(LocalDateTime.class, YdbType.DATETIME);
+        register(BigDecimal.class, YdbType.DECIMAL);
+        register(Duration.class, YdbType.INTERVAL);
+        register(UUID.class, YdbType.UUID);
+
+        register(Timestamp.class, YdbType.TIMESTAMP, obj -> PrimitiveValue.newTimestamp(((Timestamp) obj).toInstant()));
+        register(java.sql.Date.class, YdbType.DATE, obj -> PrimitiveValue.newDate(((java.sql.Date) obj).toLocalDate()));
+        register(ByteString.class, YdbType.BYTES, obj -> PrimitiveValue.newBytes((ByteString) obj));
+        register(ByteBuffer.class, YdbType.BYTES,
+                obj -> PrimitiveValue.newBytes(ByteString.copyFrom(((ByteBuffer) obj).duplicate())));
+        register(CharSequence.class, YdbType.TEXT, obj -> PrimitiveValue.newText(obj.toString()));
+
+        register(long[].class, null, obj -> ArrayValue.of((long[]) obj));
+        register(int[].class, null, obj -> ArrayValue.of((int[]) obj));
+        register(double[].class, null, obj -> ArrayValue.of((double[]) obj));
+        register(String[].class, null, obj -> ArrayValue.of((String[]) obj));
+        CLASS_ENCODER.put(Collection.class, new ValueEncoder(null,
+                (obj, codecs) -> resolveCollection((Collection<?>) obj, codecs)));
 
         for (YdbType ydbType : YdbType.values()) {
             TYPE_YDB_TYPE.put(ydbType.getYdbType(), ydbType);
@@ -71,18 +109,38 @@ public class YdbParameterResolver {
     }
 
     public static Value<?> resolve(Object param) {
+        return resolve(param, Codecs.EMPTY);
+    }
+
+    /**
+     * Resolves a value by a registered codec, if there is one for the value class, or by the built-in conversions.
+     * Codecs also encode the values of {@link Parameter}, the items of collections and the components of records.
+     *
+     * @param param non-null value
+     * @param codecs registered codecs
+     * @return YDB value
+     */
+    public static Value<?> resolve(Object param, Codecs codecs) {
         if (param instanceof Value<?> value) {
             return value;
         } else if (param instanceof Parameter parameter) {
-            return resolveParameter(parameter);
+            return resolveParameter(parameter, codecs);
         }
 
-        return resolveClass(param.getClass()).createValue(param);
+        Codec<Object> codec = codecs.findEncoder(param.getClass());
+        if (codec != null) {
+            return codec.encode(param);
+        }
+
+        return resolveEncoder(param.getClass()).encode(param, codecs);
     }
 
     public static YdbType resolveResultType(Type type) {
         if (type instanceof OptionalType) {
-            return TYPE_YDB_TYPE.get(type.unwrapOptional());
+            type = type.unwrapOptional();
+        }
+        if (type.getKind() == Type.Kind.DECIMAL) {
+            return YdbType.DECIMAL;
         }
 
         return TYPE_YDB_TYPE.get(type);
@@ -93,14 +151,99 @@ public class YdbParameterResolver {
     }
 
     public static YdbType resolveClass(Class<?> clazz) {
-        if (CLASS_YDB_TYPE.containsKey(clazz)) {
-            return CLASS_YDB_TYPE.get(clazz);
-        } else {
-            throw new IllegalArgumentException("Could not resolve" + clazz.getName() + "class to YdbType");
+        YdbType ydbType = resolveEncoder(clazz).ydbType();
+        if (ydbType == null) {
+            throw new IllegalArgumentException("Could not resolve " + clazz.getName() + " class to YdbType");
+        }
+
+        return ydbType;
+    }
+
+    static ValueEncoder resolveEncoder(Class<?> clazz) {
+        ValueEncoder encoder = findCachedEncoder(clazz);
+        if (encoder == ValueEncoder.UNRESOLVED) {
+            throw new IllegalArgumentException("Could not resolve " + clazz.getName() + " class to YdbType");
+        }
+
+        return encoder;
+    }
+
+    /**
+     * @return encoder of the class, or {@link ValueEncoder#UNRESOLVED} if there is no built-in conversion
+     */
+    static ValueEncoder findCachedEncoder(Class<?> clazz) {
+        return ENCODERS.get(clazz);
+    }
+
+    /**
+     * Looks for the nearest registered class: the class itself and its superclasses first, then its interfaces.
+     */
+    private static ValueEncoder findEncoder(Class<?> clazz) {
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            ValueEncoder encoder = CLASS_ENCODER.get(current);
+            if (encoder != null) {
+                return encoder;
+            }
+        }
+
+        if (clazz.isRecord()) {
+            return new ValueEncoder(null, StructEncoder.of(clazz)::encode);
+        }
+
+        Deque<Class<?>> interfaces = new ArrayDeque<>();
+        for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+            interfaces.addAll(List.of(current.getInterfaces()));
+        }
+        while (!interfaces.isEmpty()) {
+            Class<?> current = interfaces.poll();
+            ValueEncoder encoder = CLASS_ENCODER.get(current);
+            if (encoder != null) {
+                return encoder;
+            }
+            interfaces.addAll(List.of(current.getInterfaces()));
+        }
+
+        return ValueEncoder.UNRESOLVED;
+    }
+
+    /**
+     * Encodes a collection as YDB List, the item type is taken from the items.
+     */
+    private static Value<?> resolveCollection(Collection<?> collection, Codecs codecs) {
+        if (collection.isEmpty()) {
+            throw new IllegalArgumentException("Could not resolve item type of an empty collection, "
+                    + "bind a typed ListValue instead");
+        }
+
+        Value<?>[] items = new Value<?>[collection.size()];
+        int index = 0;
+        for (Object item : collection) {
+            if (item == null) {
+                throw new IllegalArgumentException("Collection item " + index + " is null");
+            }
+            items[index++] = resolve(item, codecs);
+        }
+
+        Type itemType = items[0].getType();
+        for (Value<?> item : items) {
+            if (!itemType.equals(item.getType())) {
+                throw new IllegalArgumentException(String.format("Collection items have different types %s and %s",
+                        itemType, item.getType()));
+            }
         }
+
+        return ListType.of(itemType).newValueOwn(items);
     }
 
-    private static Value<?> resolveParameter(Parameter parameter) {
+    private static void register(Class<?> clazz, YdbType ydbType) {
+        register(clazz, ydbType, ydbType::createValue);
+    }
+
+    private static void register(Class<?> clazz, YdbType ydbType, Function<Object, Value<?>> encoder) {
+        CLASS_ENCODER.put(clazz, new ValueEncoder(ydbType, (obj, codecs) -> encoder.apply(obj)));
+    }
+
+    private static Value<?> resolveParameter(Parameter parameter, Codecs codecs) {
         if (parameter.getType() instanceof YdbType ydbType) {
             if (parameter.getValue() == null) {
                 return ydbType.getYdbType().makeOptional().emptyValue();
@@ -116,7 +259,12 @@ public class YdbParameterResolver {
             if (parameter.getValue() == null) {
                 return resolveClass(parameter.getType().getJavaType()).getYdbType().makeOptional().emptyValue();
             }
-            return resolveClass(parameter.getType().getJavaType()).createValue(parameter.getValue());
+            Codec<Object> codec = codecs.findEncoder(parameter.getType().getJavaType());
+            if (codec != null) {
+                return codec.encode(parameter.getValue());
+            }
+
+            return resolveEncoder(parameter.getType().getJavaType()).encode(parameter.getValue(), codecs);
         }
     }
 }
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.table.query.Params;
+
+/**
+ * Several data queries combined into one. Parameters of each query are renamed with the prefix {@code $f<index>_},
+ * declarations are moved to the beginning and results are split back by the operations of each query.
+ *
+ * @author Egor Kuleshov
+ */
+public final class FusedDataQuery {
+    private final StringBuilder declares = new StringBuilder();
+    private final StringBuilder body = new StringBuilder();
+    private final Params params = Params.create();
+    private final List<OperationType> operationTypes = new ArrayList<>();
+    private final List<Integer> resultOffsets = new ArrayList<>();
+
+    /**
+     * A query can be combined with others if all its named expressions are its parameters, so renaming them cannot
+     * change the meaning of the other queries. Literals and comments are not renamed. A query with {@code PRAGMA}
+     * is not combined, as the pragma would apply to the other queries or end up in the middle of the combined one.
+     */
+    public static boolean canFuse(String yql, Params params) {
+        for (String statement : YdbSqlParser.splitStatements(yql)) {
+            if (YdbSqlParser.isPragma(statement)) {
+                return false;
+            }
+        }
+
+        return params.values().keySet().containsAll(YdbSqlParser.parameterNames(yql));
+    }
+
+    /**
+     * @return named expressions of the query, outside of literals and comments, which are not its parameters
+     */
+    public static Set<String> unboundNames(String yql, Params params) {
+        Set<String> names = YdbSqlParser.parameterNames(yql);
+        names.removeAll(params.values().keySet());
+
+        return names;
+    }
+
+    public void add(String yql, Params queryParams, List<OperationType> queryOperationTypes) {
+        String prefix = "$f" + resultOffsets.size() + "_";
+
+        for (String statement : YdbSqlParser.splitStatements(yql)) {
+            String renamed = YdbSqlParser.renameParameters(statement, name -> prefix + name.substring(1));
+            StringBuilder target = YdbSqlParser.isDeclare(statement) ? declares : body;
+            target.append(renamed).append(";\n");
+        }
+
+        queryParams.values().forEach((name, value) -> params.put(prefix + name.substring(1), value));
+        resultOffsets.add(operationTypes.size());
+        operationTypes.addAll(queryOperationTypes);
+    }
+
+    public String getYql() {
+        return declares + body.toString();
+    }
+
+    public Params getParams() {
+        return params;
+    }
+
+    public List<OperationType> getOperationTypes() {
+        return operationTypes;
+    }
+
+    /**
+     * @param results results of the combined query, one per operation
+     * @param index position of the query
+     * @return results of the query
+     */
+    public List<YdbResult> results(List<YdbResult> results, int index) {
+        int end = index + 1 < resultOffsets.size() ? resultOffsets.get(index + 1) : operationTypes.size();
+
+        return results.subList(resultOffsets.get(index), end);
+    }
+}
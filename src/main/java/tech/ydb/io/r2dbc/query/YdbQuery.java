@@ -18,9 +18,10 @@ package tech.ydb.io.r2dbc.query;
 
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 import tech.ydb.io.r2dbc.statement.binding.Binding;
+import tech.ydb.io.r2dbc.statement.binding.ParameterSlots;
+import tech.ydb.table.values.Value;
 
 /**
  * @author Egor Kuleshov
@@ -30,6 +31,8 @@ public class YdbQuery {
     private final QueryType type;
     private final List<String> indexesArgsNames;
     private final List<SqlOperation> sqlOperations;
+    private final ParameterSlots parameterSlots;
+    private final List<OperationType> operationTypes;
 
     public YdbQuery(String yql, List<String> indexesArgsNames, QueryType queryType,
                     List<SqlOperation> sqlOperations) {
@@ -37,6 +40,10 @@ public class YdbQuery {
         this.indexesArgsNames = indexesArgsNames;
         this.type = queryType;
         this.sqlOperations = sqlOperations;
+        this.parameterSlots = new ParameterSlots(indexesArgsNames);
+        this.operationTypes = sqlOperations.stream()
+                .map(SqlOperation::getOperationType)
+                .toList();
     }
 
     public YdbQuery(String yql, List<String> indexesArgsNames, QueryType queryType) {
@@ -49,11 +56,16 @@ public class YdbQuery {
 
     public static String getDeclares(Binding binding) {
         StringBuilder yql = new StringBuilder();
-        binding.values().forEach((name, value) -> yql.append("DECLARE ")
-                .append(name)
-                .append(" AS ")
-                .append(value.getType())
-                .append(";\n"));
+        for (int index = 0; index < binding.size(); index++) {
+            Value<?> value = binding.getValue(index);
+            if (value != null) {
+                yql.append("DECLARE ")
+                        .append(binding.getName(index))
+                        .append(" AS ")
+                        .append(value.getType())
+                        .append(";\n");
+            }
+        }
 
         return yql.toString();
     }
@@ -62,14 +74,16 @@ public class YdbQuery {
         return indexesArgsNames;
     }
 
+    public ParameterSlots getParameterSlots() {
+        return parameterSlots;
+    }
+
     public QueryType type() {
         return type;
     }
 
     public List<OperationType> getOperationTypes() {
-        return sqlOperations.stream()
-                .map(SqlOperation::getOperationType)
-                .collect(Collectors.toList());
+        return operationTypes;
     }
 
     @Override
@@ -17,8 +17,11 @@
 package tech.ydb.io.r2dbc.query;
 
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 
 
 import io.r2dbc.spi.R2dbcBadGrammarException;
@@ -27,6 +30,9 @@ import io.r2dbc.spi.R2dbcBadGrammarException;
  * @author Egor Kuleshov
  */
 public class YdbSqlParser {
+    private static final char[] DECLARE = "declare".toCharArray();
+    private static final char[] PRAGMA = "pragma".toCharArray();
+
     public static YdbQuery parse(String sql) {
         YdbQueryBuilder builder = new YdbQueryBuilder(sql);
         char[] chars = sql.toCharArray();
@@ -63,6 +69,169 @@ public class YdbSqlParser {
         return builder.build();
     }
 
+    /**
+     * Splits a query into statements separated by {@code ;} outside of literals and comments. Leading whitespace and
+     * the separators are removed, a trailing line comment keeps its line break. Statements consisting of whitespace
+     * and comments only are skipped.
+     *
+     * @param yql query
+     * @return statements of the query
+     */
+    static List<String> splitStatements(String yql) {
+        char[] chars = yql.toCharArray();
+        List<String> statements = new ArrayList<>();
+        int start = 0;
+        int codeEnd = 0;
+        boolean hasCode = false;
+
+        for (int i = 0; i < chars.length; ++i) {
+            char ch = chars[i];
+            if (ch == ';') {
+                addStatement(chars, start, codeEnd, hasCode, statements);
+                start = i + 1;
+                codeEnd = start;
+                hasCode = false;
+                continue;
+            }
+
+            int end = skipLiteralOrComment(chars, i);
+            boolean comment = end != i && (ch == '-' || ch == '/');
+            if (!comment && !Character.isWhitespace(ch)) {
+                hasCode = true;
+            }
+            if (!Character.isWhitespace(ch)) {
+                codeEnd = Math.min(end + 1, chars.length);
+            }
+            i = end;
+        }
+        addStatement(chars, start, codeEnd, hasCode, statements);
+
+        return statements;
+    }
+
+    private static void addStatement(char[] chars, int start, int end, boolean hasCode, List<String> statements) {
+        if (!hasCode) {
+            return;
+        }
+        while (start < end && Character.isWhitespace(chars[start])) {
+            start++;
+        }
+        statements.add(new String(chars, start, end - start));
+    }
+
+    /**
+     * @param statement single statement
+     * @return {@code true} if the first keyword of the statement outside of comments is {@code DECLARE}
+     */
+    static boolean isDeclare(String statement) {
+        return startsWith(statement, DECLARE);
+    }
+
+    /**
+     * @param statement single statement
+     * @return {@code true} if the first keyword of the statement outside of comments is {@code PRAGMA}
+     */
+    static boolean isPragma(String statement) {
+        return startsWith(statement, PRAGMA);
+    }
+
+    private static boolean startsWith(String statement, char[] keyword) {
+        char[] chars = statement.toCharArray();
+        for (int i = 0; i < chars.length; ++i) {
+            int end = skipLiteralOrComment(chars, i);
+            if (end != i) {
+                i = end;
+                continue;
+            }
+            if (!Character.isWhitespace(chars[i])) {
+                return parseWord(chars, i, keyword)
+                        && (i + keyword.length == chars.length
+                        || !Character.isJavaIdentifierPart(chars[i + keyword.length]));
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @param yql query
+     * @return names of the named expressions and parameters of the query, starting with {@code $}, outside of literals
+     * and comments
+     */
+    static Set<String> parameterNames(String yql) {
+        Set<String> names = new LinkedHashSet<>();
+        renameParameters(yql, name -> {
+            names.add(name);
+            return name;
+        });
+
+        return names;
+    }
+
+    /**
+     * Renames named expressions and parameters of the query, literals and comments are kept as is.
+     *
+     * @param yql query
+     * @param rename new name by the name, both start with {@code $}
+     * @return renamed query
+     */
+    static String renameParameters(String yql, UnaryOperator<String> rename) {
+        char[] chars = yql.toCharArray();
+        StringBuilder renamed = new StringBuilder(chars.length + 16);
+        int copied = 0;
+
+        for (int i = 0; i < chars.length; ++i) {
+            int end = skipLiteralOrComment(chars, i);
+            if (end != i) {
+                i = end;
+                continue;
+            }
+            if (chars[i] == '$' && i + 1 < chars.length && isNameStart(chars[i + 1])) {
+                int nameEnd = i + 2;
+                while (nameEnd < chars.length && isNamePart(chars[nameEnd])) {
+                    nameEnd++;
+                }
+                renamed.append(chars, copied, i - copied)
+                        .append(rename.apply(new String(chars, i, nameEnd - i)));
+                copied = nameEnd;
+                i = nameEnd - 1;
+            }
+        }
+        renamed.append(chars, copied, chars.length - copied);
+
+        return renamed.toString();
+    }
+
+    private static boolean isNameStart(char ch) {
+        return ch == '_' || (ch >= 'a' && ch <= 'z') || (ch >= 'A' && ch <= 'Z');
+    }
+
+    private static boolean isNamePart(char ch) {
+        return isNameStart(ch) || (ch >= '0' && ch <= '9');
+    }
+
+    /**
+     * @return position of the last char of the literal or comment starting at the offset, or the offset if there is
+     * no literal or comment
+     */
+    private static int skipLiteralOrComment(char[] chars, int offset) {
+        return switch (chars[offset]) {
+            case '\'' -> parseSingleQuotes(chars, offset);
+            case '"' -> parseDoubleQuotes(chars, offset);
+            case '`' -> parseBackQuotes(chars, offset);
+            case '-' -> parseLineComment(chars, offset);
+            case '/' -> parseBlockComment(chars, offset);
+            default -> offset;
+        };
+    }
+
+    private static int parseBackQuotes(final char[] query, int offset) {
+        while (++offset < query.length && query[offset] != '`') {
+            // do nothing
+        }
+        return offset;
+    }
+
     private static void parseSpecialParam(char[] chars, int i, int prev, YdbQueryBuilder builder) {
         builder.append(chars, prev, i - prev);
         builder.addSpecialParameter();
@@ -18,6 +18,8 @@ package tech.ydb.io.r2dbc.result;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -28,8 +30,14 @@ import io.r2dbc.spi.RowMetadata;
 import org.reactivestreams.Publisher;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
 import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
 import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.jfr.JfrEvents;
+import tech.ydb.io.r2dbc.jfr.ResultDecodingRecorder;
+import tech.ydb.table.query.stats.QueryStats;
 import tech.ydb.table.result.ResultSetReader;
 import tech.ydb.table.values.Value;
 
@@ -37,47 +45,113 @@ import tech.ydb.table.values.Value;
  * @author Egor Kuleshov
  */
 public class YdbResult implements Result {
-    public static final YdbResult UPDATE_RESULT = new YdbResult(Flux.empty(), 1L);
-    public static final YdbResult DDL_RESULT = new YdbResult(Flux.empty(), 0L);
+    public static final YdbResult UPDATE_RESULT = new YdbResult(Flux.empty(), 1L, 0);
+    public static final YdbResult DDL_RESULT = new YdbResult(Flux.empty(), 0L, 0);
     private static final long DEFAULT_SELECT_ROWS_UPDATED = -1L;
+    private static final int UNKNOWN_ROW_COUNT = -1;
+    private static final String TRUNCATED_STATUS = "TRUNCATED";
 
     private final Flux<RowSegment> segments;
     private final long rowsUpdated;
+    private final int rowCount;
+    private final boolean streamed;
+    @Nullable
+    private final QueryStats stats;
 
-    private YdbResult(Flux<RowSegment> segments, long rowsUpdated) {
+    private YdbResult(Flux<RowSegment> segments, long rowsUpdated, int rowCount) {
+        this(segments, rowsUpdated, rowCount, false, null);
+    }
+
+    private YdbResult(Flux<RowSegment> segments, long rowsUpdated, int rowCount, boolean streamed,
+                      @Nullable QueryStats stats) {
         this.segments = segments;
         this.rowsUpdated = rowsUpdated;
+        this.rowCount = rowCount;
+        this.streamed = streamed;
+        this.stats = stats;
     }
 
     public YdbResult(ResultSetReader resultSetReader, boolean failOnTruncated) {
-        this.rowsUpdated = DEFAULT_SELECT_ROWS_UPDATED;
-        this.segments = Flux.generate(
-                YdbRowMetadataState::new,
+        this(resultSetReader, failOnTruncated, Codecs.EMPTY);
+    }
+
+    public YdbResult(ResultSetReader resultSetReader, boolean failOnTruncated, Codecs codecs) {
+        this(rowSegments(resultSetReader, failOnTruncated, codecs), DEFAULT_SELECT_ROWS_UPDATED,
+                resultSetReader.getRowCount());
+    }
+
+    /**
+     * Creates a result over a stream of result set parts, for example, parts of a scan query.
+     * Rows are read part by part, so only the current part and a bounded number of prefetched parts are kept in
+     * memory.
+     *
+     * @param resultSetReaders parts of one result set
+     * @param codecs codecs to decode values of the columns
+     */
+    public YdbResult(Flux<ResultSetReader> resultSetReaders, Codecs codecs) {
+        this(resultSetReaders.concatMap(resultSetReader -> rowSegments(resultSetReader, false, codecs), 1),
+                DEFAULT_SELECT_ROWS_UPDATED, UNKNOWN_ROW_COUNT, true, null);
+    }
+
+    /**
+     * Creates a result of a data modification.
+     *
+     * @param rowsUpdated number of rows affected by the modification
+     * @return result without rows
+     */
+    public static YdbResult updated(long rowsUpdated) {
+        return new YdbResult(Flux.empty(), rowsUpdated, 0);
+    }
+
+    /**
+     * Decodes all rows of the result set eagerly, so the returned result holds decoded rows only.
+     *
+     * @param resultSetReader result set to decode
+     * @param failOnTruncated return an error on a truncated result set
+     * @param codecs codecs to decode values of the columns
+     * @return {@link Mono} of the decoded result
+     */
+    public static Mono<YdbResult> decode(ResultSetReader resultSetReader, boolean failOnTruncated, Codecs codecs) {
+        return rowSegments(resultSetReader, failOnTruncated, codecs)
+                .collectList()
+                .map(rows -> new YdbResult(Flux.fromIterable(rows), DEFAULT_SELECT_ROWS_UPDATED, rows.size()));
+    }
+
+    private static Flux<RowSegment> rowSegments(ResultSetReader resultSetReader, boolean failOnTruncated,
+                                                Codecs codecs) {
+        return Flux.generate(
+                () -> new YdbRowMetadataState(JfrEvents.startDecoding(resultSetReader.getColumnCount())),
                 (state, sink) -> {
+                    ResultDecodingRecorder recorder = state.getRecorder();
+                    long startNanos = recorder.rowStarted();
                     if (!resultSetReader.next()) {
+                        recorder.finish(StatusCode.SUCCESS.name());
                         sink.complete();
                         return state;
                     }
                     if (failOnTruncated && resultSetReader.isTruncated()) {
+                        recorder.finish(TRUNCATED_STATUS);
                         sink.error(new UnexpectedResultException("Result is truncated", Status.SUCCESS));
                         return state;
                     }
                     YdbRowMetadataState currentState = state;
                     if (state.isNotInitialized()) {
-                        currentState = new YdbRowMetadataState(getYdbRowMetadata(resultSetReader));
+                        currentState = new YdbRowMetadataState(getYdbRowMetadata(resultSetReader, codecs), recorder);
                     }
                     List<Value<?>> values = new ArrayList<>(resultSetReader.getColumnCount());
                     for (int index = 0; index < resultSetReader.getColumnCount(); index++) {
                         values.add(resultSetReader.getColumn(index).getValue());
                     }
+                    YdbRow row = new YdbRow(currentState.getYdbRowMetadata(), values);
+                    recorder.rowDecoded(startNanos);
 
-                    sink.next(new RowSegment(new YdbRow(currentState.getYdbRowMetadata(), values)));
+                    sink.next(new RowSegment(row));
                     return currentState;
-                });
+                },
+                state -> state.getRecorder().finish(StatusCode.CLIENT_CANCELLED.name()));
     }
 
-
-    private static YdbRowMetadata getYdbRowMetadata(ResultSetReader resultSetReader) {
+    private static YdbRowMetadata getYdbRowMetadata(ResultSetReader resultSetReader, Codecs codecs) {
         List<YdbColumnMetadata> ydbColumnMetadatas = new ArrayList<>(resultSetReader.getColumnCount());
         for (int index = 0; index < resultSetReader.getColumnCount(); index++) {
             ydbColumnMetadatas.add(new YdbColumnMetadata(
@@ -86,19 +160,110 @@ public class YdbResult implements Result {
             ));
         }
 
-        return new YdbRowMetadata(ydbColumnMetadatas);
+        return new YdbRowMetadata(ydbColumnMetadatas, codecs);
     }
 
     /**
-     * YDB do not support rows updated and return default value.
+     * Number of rows affected by a data modification, if it is known from the query statistics, otherwise default
+     * value by query type: {@code 1} for data modifications, {@code 0} for scheme queries and {@code -1} for selects.
+     * A streamed result is drained first, so the resources held by the stream are released.
      *
-     * @return default value rows updated by query type
+     * @return rows updated by the query
      */
     @Override
     public Mono<Long> getRowsUpdated() {
+        if (streamed) {
+            return segments.then(Mono.just(rowsUpdated));
+        }
+
         return Mono.just(rowsUpdated);
     }
 
+    /**
+     * @return {@code true} if rows of the result are streamed from the server while they are read
+     */
+    public boolean isStreamed() {
+        return streamed;
+    }
+
+    /**
+     * Calls the action once, when rows of the result are read to the end, fail or reading is cancelled. For a result
+     * without rows the action is called immediately.
+     *
+     * @param onConsumed action
+     * @return the same result calling the action
+     */
+    public YdbResult doOnConsumed(Runnable onConsumed) {
+        if (rowCount == 0) {
+            onConsumed.run();
+            return this;
+        }
+
+        AtomicBoolean consumed = new AtomicBoolean();
+        return new YdbResult(segments.doFinally(signalType -> {
+            if (consumed.compareAndSet(false, true)) {
+                onConsumed.run();
+            }
+        }), rowsUpdated, rowCount, streamed, stats);
+    }
+
+    /**
+     * Calls the action once, when the results are finished and rows of the awaited ones are consumed.
+     *
+     * @param results results of a query
+     * @param awaited results which rows are awaited
+     * @param onConsumed action
+     * @return the same results calling the action
+     * @see #doOnConsumed(Runnable)
+     */
+    public static Flux<YdbResult> doOnConsumed(Flux<YdbResult> results, Predicate<YdbResult> awaited,
+                                               Runnable onConsumed) {
+        return Flux.defer(() -> {
+            AtomicInteger pending = new AtomicInteger(1);
+            Runnable release = () -> {
+                if (pending.decrementAndGet() == 0) {
+                    onConsumed.run();
+                }
+            };
+
+            return results
+                    .map(result -> {
+                        if (!awaited.test(result)) {
+                            return result;
+                        }
+                        pending.incrementAndGet();
+
+                        return result.doOnConsumed(release);
+                    })
+                    .doFinally(signalType -> release.run());
+        });
+    }
+
+    /**
+     * @return number of rows of the result known before reading them, or {@code -1} for a streamed result
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Statistics of the query collected by YDB, if enabled by {@link tech.ydb.io.r2dbc.settings.YdbStatsMode}.
+     * All results of a multi-statement query share the statistics of the whole query.
+     *
+     * @return {@link Mono} of the query statistics, or an empty {@link Mono} if statistics were not collected
+     */
+    public Mono<QueryStats> getStats() {
+        return Mono.justOrEmpty(stats);
+    }
+
+    /**
+     * @param stats statistics of the query collected by YDB
+     * @return the same result with the attached statistics
+     */
+    public YdbResult withStats(QueryStats stats) {
+        return new YdbResult(segments, rowsUpdated, rowCount, streamed, stats);
+    }
+
     @Override
     public <T> Flux<T> map(BiFunction<Row, RowMetadata, ? extends T> biFunction) {
         return segments.map(rowSegment -> biFunction.apply(rowSegment.row(), rowSegment.row.getMetadata()));
@@ -106,7 +271,7 @@ public class YdbResult implements Result {
 
     @Override
     public YdbResult filter(Predicate<Segment> predicate) {
-        return new YdbResult(segments.filter(predicate), rowsUpdated);
+        return new YdbResult(segments.filter(predicate), rowsUpdated, rowCount, streamed, stats);
     }
 
     @Override
@@ -116,13 +281,16 @@ public class YdbResult implements Result {
 
     private static class YdbRowMetadataState {
         private final YdbRowMetadata ydbRowMetadata;
+        private final ResultDecodingRecorder recorder;
 
-        public YdbRowMetadataState() {
+        public YdbRowMetadataState(ResultDecodingRecorder recorder) {
             this.ydbRowMetadata = null;
+            this.recorder = recorder;
         }
 
-        public YdbRowMetadataState(YdbRowMetadata ydbRowMetadata) {
+        public YdbRowMetadataState(YdbRowMetadata ydbRowMetadata, ResultDecodingRecorder recorder) {
             this.ydbRowMetadata = ydbRowMetadata;
+            this.recorder = recorder;
         }
 
         public boolean isNotInitialized() {
@@ -136,6 +304,10 @@ public class YdbResult implements Result {
 
             return ydbRowMetadata;
         }
+
+        public ResultDecodingRecorder getRecorder() {
+            return recorder;
+        }
     }
 
     private static class RowSegment implements Result.RowSegment {
@@ -16,10 +16,15 @@
 
 package tech.ydb.io.r2dbc.result;
 
+import java.nio.ByteBuffer;
 import java.util.List;
 
+import com.google.protobuf.ByteString;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import reactor.util.annotation.Nullable;
+import tech.ydb.io.r2dbc.codec.Codec;
+import tech.ydb.io.r2dbc.type.YdbType;
 import tech.ydb.table.values.OptionalValue;
 import tech.ydb.table.values.Value;
 
@@ -42,20 +47,87 @@ public final class YdbRow implements Row {
 
     @Override
     public <T> T get(int index, Class<T> type) {
-        Value<?> value = values.get(index);
-        if (value instanceof OptionalValue) {
-            if (!value.asOptional().isPresent()) {
-                return null;
-            } else {
-                value = value.asOptional().get();
-            }
+        Value<?> value = getValue(index);
+        if (value == null) {
+            return null;
+        }
+
+        Codec<?> codec = ydbRowMetadata.getCodecs().findDecoder(type, value.getType());
+        if (codec != null) {
+            return type.cast(codec.decode(value));
         }
 
-        return type.cast(ydbRowMetadata.getColumnMetadata(index).getType().getObject(value));
+        YdbType ydbType = ydbRowMetadata.getColumnMetadata(index).getType();
+        if (type == ByteBuffer.class) {
+            return type.cast(ydbType.getByteBuffer(value));
+        } else if (type == ByteString.class) {
+            return type.cast(ydbType.getByteString(value));
+        }
+
+        return type.cast(ydbType.getObject(value));
     }
 
     @Override
     public <T> T get(String name, Class<T> type) {
         return get(ydbRowMetadata.getColumnIndex(name), type);
     }
+
+    /**
+     * Returns the unscaled value of a decimal column without {@link java.math.BigDecimal} allocation,
+     * the scale is defined by the column type.
+     *
+     * @param index column index
+     * @return unscaled value
+     * @throws ArithmeticException if the value is not finite or does not fit into {@code long}
+     */
+    public long getUnscaledLong(int index) {
+        return ydbRowMetadata.getColumnMetadata(index).getType().getUnscaledLong(getRequiredValue(index));
+    }
+
+    public long getUnscaledLong(String name) {
+        return getUnscaledLong(ydbRowMetadata.getColumnIndex(name));
+    }
+
+    /**
+     * @param index column index
+     * @return high 64 bits of the unscaled 128-bit value of a decimal column
+     */
+    public long getUnscaledHigh(int index) {
+        return ydbRowMetadata.getColumnMetadata(index).getType().getUnscaledHigh(getRequiredValue(index));
+    }
+
+    public long getUnscaledHigh(String name) {
+        return getUnscaledHigh(ydbRowMetadata.getColumnIndex(name));
+    }
+
+    /**
+     * @param index column index
+     * @return low 64 bits of the unscaled 128-bit value of a decimal column
+     */
+    public long getUnscaledLow(int index) {
+        return ydbRowMetadata.getColumnMetadata(index).getType().getUnscaledLow(getRequiredValue(index));
+    }
+
+    public long getUnscaledLow(String name) {
+        return getUnscaledLow(ydbRowMetadata.getColumnIndex(name));
+    }
+
+    @Nullable
+    private Value<?> getValue(int index) {
+        Value<?> value = values.get(index);
+        if (value instanceof OptionalValue) {
+            return value.asOptional().isPresent() ? value.asOptional().get() : null;
+        }
+
+        return value;
+    }
+
+    private Value<?> getRequiredValue(int index) {
+        Value<?> value = getValue(index);
+        if (value == null) {
+            throw new NullPointerException("Value of column " + index + " is null");
+        }
+
+        return value;
+    }
 }
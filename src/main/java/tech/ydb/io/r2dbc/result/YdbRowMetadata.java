@@ -23,15 +23,23 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
+import tech.ydb.io.r2dbc.codec.Codecs;
+
 /**
  * @author Egor Kuleshov
  */
 public final class YdbRowMetadata implements RowMetadata {
     private final List<YdbColumnMetadata> ydbColumnMetadatas;
     private final Map<String, Integer> nameToIndex;
+    private final Codecs codecs;
 
     public YdbRowMetadata(List<YdbColumnMetadata> ydbColumnMetadatas) {
+        this(ydbColumnMetadatas, Codecs.EMPTY);
+    }
+
+    public YdbRowMetadata(List<YdbColumnMetadata> ydbColumnMetadatas, Codecs codecs) {
         this.ydbColumnMetadatas = ydbColumnMetadatas;
+        this.codecs = codecs;
         this.nameToIndex = new HashMap<>(ydbColumnMetadatas.size());
         for (int index = 0; index < ydbColumnMetadatas.size(); index++) {
             nameToIndex.put(ydbColumnMetadatas.get(index).getName(), index);
@@ -61,6 +69,13 @@ public final class YdbRowMetadata implements RowMetadata {
         return nameToIndex.containsKey(columnName);
     }
 
+    /**
+     * @return codecs to decode values of the columns
+     */
+    public Codecs getCodecs() {
+        return codecs;
+    }
+
     public int getColumnIndex(String name) {
         validateColumnName(name);
 
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.settings;
+
+import tech.ydb.table.query.stats.QueryStatsCollectionMode;
+
+/**
+ * Level of statistics collected by YDB for data queries and returned by {@link tech.ydb.io.r2dbc.result.YdbResult#getStats()}.
+ *
+ * @author Egor Kuleshov
+ */
+public enum YdbStatsMode {
+    /**
+     * Do not collect statistics.
+     */
+    NONE(QueryStatsCollectionMode.NONE),
+    /**
+     * Collect aggregated statistics: duration, CPU time, rows read and affected per table.
+     */
+    BASIC(QueryStatsCollectionMode.BASIC),
+    /**
+     * Collect basic statistics and statistics of each query phase.
+     */
+    FULL(QueryStatsCollectionMode.FULL);
+
+    private final QueryStatsCollectionMode collectionMode;
+
+    YdbStatsMode(QueryStatsCollectionMode collectionMode) {
+        this.collectionMode = collectionMode;
+    }
+
+    public QueryStatsCollectionMode toCollectionMode() {
+        return collectionMode;
+    }
+}
@@ -17,10 +17,26 @@
 package tech.ydb.io.r2dbc.state;
 
 import java.time.Duration;
+import java.util.List;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.ContextView;
+import tech.ydb.core.Result;
+import tech.ydb.io.r2dbc.OperationsConfig;
 import tech.ydb.io.r2dbc.YdbContext;
+import tech.ydb.io.r2dbc.logging.QueryTrace;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
 import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.io.r2dbc.tracing.Tracing;
+import tech.ydb.io.r2dbc.tracing.YdbTracer;
+import tech.ydb.table.query.DataQueryResult;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.settings.ExecuteDataQuerySettings;
 import tech.ydb.table.settings.RequestSettings;
 
 /**
@@ -49,6 +65,10 @@ public abstract class AbstractConnectionState implements YdbConnectionState {
         return ydbTxSettings;
     }
 
+    public Duration getStatementTimeout() {
+        return statementTimeout;
+    }
+
     protected  <T extends RequestSettings<?>> T withStatementTimeout(T settings) {
         if (!statementTimeout.isZero() && !statementTimeout.isNegative()) {
             settings.setOperationTimeout(statementTimeout);
@@ -58,6 +78,63 @@ public abstract class AbstractConnectionState implements YdbConnectionState {
         return settings;
     }
 
+    /**
+     * Starts the slow query log and tracing of a query execution.
+     */
+    protected QueryTrace startQueryTrace(ContextView context, String yql, Params params,
+                                         List<OperationType> operationTypes, @Nullable String txId) {
+        OperationsConfig operationsConfig = ydbContext.getOperationsConfig();
+
+        return QueryTrace.combine(
+                operationsConfig.getSlowQueryLogger().start(yql, params, ydbTxSettings, txId),
+                Tracing.startQuery(operationsConfig.getTracer(), context, yql, operationTypes, ydbTxSettings,
+                        txId));
+    }
+
+    protected YdbTracer tracer() {
+        return ydbContext.getOperationsConfig().getTracer();
+    }
+
+    protected ExecuteDataQuerySettings executeDataQuerySettings(@Nullable YdbStatsMode statsMode) {
+        ExecuteDataQuerySettings settings = withStatementTimeout(new ExecuteDataQuerySettings());
+        YdbStatsMode mode = statsMode != null ? statsMode : ydbContext.getOperationsConfig().getStatsMode();
+        if (mode != YdbStatsMode.NONE) {
+            settings.setCollectStats(mode.toCollectionMode());
+        }
+
+        return settings;
+    }
+
+    /**
+     * Moves delivery of results from the transport thread to the result scheduler, unless they are small enough to
+     * be delivered inline.
+     */
+    protected Flux<YdbResult> publishResults(Flux<YdbResult> results, Result<DataQueryResult> dataQueryResultResult) {
+        OperationsConfig operationsConfig = ydbContext.getOperationsConfig();
+        Scheduler scheduler = operationsConfig.getResultScheduler();
+        if (scheduler == null || !dataQueryResultResult.isSuccess()) {
+            return results;
+        }
+
+        DataQueryResult dataQueryResult = dataQueryResultResult.getValue();
+        long rows = 0;
+        for (int index = 0; index < dataQueryResult.getResultSetCount(); index++) {
+            rows += dataQueryResult.getRowCount(index);
+        }
+
+        return rows <= operationsConfig.getInlineResultMaxRows() ? results : results.publishOn(scheduler);
+    }
+
+    /**
+     * Moves a stream of result parts from the transport thread to the result scheduler. Only one part is
+     * prefetched, so a slow consumer keeps the stream from reading more parts.
+     */
+    protected <T> Flux<T> publishStream(Flux<T> stream) {
+        Scheduler scheduler = ydbContext.getOperationsConfig().getResultScheduler();
+
+        return scheduler == null ? stream : stream.publishOn(scheduler, 1);
+    }
+
     protected  <T extends RequestSettings<?>> T withDeadlineTimeout(T settings) {
         if (!ydbContext.getDeadlineTimeout().isZero() && !ydbContext.getDeadlineTimeout().isNegative()) {
             settings.setOperationTimeout(ydbContext.getDeadlineTimeout());
@@ -23,6 +23,8 @@ import io.r2dbc.spi.IsolationLevel;
 import io.r2dbc.spi.ValidationDepth;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
 import tech.ydb.io.r2dbc.settings.YdbTxSettings;
 import tech.ydb.io.r2dbc.query.OperationType;
 import tech.ydb.io.r2dbc.result.YdbResult;
@@ -42,7 +44,8 @@ public class CloseState implements YdbConnectionState {
     }
 
     @Override
-    public Mono<NextStateResult<Flux<YdbResult>>> executeDataQuery(String yql, Params params, List<OperationType> operationTypes) {
+    public Mono<NextStateResult<Flux<YdbResult>>> executeDataQuery(String yql, Params params, List<OperationType> operationTypes,
+                                                                   @Nullable YdbStatsMode statsMode) {
         return Mono.error(new IllegalStateException(CLOSED_STATE_MESSAGE));
     }
 
@@ -0,0 +1,281 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.state;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.annotation.Nullable;
+import reactor.util.concurrent.Queues;
+import reactor.util.context.ContextView;
+import tech.ydb.io.r2dbc.query.FusedDataQuery;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
+import tech.ydb.table.query.Params;
+
+/**
+ * Orders operations of a connection. Commands are queued in the order of subscription and run one at a time by
+ * a single drainer, each command sees the state left by the previous one. A command is finished as soon as its
+ * next state is known, so results of a query may still be consumed while the next command runs. A submitted command
+ * runs to completion even if its subscriber cancels, so its state transition is never lost.
+ * <p>
+ * Inside a transaction, data queries waiting in the queue one after another may be combined into a single request
+ * if statement fusion is enabled.
+ *
+ * @author Egor Kuleshov
+ */
+public final class ConnectionCommandQueue {
+    private static final int MAX_FUSED_QUERIES = 32;
+
+    private final Queue<Command<?>> queue = Queues.<Command<?>>unboundedMultiproducer().get();
+    private final AtomicInteger wip = new AtomicInteger();
+    private volatile YdbConnectionState state;
+    private volatile boolean running;
+
+    public ConnectionCommandQueue(YdbConnectionState state) {
+        this.state = state;
+    }
+
+    /**
+     * @return state after the last finished command
+     */
+    public YdbConnectionState getState() {
+        return state;
+    }
+
+    /**
+     * @return {@code true} if no command is running or waiting
+     */
+    public boolean isIdle() {
+        return !running && queue.isEmpty();
+    }
+
+    /**
+     * @param command operation returning its result with the next state, an empty result keeps the state
+     * @return result of the operation executed after all previously submitted ones
+     */
+    public <T> Mono<T> submit(Function<YdbConnectionState, Mono<NextStateResult<T>>> command) {
+        return Mono.create(sink -> {
+            queue.offer(new Command<>(command, sink));
+            drain();
+        });
+    }
+
+    /**
+     * @param command operation returning the next state
+     * @return completion of the operation executed after all previously submitted ones
+     */
+    public Mono<Void> transition(Function<YdbConnectionState, Mono<? extends YdbConnectionState>> command) {
+        return submit(current -> command.apply(current).map(next -> new NextStateResult<>(null, next)));
+    }
+
+    /**
+     * @param command operation keeping the state
+     * @return result of the operation executed after all previously submitted ones
+     */
+    public <T> Mono<T> submitInState(Function<YdbConnectionState, Mono<T>> command) {
+        return submit(current -> command.apply(current).map(result -> new NextStateResult<>(result, current)));
+    }
+
+    /**
+     * @return results of the data query executed after all previously submitted operations
+     * @see YdbConnectionState#executeDataQuery(String, Params, List, YdbStatsMode)
+     */
+    public Mono<Flux<YdbResult>> submitDataQuery(String yql, Params params, List<OperationType> operationTypes,
+                                                 @Nullable YdbStatsMode statsMode) {
+        return Mono.create(sink -> {
+            queue.offer(new DataQueryCommand(yql, params, operationTypes, statsMode, sink));
+            drain();
+        });
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            while (!running) {
+                Command<?> command = queue.poll();
+                if (command == null) {
+                    break;
+                }
+                running = true;
+
+                List<DataQueryCommand> fused = command instanceof DataQueryCommand dataQuery
+                        ? pollFusible(dataQuery)
+                        : List.of();
+                if (fused.isEmpty()) {
+                    command.run();
+                } else {
+                    runFused((DataQueryCommand) command, fused);
+                }
+            }
+
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Reads of a table within one query do not see the writes of the same query, so only reads followed by writes
+     * are combined: the run stops at the first read after a write.
+     *
+     * @return data queries following the first one that can be executed together with it
+     */
+    private List<DataQueryCommand> pollFusible(DataQueryCommand first) {
+        if (!(queue.peek() instanceof DataQueryCommand)
+                || !(state instanceof InsideTransactionState insideTransactionState)
+                || !insideTransactionState.isStatementFusion()
+                || !first.isFusible()) {
+            return List.of();
+        }
+
+        List<DataQueryCommand> fused = new ArrayList<>();
+        boolean written = first.operationTypes.contains(OperationType.UPDATE);
+        while (fused.size() + 1 < MAX_FUSED_QUERIES
+                && queue.peek() instanceof DataQueryCommand next
+                && Objects.equals(first.statsMode, next.statsMode)
+                && !(written && next.operationTypes.contains(OperationType.SELECT))
+                && next.isFusible()) {
+            queue.poll();
+            fused.add(next);
+            written |= next.operationTypes.contains(OperationType.UPDATE);
+        }
+
+        return fused;
+    }
+
+    private void runFused(DataQueryCommand first, List<DataQueryCommand> others) {
+        List<DataQueryCommand> commands = new ArrayList<>(others.size() + 1);
+        commands.add(first);
+        commands.addAll(others);
+
+        FusedDataQuery fusedQuery = new FusedDataQuery();
+        for (DataQueryCommand command : commands) {
+            fusedQuery.add(command.yql, command.params, command.operationTypes);
+        }
+
+        execute(current -> current.executeDataQuery(fusedQuery.getYql(), fusedQuery.getParams(),
+                        fusedQuery.getOperationTypes(), first.statsMode),
+                first.sink.contextView(),
+                (next, error) -> {
+                    if (error != null) {
+                        commands.forEach(command -> command.sink.error(error));
+                        return;
+                    }
+
+                    Mono<List<YdbResult>> results = next.getResult().collectList().cache();
+                    for (int index = 0; index < commands.size(); index++) {
+                        int queryIndex = index;
+                        commands.get(index).sink.success(results
+                                .flatMapIterable(list -> fusedQuery.results(list, queryIndex)));
+                    }
+                });
+    }
+
+    /**
+     * Runs the action in the current state, moves to the next state and lets the next command run before the result
+     * is delivered.
+     */
+    private <T> void execute(Function<YdbConnectionState, Mono<NextStateResult<T>>> action, ContextView context,
+                             BiConsumer<NextStateResult<T>, Throwable> delivery) {
+        AtomicBoolean finished = new AtomicBoolean();
+        BiConsumer<NextStateResult<T>, Throwable> complete = (next, error) -> {
+            if (!finished.compareAndSet(false, true)) {
+                return;
+            }
+
+            if (next != null) {
+                state = next.getNextState();
+            }
+            running = false;
+            drain();
+
+            delivery.accept(next, error);
+        };
+
+        Mono<NextStateResult<T>> result;
+        try {
+            result = action.apply(state);
+        } catch (RuntimeException e) {
+            complete.accept(null, e);
+            return;
+        }
+
+        result
+                .contextWrite(context)
+                .subscribe(
+                        next -> complete.accept(next, null),
+                        error -> complete.accept(null, error),
+                        () -> complete.accept(null, null)
+                );
+    }
+
+    private class Command<T> {
+        final Function<YdbConnectionState, Mono<NextStateResult<T>>> action;
+        final MonoSink<T> sink;
+
+        Command(Function<YdbConnectionState, Mono<NextStateResult<T>>> action, MonoSink<T> sink) {
+            this.action = action;
+            this.sink = sink;
+        }
+
+        void run() {
+            execute(action, sink.contextView(), (next, error) -> {
+                if (error != null) {
+                    sink.error(error);
+                } else if (next != null && next.getResult() != null) {
+                    sink.success(next.getResult());
+                } else {
+                    sink.success();
+                }
+            });
+        }
+    }
+
+    private final class DataQueryCommand extends Command<Flux<YdbResult>> {
+        final String yql;
+        final Params params;
+        final List<OperationType> operationTypes;
+        @Nullable
+        final YdbStatsMode statsMode;
+
+        DataQueryCommand(String yql, Params params, List<OperationType> operationTypes,
+                         @Nullable YdbStatsMode statsMode, MonoSink<Flux<YdbResult>> sink) {
+            super(current -> current.executeDataQuery(yql, params, operationTypes, statsMode), sink);
+            this.yql = yql;
+            this.params = params;
+            this.operationTypes = operationTypes;
+            this.statsMode = statsMode;
+        }
+
+        boolean isFusible() {
+            return FusedDataQuery.canFuse(yql, params);
+        }
+    }
+}
@@ -24,15 +24,18 @@ import io.r2dbc.spi.IsolationLevel;
 import io.r2dbc.spi.ValidationDepth;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
 import tech.ydb.io.r2dbc.YdbContext;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
 import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.io.r2dbc.logging.QueryTrace;
 import tech.ydb.io.r2dbc.query.OperationType;
 import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.tracing.Tracing;
 import tech.ydb.io.r2dbc.util.ResultExtractor;
 import tech.ydb.table.Session;
 import tech.ydb.table.query.Params;
 import tech.ydb.table.settings.CommitTxSettings;
-import tech.ydb.table.settings.ExecuteDataQuerySettings;
 import tech.ydb.table.settings.KeepAliveSessionSettings;
 import tech.ydb.table.settings.RollbackTxSettings;
 import tech.ydb.table.transaction.TxControl;
@@ -72,9 +75,26 @@ public final class InsideTransactionState extends AbstractConnectionState implem
     @Override
     public Mono<NextStateResult<Flux<YdbResult>>> executeDataQuery(String yql,
                                                                    Params params,
-                                                                   List<OperationType> operationTypes) {
+                                                                   List<OperationType> operationTypes,
+                                                                   @Nullable YdbStatsMode statsMode) {
+        return Mono.deferContextual(context -> {
+            QueryTrace trace = startQueryTrace(context, yql, params, operationTypes, id);
+            trace.onSession(session);
+
+            return executeDataQuery(yql, params, operationTypes, statsMode, trace)
+                    .doOnError(trace::onError)
+                    .contextWrite(trace::contextWrite);
+        });
+    }
+
+    private Mono<NextStateResult<Flux<YdbResult>>> executeDataQuery(String yql,
+                                                                    Params params,
+                                                                    List<OperationType> operationTypes,
+                                                                    @Nullable YdbStatsMode statsMode,
+                                                                    QueryTrace trace) {
         return Mono.fromFuture(session.executeDataQuery(yql, txControl, params,
-                        withStatementTimeout(new ExecuteDataQuerySettings())))
+                        executeDataQuerySettings(statsMode)))
+                .doOnNext(unused -> trace.onExecuted())
                 .map(dataQueryResult -> {
                     String txId = dataQueryResult.getValue().getTxId();
                     YdbConnectionState nextState = this;
@@ -92,13 +112,19 @@ public final class InsideTransactionState extends AbstractConnectionState implem
                         session.close();
                     }
 
-                    return new NextStateResult<>(ResultExtractor.extract(
+                    return new NextStateResult<>(trace.onResults(publishResults(ResultExtractor.extract(
                             dataQueryResult,
                             operationTypes,
-                            ydbContext.getOperationsConfig().getFailOnTruncatedResult()), nextState);
+                            ydbContext.getOperationsConfig().getFailOnTruncatedResult(),
+                            ydbContext.getOperationsConfig().isParallelResultDecoding(),
+                            ydbContext.getOperationsConfig().getCodecs()), dataQueryResult)), nextState);
                 });
     }
 
+    boolean isStatementFusion() {
+        return ydbContext.getOperationsConfig().isStatementFusion();
+    }
+
     @Override
     public Flux<YdbResult> executeSchemeQuery(String yql) {
         return Flux.error(new IllegalStateException(SCHEME_QUERY_INSIDE_TRANSACTION));
@@ -111,22 +137,32 @@ public final class InsideTransactionState extends AbstractConnectionState implem
 
     @Override
     public Mono<OutsideTransactionState> commitTransaction() {
-        return Mono.fromFuture(session.commitTransaction(
-                        id,
-                        withDeadlineTimeout(new CommitTxSettings())))
-                .flatMap(ResultExtractor::extract)
-                .doOnSuccess(unused -> session.close())
-                .then(Mono.just(new OutsideTransactionState(ydbContext, ydbTxSettings, statementTimeout)));
+        return Tracing.trace(tracer(), Tracing.TRANSACTION_COMMIT, span -> {
+            span.setAttribute(Tracing.TX_MODE, Tracing.txMode(ydbTxSettings));
+            span.setAttribute(Tracing.TX_ID, id);
+
+            return Mono.fromFuture(session.commitTransaction(
+                            id,
+                            withDeadlineTimeout(new CommitTxSettings())))
+                    .flatMap(ResultExtractor::extract)
+                    .doOnSuccess(unused -> session.close())
+                    .then(Mono.just(new OutsideTransactionState(ydbContext, ydbTxSettings, statementTimeout)));
+        });
     }
 
     @Override
     public Mono<OutsideTransactionState> rollbackTransaction() {
-        return Mono.fromFuture(session.rollbackTransaction(
-                        id,
-                        withDeadlineTimeout(new RollbackTxSettings())))
-                .flatMap(ResultExtractor::extract)
-                .doOnSuccess(unused -> session.close())
-                .then(Mono.just(new OutsideTransactionState(ydbContext, ydbTxSettings, statementTimeout)));
+        return Tracing.trace(tracer(), Tracing.TRANSACTION_ROLLBACK, span -> {
+            span.setAttribute(Tracing.TX_MODE, Tracing.txMode(ydbTxSettings));
+            span.setAttribute(Tracing.TX_ID, id);
+
+            return Mono.fromFuture(session.rollbackTransaction(
+                            id,
+                            withDeadlineTimeout(new RollbackTxSettings())))
+                    .flatMap(ResultExtractor::extract)
+                    .doOnSuccess(unused -> session.close())
+                    .then(Mono.just(new OutsideTransactionState(ydbContext, ydbTxSettings, statementTimeout)));
+        });
     }
 
     @Override
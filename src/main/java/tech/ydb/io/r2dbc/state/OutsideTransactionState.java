@@ -19,23 +19,30 @@ package tech.ydb.io.r2dbc.state;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
 import io.r2dbc.spi.IsolationLevel;
 import io.r2dbc.spi.ValidationDepth;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
 import tech.ydb.core.Result;
 import tech.ydb.io.r2dbc.FluxDiscardOnCancel;
 import tech.ydb.io.r2dbc.YdbContext;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
 import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.io.r2dbc.logging.QueryTrace;
 import tech.ydb.io.r2dbc.query.OperationType;
 import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.tracing.Tracing;
 import tech.ydb.io.r2dbc.util.ResultExtractor;
 import tech.ydb.table.Session;
+import tech.ydb.table.query.DataQueryResult;
 import tech.ydb.table.query.Params;
+import tech.ydb.table.result.ResultSetReader;
 import tech.ydb.table.settings.BeginTxSettings;
-import tech.ydb.table.settings.ExecuteDataQuerySettings;
+import tech.ydb.table.settings.ExecuteScanQuerySettings;
 import tech.ydb.table.settings.ExecuteSchemeQuerySettings;
 import tech.ydb.table.settings.KeepAliveSessionSettings;
 
@@ -57,10 +64,26 @@ public class OutsideTransactionState extends AbstractConnectionState implements
 
     @Override
     public Mono<NextStateResult<Flux<YdbResult>>> executeDataQuery(String yql, Params params,
-                                                                   List<OperationType> operationTypes) {
+                                                                   List<OperationType> operationTypes,
+                                                                   @Nullable YdbStatsMode statsMode) {
+        return Mono.deferContextual(context -> {
+            QueryTrace trace = startQueryTrace(context, yql, params, operationTypes, null);
+
+            return executeDataQuery(yql, params, operationTypes, statsMode, trace)
+                    .doOnError(trace::onError)
+                    .contextWrite(trace::contextWrite);
+        });
+    }
+
+    private Mono<NextStateResult<Flux<YdbResult>>> executeDataQuery(String yql, Params params,
+                                                                    List<OperationType> operationTypes,
+                                                                    @Nullable YdbStatsMode statsMode,
+                                                                    QueryTrace trace) {
         return monoWithSession(session ->
                 Mono.fromFuture(session.executeDataQuery(yql, ydbTxSettings.txControl(), params,
-                                withStatementTimeout(new ExecuteDataQuerySettings())))
+                                executeDataQuerySettings(statsMode)))
+                        .doFirst(() -> trace.onSession(session))
+                        .doOnNext(unused -> trace.onExecuted())
                         .map(dataQueryResult -> {
                             YdbConnectionState nextState;
                             if (dataQueryResult.getValue().getTxId() != null && !dataQueryResult.getValue().getTxId().isEmpty()) {
@@ -69,45 +92,107 @@ public class OutsideTransactionState extends AbstractConnectionState implements
                                         session,
                                         ydbTxSettings,
                                         statementTimeout);
+                            } else if (isScanOnTruncated(dataQueryResult.getValue(), operationTypes)) {
+                                session.close();
+
+                                return new NextStateResult<>(trace.onResults(Flux.just(new YdbResult(
+                                        publishStream(scanQuery(yql, params)),
+                                        ydbContext.getOperationsConfig().getCodecs()))), this);
                             } else {
                                 nextState = this;
                                 session.close();
                             }
 
-                            return new NextStateResult<>(ResultExtractor.extract(
+                            return new NextStateResult<>(trace.onResults(publishResults(ResultExtractor.extract(
                                     dataQueryResult,
                                     operationTypes,
-                                    ydbContext.getOperationsConfig().getFailOnTruncatedResult()),
+                                    ydbContext.getOperationsConfig().getFailOnTruncatedResult(),
+                                    ydbContext.getOperationsConfig().isParallelResultDecoding(),
+                                    ydbContext.getOperationsConfig().getCodecs()), dataQueryResult)),
                                     nextState);
                         })
         );
     }
 
+    /**
+     * A truncated result of a single SELECT is re-read by a scan query, which streams all rows from a consistent
+     * snapshot. It is possible only without an open transaction.
+     */
+    private boolean isScanOnTruncated(DataQueryResult dataQueryResult, List<OperationType> operationTypes) {
+        return ydbContext.getOperationsConfig().isScanOnTruncatedResult()
+                && operationTypes.size() == 1
+                && operationTypes.get(0) == OperationType.SELECT
+                && dataQueryResult.getResultSetCount() == 1
+                && dataQueryResult.isTruncated(0);
+    }
+
+    /**
+     * Streams the rows of a scan query. The query is executed with its own session, which is acquired only when
+     * the rows are consumed and released when the stream completes, fails or is cancelled, so a result dropped
+     * without consuming its rows holds no session. The rows can be consumed only once.
+     */
+    private Flux<ResultSetReader> scanQuery(String yql, Params params) {
+        AtomicBoolean subscribed = new AtomicBoolean();
+
+        return Flux.defer(() -> {
+            if (!subscribed.compareAndSet(false, true)) {
+                return Flux.error(new IllegalStateException("Rows of a streamed result can be consumed only once"));
+            }
+
+            return acquireSession()
+                    .flatMapMany(session -> ResultExtractor.extract(
+                            session.executeScanQuery(yql, params, scanQuerySettings()),
+                            "Error executing scan query"
+                    ).doFinally(signalType -> session.close()));
+        });
+    }
+
+    private ExecuteScanQuerySettings scanQuerySettings() {
+        ExecuteScanQuerySettings.Builder builder = ExecuteScanQuerySettings.newBuilder();
+        if (!statementTimeout.isZero() && !statementTimeout.isNegative()) {
+            builder.withRequestTimeout(statementTimeout);
+        }
+
+        return builder.build();
+    }
+
     @Override
     public Flux<YdbResult> executeSchemeQuery(String yql) {
-        return fluxWithSession(session -> Mono.fromFuture(session.executeSchemeQuery(yql,
-                        withStatementTimeout(new ExecuteSchemeQuerySettings())))
-                .flatMap(ResultExtractor::extract)
-                .then(Mono.just(YdbResult.DDL_RESULT))
-                .flux()
-                .doOnComplete(session::close));
+        return Flux.deferContextual(context -> {
+            QueryTrace trace = startQueryTrace(context, yql, Params.empty(), List.of(OperationType.SCHEME), null);
+
+            return trace.onResults(fluxWithSession(session -> Mono.fromFuture(session.executeSchemeQuery(yql,
+                            withStatementTimeout(new ExecuteSchemeQuerySettings())))
+                    .doFirst(() -> trace.onSession(session))
+                    .flatMap(ResultExtractor::extract)
+                    .doOnSuccess(unused -> trace.onExecuted())
+                    .then(Mono.just(YdbResult.DDL_RESULT))
+                    .flux()
+                    .doOnComplete(session::close)))
+                    .contextWrite(trace::contextWrite);
+        });
     }
 
     @Override
     public Mono<InsideTransactionState> beginTransaction(YdbTxSettings ydbTxSettings) {
         this.ydbTxSettings = ydbTxSettings.withAutoCommit(false);
 
-        return monoWithSession(session -> Mono.fromFuture(session.beginTransaction(
-                        ydbTxSettings.getMode(),
-                        withDeadlineTimeout(new BeginTxSettings())))
-                .map(Result::getValue)
-                .map(transaction ->
-                        new InsideTransactionState(ydbContext,
-                                transaction.getId(),
-                                session,
-                                ydbTxSettings,
-                                statementTimeout))
-        );
+        return Tracing.trace(tracer(), Tracing.TRANSACTION_BEGIN, span -> {
+            span.setAttribute(Tracing.TX_MODE, Tracing.txMode(ydbTxSettings));
+
+            return monoWithSession(session -> Mono.fromFuture(session.beginTransaction(
+                            ydbTxSettings.getMode(),
+                            withDeadlineTimeout(new BeginTxSettings())))
+                    .map(Result::getValue)
+                    .doOnNext(transaction -> span.setAttribute(Tracing.TX_ID, transaction.getId()))
+                    .map(transaction ->
+                            new InsideTransactionState(ydbContext,
+                                    transaction.getId(),
+                                    session,
+                                    ydbTxSettings,
+                                    statementTimeout))
+            );
+        });
     }
 
     @Override
@@ -175,8 +260,7 @@ public class OutsideTransactionState extends AbstractConnectionState implements
      * @return result function {@link Flux}
      */
     private <T> Flux<T> fluxWithSession(Function<Session, Flux<T>> function) {
-        return Flux.defer(() -> Mono.fromFuture(ydbContext.getSession())
-                .flatMap(sessionResult -> ResultExtractor.extract(sessionResult, "Error creating session"))
+        return Flux.defer(() -> acquireSession()
                 .flatMapMany(session -> {
                     try {
                         return function.apply(session)
@@ -189,6 +273,13 @@ public class OutsideTransactionState extends AbstractConnectionState implements
                 }).as(FluxDiscardOnCancel::new));
     }
 
+    private Mono<Session> acquireSession() {
+        return Tracing.trace(tracer(), Tracing.SESSION_ACQUIRE, span ->
+                Mono.fromFuture(ydbContext.getSession())
+                        .flatMap(sessionResult -> ResultExtractor.extract(sessionResult, "Error creating session"))
+                        .doOnNext(session -> span.setAttribute(Tracing.SESSION_ID, session.getId())));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -23,6 +23,8 @@ import io.r2dbc.spi.IsolationLevel;
 import io.r2dbc.spi.ValidationDepth;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
 import tech.ydb.io.r2dbc.settings.YdbTxSettings;
 import tech.ydb.io.r2dbc.query.OperationType;
 import tech.ydb.io.r2dbc.result.YdbResult;
@@ -42,7 +44,23 @@ public interface YdbConnectionState {
      * @param operationTypes types of queries within a single yql query
      * @return the result of the yql query is wrapped in the NextStateResult with the next state
      */
-    Mono<NextStateResult<Flux<YdbResult>>> executeDataQuery(String yql, Params params, List<OperationType> operationTypes);
+    default Mono<NextStateResult<Flux<YdbResult>>> executeDataQuery(String yql, Params params,
+                                                                    List<OperationType> operationTypes) {
+        return executeDataQuery(yql, params, operationTypes, null);
+    }
+
+    /**
+     * Execute a data query to YDB, returns the result and the next connection state.
+     *
+     * @param yql built a query with the specified types of parameters
+     * @param params query parameters
+     * @param operationTypes types of queries within a single yql query
+     * @param statsMode level of collected query statistics, or {@code null} to use the configured one
+     * @return the result of the yql query is wrapped in the NextStateResult with the next state
+     */
+    Mono<NextStateResult<Flux<YdbResult>>> executeDataQuery(String yql, Params params,
+                                                            List<OperationType> operationTypes,
+                                                            @Nullable YdbStatsMode statsMode);
 
     /**
      * Execute a schema query to YDB, returns the result.
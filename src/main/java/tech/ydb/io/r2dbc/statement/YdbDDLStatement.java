@@ -21,6 +21,8 @@ import tech.ydb.io.r2dbc.query.YdbQuery;
 import tech.ydb.io.r2dbc.result.YdbResult;
 import tech.ydb.io.r2dbc.YdbConnection;
 import tech.ydb.io.r2dbc.statement.binding.Binding;
+import tech.ydb.io.r2dbc.statement.binding.Bindings;
+import tech.ydb.io.r2dbc.statement.binding.ParameterSlots;
 
 /**
  * @author Egor Kuleshov
@@ -29,7 +31,7 @@ public class YdbDDLStatement extends YdbStatement {
     private static final String NOT_SUPPORTED_MESSAGE = "Operation not supported for YdbDDLStatement";
 
     public YdbDDLStatement(YdbQuery query, YdbConnection connection) {
-        super(query, connection);
+        super(query, connection, new Bindings(ParameterSlots.empty()));
     }
 
     @Override
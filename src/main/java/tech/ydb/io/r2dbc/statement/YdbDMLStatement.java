@@ -17,16 +17,31 @@
 package tech.ydb.io.r2dbc.statement;
 
 import reactor.core.publisher.Flux;
+import tech.ydb.io.r2dbc.codec.Codecs;
 import tech.ydb.io.r2dbc.query.YdbQuery;
 import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.statistics.StatementStatistics;
 import tech.ydb.io.r2dbc.YdbConnection;
+import tech.ydb.io.r2dbc.statement.binding.Bindings;
 
 /**
  * @author Egor Kuleshov
  */
 public class YdbDMLStatement extends YdbStatement {
+    private final StatementStatistics statementStatistics;
+
     public YdbDMLStatement(YdbQuery query, YdbConnection connection) {
-        super(query, connection);
+        this(query, connection, Codecs.EMPTY);
+    }
+
+    public YdbDMLStatement(YdbQuery query, YdbConnection connection, Codecs codecs) {
+        this(query, connection, codecs, StatementStatistics.DISABLED);
+    }
+
+    public YdbDMLStatement(YdbQuery query, YdbConnection connection, Codecs codecs,
+                           StatementStatistics statementStatistics) {
+        super(query, connection, new Bindings(query.getParameterSlots(), codecs));
+        this.statementStatistics = statementStatistics;
     }
 
     @Override
@@ -35,11 +50,12 @@ public class YdbDMLStatement extends YdbStatement {
 
         String yql = query.getYqlQuery(bindings.getCurrent());
         return Flux.fromIterable(bindings)
-                .concatMap(binding -> connection.executeDataQuery(
+                .concatMap(binding -> statementStatistics.record(query, connection.executeDataQuery(
                                 yql,
                                 binding.toParams(),
-                                query.getOperationTypes()
-                        )
+                                query.getOperationTypes(),
+                                statsMode
+                        ))
                 );
     }
 }
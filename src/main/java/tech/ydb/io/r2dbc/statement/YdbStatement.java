@@ -18,8 +18,10 @@ package tech.ydb.io.r2dbc.statement;
 
 import io.r2dbc.spi.Statement;
 import reactor.core.publisher.Flux;
+import reactor.util.annotation.Nullable;
 import tech.ydb.io.r2dbc.YdbConnection;
 import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
 import tech.ydb.io.r2dbc.statement.binding.Bindings;
 import tech.ydb.io.r2dbc.query.YdbQuery;
 
@@ -31,10 +33,16 @@ public abstract class YdbStatement implements Statement {
     protected final YdbConnection connection;
 
     protected final Bindings bindings;
+    @Nullable
+    protected YdbStatsMode statsMode;
 
     public YdbStatement(YdbQuery query, YdbConnection connection) {
+        this(query, connection, new Bindings(query.getParameterSlots()));
+    }
+
+    protected YdbStatement(YdbQuery query, YdbConnection connection, Bindings bindings) {
         this.query = query;
-        this.bindings = new Bindings(query.getIndexArgNames());
+        this.bindings = bindings;
         this.connection = connection;
     }
 
@@ -73,6 +81,19 @@ public abstract class YdbStatement implements Statement {
         return this;
     }
 
+    /**
+     * Configures the level of query statistics collected by this statement, overriding the mode of the connection.
+     * Statistics are available through {@link YdbResult#getStats()}.
+     *
+     * @param statsMode level of collected query statistics
+     * @return this {@link YdbStatement}
+     */
+    public YdbStatement statsMode(YdbStatsMode statsMode) {
+        this.statsMode = statsMode;
+
+        return this;
+    }
+
     @Override
     public abstract Flux<YdbResult> execute();
 
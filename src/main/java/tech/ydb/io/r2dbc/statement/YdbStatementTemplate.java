@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.statement;
+
+import java.util.List;
+
+import reactor.core.publisher.Flux;
+import tech.ydb.io.r2dbc.YdbConnection;
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.query.QueryType;
+import tech.ydb.io.r2dbc.query.YdbQuery;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.statement.binding.Binding;
+import tech.ydb.io.r2dbc.statistics.StatementStatistics;
+import tech.ydb.table.values.Type;
+
+/**
+ * Immutable and thread-safe template of a DML statement. The query is parsed once, and the text with declarations
+ * is reused while parameters are bound with the same types, so an execution pays only for value encoding and RPC.
+ *
+ * @author Egor Kuleshov
+ */
+public final class YdbStatementTemplate {
+    private final YdbQuery query;
+    private final List<OperationType> operationTypes;
+    private final Codecs codecs;
+    private final StatementStatistics statementStatistics;
+    private volatile Declaration declaration;
+
+    public YdbStatementTemplate(YdbQuery query) {
+        this(query, Codecs.EMPTY, StatementStatistics.DISABLED);
+    }
+
+    public YdbStatementTemplate(YdbQuery query, Codecs codecs, StatementStatistics statementStatistics) {
+        if (query.type() != QueryType.DML) {
+            throw new IllegalArgumentException("Statement template supports only DML queries");
+        }
+
+        this.query = query;
+        this.operationTypes = query.getOperationTypes();
+        this.codecs = codecs;
+        this.statementStatistics = statementStatistics;
+    }
+
+    /**
+     * Bind parameters by their positions.
+     *
+     * @param args values of all parameters of the query, in the order of {@link YdbQuery#getIndexArgNames()}
+     * @return bound statement ready to execute
+     */
+    public Bound bind(Object... args) {
+        Binding binding = new Binding(query.getParameterSlots(), codecs);
+        if (args.length != binding.size()) {
+            throw new IllegalArgumentException(String.format("Expected %s parameters, but found %s",
+                    binding.size(), args.length));
+        }
+
+        for (int index = 0; index < args.length; index++) {
+            if (args[index] == null) {
+                throw new IllegalArgumentException("Parameter " + binding.getName(index)
+                        + " is null, bind io.r2dbc.spi.Parameter with a type instead");
+            }
+            binding.bind(index, args[index]);
+        }
+
+        return new Bound(binding);
+    }
+
+    private String yql(Binding binding) {
+        Declaration current = declaration;
+        if (current != null && current.matches(binding)) {
+            return current.yql;
+        }
+
+        current = new Declaration(binding, query.getYqlQuery(binding));
+        declaration = current;
+
+        return current.yql;
+    }
+
+    @Override
+    public String toString() {
+        return query.toString();
+    }
+
+    /**
+     * Statement of the template with bound parameters.
+     */
+    public final class Bound {
+        private final Binding binding;
+
+        private Bound(Binding binding) {
+            this.binding = binding;
+        }
+
+        public Flux<YdbResult> execute(YdbConnection connection) {
+            return statementStatistics.record(query,
+                    connection.executeDataQuery(yql(binding), binding.toParams(), operationTypes));
+        }
+    }
+
+    /**
+     * Query text with declarations for the specific types of parameters.
+     */
+    private static final class Declaration {
+        private final Type[] types;
+        private final String yql;
+
+        private Declaration(Binding binding, String yql) {
+            this.types = new Type[binding.size()];
+            for (int index = 0; index < types.length; index++) {
+                types[index] = binding.getValue(index).getType();
+            }
+            this.yql = yql;
+        }
+
+        private boolean matches(Binding binding) {
+            for (int index = 0; index < types.length; index++) {
+                if (!types[index].equals(binding.getValue(index).getType())) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
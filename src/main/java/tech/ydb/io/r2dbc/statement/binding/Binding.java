@@ -16,79 +16,138 @@
 
 package tech.ydb.io.r2dbc.statement.binding;
 
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.StringJoiner;
 
+import tech.ydb.io.r2dbc.codec.Codecs;
 import tech.ydb.io.r2dbc.parameter.YdbParameterResolver;
 import tech.ydb.table.query.Params;
 import tech.ydb.table.values.Value;
 
 /**
+ * Values of query parameters stored by their positions in {@link ParameterSlots}.
+ *
  * @author Egor Kuleshov
  */
 public class Binding {
-    private final Map<String, Value<?>> nameToValue = new HashMap<>();
-    private final Set<String> unbounded;
-    private final List<String> indexedNames;
+    private final ParameterSlots slots;
+    private final Codecs codecs;
+    private final Value<?>[] values;
+    private final BitSet unbounded;
+    private int boundedCount;
+
+    public Binding(ParameterSlots slots) {
+        this(slots, Codecs.EMPTY);
+    }
+
+    public Binding(ParameterSlots slots, Codecs codecs) {
+        this.slots = slots;
+        this.codecs = codecs;
+        this.values = new Value<?>[slots.size()];
+        this.unbounded = new BitSet(slots.size());
+        this.unbounded.set(0, slots.size());
+    }
 
     public Binding(List<String> indexedNames) {
-        this.unbounded = new HashSet<>(indexedNames);
-        this.indexedNames = indexedNames;
+        this(new ParameterSlots(indexedNames));
     }
 
     public void bind(int index, Object obj) {
-        bind(getNameByIndex(index), obj);
+        put(checkIndex(index), YdbParameterResolver.resolve(obj, codecs));
     }
 
     public void bind(String name, Object obj) {
-        put(name, YdbParameterResolver.resolve(obj));
+        put(getIndexByName(name), YdbParameterResolver.resolve(obj, codecs));
     }
 
     public void bindNull(int index, Class<?> clazz) {
-        bindNull(getNameByIndex(index), clazz);
+        put(checkIndex(index), YdbParameterResolver.resolveEmptyValue(clazz));
     }
 
     public void bindNull(String name, Class<?> clazz) {
-        put(name, YdbParameterResolver.resolveEmptyValue(clazz));
+        put(getIndexByName(name), YdbParameterResolver.resolveEmptyValue(clazz));
     }
 
     public void validate() {
         if (!unbounded.isEmpty()) {
-            throw new IllegalArgumentException(
-                    String.format("Parameters %s not bounded", String.join(", ", unbounded)));
+            StringJoiner names = new StringJoiner(", ");
+            unbounded.stream().forEach(index -> names.add(slots.getName(index)));
+            throw new IllegalArgumentException(String.format("Parameters %s not bounded", names));
         }
     }
 
     public Map<String, Value<?>> values() {
+        Map<String, Value<?>> nameToValue = new LinkedHashMap<>(values.length * 2);
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != null) {
+                nameToValue.put(slots.getName(index), values[index]);
+            }
+        }
+
         return nameToValue;
     }
 
-    private void put(String name, Value<?> value) {
-        if (!nameToValue.containsKey(name) && !unbounded.contains(name)) {
+    public int size() {
+        return values.length;
+    }
+
+    public String getName(int index) {
+        return slots.getName(index);
+    }
+
+    /**
+     * @param index parameter position
+     * @return bound value or {@code null} if the parameter is not bound
+     */
+    public Value<?> getValue(int index) {
+        return values[index];
+    }
+
+    private void put(int index, Value<?> value) {
+        if (values[index] == null) {
+            boundedCount++;
+        }
+        values[index] = value;
+        unbounded.clear(index);
+    }
+
+    private int getIndexByName(String name) {
+        int index = slots.indexOf(name);
+        if (index < 0) {
             throw new IllegalArgumentException(String.format("Parameter %s not existed", name));
         }
 
-        nameToValue.put(name, value);
-        unbounded.remove(name);
+        return index;
     }
 
-    private String getNameByIndex(int index) {
-        if (0 > index || index >= indexedNames.size()) {
+    private int checkIndex(int index) {
+        if (0 > index || index >= values.length) {
             throw new IllegalArgumentException(String.format("Expected index between 0 and %s, but found %s",
-                    indexedNames.size() - 1, index));
+                    values.length - 1, index));
         }
 
-        return indexedNames.get(index);
+        return index;
     }
 
     public Params toParams() {
-        return Params.copyOf(nameToValue);
+        if (boundedCount == 0) {
+            return Params.empty();
+        }
+
+        Params params = Params.create(boundedCount);
+        for (int index = 0; index < values.length; index++) {
+            if (values[index] != null) {
+                params.put(slots.getName(index), values[index]);
+            }
+        }
+
+        return params;
     }
 
     public static Binding empty() {
-        return new Binding(List.of());
+        return new Binding(ParameterSlots.empty());
     }
 }
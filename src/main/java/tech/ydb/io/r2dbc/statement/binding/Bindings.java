@@ -19,18 +19,25 @@ package tech.ydb.io.r2dbc.statement.binding;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import java.util.Iterator;
-import java.util.List;
+
+import tech.ydb.io.r2dbc.codec.Codecs;
 
 /**
  * @author Egor Kuleshov
  */
 public class Bindings implements Iterable<Binding> {
     private final Deque<Binding> bindings = new ArrayDeque<>();
-    private final List<String> indexedParamNames;
+    private final ParameterSlots slots;
+    private final Codecs codecs;
+
+    public Bindings(ParameterSlots slots) {
+        this(slots, Codecs.EMPTY);
+    }
 
-    public Bindings(List<String> indexedParamNames) {
-        this.indexedParamNames = indexedParamNames;
-        bindings.add(new Binding(indexedParamNames));
+    public Bindings(ParameterSlots slots, Codecs codecs) {
+        this.slots = slots;
+        this.codecs = codecs;
+        bindings.add(new Binding(slots, codecs));
     }
 
     public Binding getCurrent() {
@@ -39,7 +46,7 @@ public class Bindings implements Iterable<Binding> {
 
     public void add() {
         getCurrent().validate();
-        bindings.add(new Binding(indexedParamNames));
+        bindings.add(new Binding(slots, codecs));
     }
 
     @Override
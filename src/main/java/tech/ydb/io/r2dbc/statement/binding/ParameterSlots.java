@@ -0,0 +1,63 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.statement.binding;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Positions of query parameters. Computed once per parsed query and shared by all its bindings.
+ *
+ * @author Egor Kuleshov
+ */
+public final class ParameterSlots {
+    private static final ParameterSlots EMPTY = new ParameterSlots(List.of());
+
+    private final String[] names;
+    private final Map<String, Integer> nameToIndex;
+
+    public ParameterSlots(List<String> names) {
+        this.names = names.toArray(new String[0]);
+        this.nameToIndex = new HashMap<>(names.size() * 2);
+        for (int index = 0; index < this.names.length; index++) {
+            nameToIndex.put(this.names[index], index);
+        }
+    }
+
+    public static ParameterSlots empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return names.length;
+    }
+
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * @param name parameter name
+     * @return position of the parameter or {@code -1} if the query has no such parameter
+     */
+    public int indexOf(String name) {
+        Integer index = nameToIndex.get(name);
+
+        return index == null ? -1 : index;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.statistics;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import tech.ydb.core.StatusCode;
+import tech.ydb.io.r2dbc.query.YdbQuery;
+
+/**
+ * Lock-free counters of one statement.
+ *
+ * @author Egor Kuleshov
+ */
+final class StatementCounters {
+    private static final StatusCode[] STATUS_CODES = StatusCode.values();
+
+    private final YdbQuery query;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final AtomicLongArray errors = new AtomicLongArray(STATUS_CODES.length);
+
+    StatementCounters(YdbQuery query) {
+        this.query = query;
+    }
+
+    void recordSuccess(long nanos, long rowCount) {
+        record(nanos);
+        rows.add(rowCount);
+    }
+
+    void recordError(long nanos, StatusCode statusCode) {
+        record(nanos);
+        errors.incrementAndGet(statusCode.ordinal());
+    }
+
+    void recordCancel(long nanos, long rowCount) {
+        record(nanos);
+        rows.add(rowCount);
+        cancelled.increment();
+    }
+
+    private void record(long nanos) {
+        calls.increment();
+        totalNanos.add(nanos);
+        latency.record(nanos);
+    }
+
+    StatementStats snapshot() {
+        long callCount = calls.sum();
+        long total = totalNanos.sum();
+        long[] percentiles = latency.getPercentiles(50, 95, 99);
+
+        Map<StatusCode, Long> errorsByStatus = new EnumMap<>(StatusCode.class);
+        long errorCount = 0;
+        for (int index = 0; index < STATUS_CODES.length; index++) {
+            long count = errors.get(index);
+            if (count > 0) {
+                errorsByStatus.put(STATUS_CODES[index], count);
+                errorCount += count;
+            }
+        }
+
+        return new StatementStats(
+                query,
+                callCount,
+                rows.sum(),
+                errorCount,
+                cancelled.sum(),
+                Duration.ofNanos(total),
+                Duration.ofNanos(callCount == 0 ? 0 : total / callCount),
+                Duration.ofNanos(percentiles[0]),
+                Duration.ofNanos(percentiles[1]),
+                Duration.ofNanos(percentiles[2]),
+                Duration.ofNanos(latency.getMax()),
+                Map.copyOf(errorsByStatus)
+        );
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.statistics;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import reactor.core.publisher.Flux;
+import reactor.util.annotation.Nullable;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.io.r2dbc.query.YdbQuery;
+import tech.ydb.io.r2dbc.result.YdbResult;
+
+/**
+ * Client-side statistics of executed statements, similar to {@code pg_stat_statements}. Statements are keyed by
+ * {@link YdbQuery}, so executions with different parameters are counted together. Recording is lock-free.
+ *
+ * <p>At most {@code maxSize} statements are tracked, executions of other statements are not recorded.
+ *
+ * @author Egor Kuleshov
+ */
+public final class StatementStatistics {
+    public static final StatementStatistics DISABLED = new StatementStatistics(0);
+
+    private static final Comparator<StatementStats> BY_TOTAL_TIME =
+            Comparator.comparing(StatementStats::totalTime).reversed();
+
+    private final int maxSize;
+    private final ConcurrentHashMap<YdbQuery, StatementCounters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * @param maxSize maximum number of tracked statements, {@code 0} disables statistics
+     */
+    public StatementStatistics(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("Statement statistics size must be non-negative, but found "
+                    + maxSize);
+        }
+
+        this.maxSize = maxSize;
+    }
+
+    public boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Records time from subscription to completion, failure or cancellation of the results, number of returned
+     * rows and an error.
+     *
+     * @param query executed statement
+     * @param results results of the execution
+     * @return results, which record statistics when complete
+     */
+    public Flux<YdbResult> record(YdbQuery query, Flux<YdbResult> results) {
+        if (!isEnabled()) {
+            return results;
+        }
+
+        return Flux.defer(() -> {
+            long startNanos = System.nanoTime();
+            long[] rows = new long[1];
+            Throwable[] error = new Throwable[1];
+
+            return results
+                    .doOnNext(result -> rows[0] += Math.max(0, result.getRowCount()))
+                    .doOnError(throwable -> error[0] = throwable)
+                    .doFinally(signalType -> {
+                        StatementCounters statementCounters = getCounters(query);
+                        if (statementCounters == null) {
+                            return;
+                        }
+
+                        long nanos = System.nanoTime() - startNanos;
+                        switch (signalType) {
+                            case ON_ERROR -> statementCounters.recordError(nanos, statusCode(error[0]));
+                            case CANCEL -> statementCounters.recordCancel(nanos, rows[0]);
+                            default -> statementCounters.recordSuccess(nanos, rows[0]);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * @param limit maximum number of statements
+     * @return statistics of statements with the largest total execution time
+     */
+    public List<StatementStats> snapshot(int limit) {
+        return snapshot(limit, BY_TOTAL_TIME);
+    }
+
+    /**
+     * @param limit maximum number of statements
+     * @param order order of statements
+     * @return statistics of the first statements in the order
+     */
+    public List<StatementStats> snapshot(int limit, Comparator<StatementStats> order) {
+        return counters.values().stream()
+                .map(StatementCounters::snapshot)
+                .sorted(order)
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    @Nullable
+    private StatementCounters getCounters(YdbQuery query) {
+        StatementCounters statementCounters = counters.get(query);
+        if (statementCounters != null || counters.size() >= maxSize) {
+            return statementCounters;
+        }
+
+        return counters.computeIfAbsent(query, StatementCounters::new);
+    }
+
+    private static StatusCode statusCode(Throwable throwable) {
+        if (throwable instanceof UnexpectedResultException exception) {
+            return exception.getStatus().getCode();
+        }
+
+        return StatusCode.CLIENT_INTERNAL_ERROR;
+    }
+}
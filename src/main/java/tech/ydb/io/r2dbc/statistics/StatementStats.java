@@ -0,0 +1,55 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.statistics;
+
+import java.time.Duration;
+import java.util.Map;
+
+import tech.ydb.core.StatusCode;
+import tech.ydb.io.r2dbc.query.YdbQuery;
+
+/**
+ * Snapshot of statistics of one statement. Percentiles are approximate, with a relative error of at most 12.5%.
+ *
+ * @param query          statement
+ * @param calls          number of executions, including failed and cancelled ones
+ * @param rows           number of rows returned by the statement
+ * @param errors         number of failed executions
+ * @param cancelled      number of executions, which results were cancelled by the subscriber
+ * @param totalTime      total execution time
+ * @param meanTime       mean execution time
+ * @param p50Time        median execution time
+ * @param p95Time        95th percentile of execution time
+ * @param p99Time        99th percentile of execution time
+ * @param maxTime        maximum execution time
+ * @param errorsByStatus number of failed executions by status code, non-YDB errors are counted as
+ *                       {@link StatusCode#CLIENT_INTERNAL_ERROR}
+ * @author Egor Kuleshov
+ */
+public record StatementStats(YdbQuery query,
+                             long calls,
+                             long rows,
+                             long errors,
+                             long cancelled,
+                             Duration totalTime,
+                             Duration meanTime,
+                             Duration p50Time,
+                             Duration p95Time,
+                             Duration p99Time,
+                             Duration maxTime,
+                             Map<StatusCode, Long> errorsByStatus) {
+}
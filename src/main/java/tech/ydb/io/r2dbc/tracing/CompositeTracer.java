@@ -0,0 +1,72 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.tracing;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Passes the spans of the driver to two tracers. Each tracer sees its own span as the parent.
+ *
+ * @author Egor Kuleshov
+ */
+final class CompositeTracer implements YdbTracer {
+    private final YdbTracer first;
+    private final YdbTracer second;
+
+    CompositeTracer(YdbTracer first, YdbTracer second) {
+        this.first = first;
+        this.second = second;
+    }
+
+    @Override
+    public YdbSpan startSpan(String name, ContextView context) {
+        if (context.getOrDefault(YdbSpan.CONTEXT_KEY, null) instanceof CompositeSpan parent) {
+            return new CompositeSpan(
+                    first.startSpan(name, Context.of(context).put(YdbSpan.CONTEXT_KEY, parent.first)),
+                    second.startSpan(name, Context.of(context).put(YdbSpan.CONTEXT_KEY, parent.second)));
+        }
+
+        return new CompositeSpan(first.startSpan(name, context), second.startSpan(name, context));
+    }
+
+    private record CompositeSpan(YdbSpan first, YdbSpan second) implements YdbSpan {
+        @Override
+        public void setAttribute(String key, String value) {
+            first.setAttribute(key, value);
+            second.setAttribute(key, value);
+        }
+
+        @Override
+        public void setAttribute(String key, long value) {
+            first.setAttribute(key, value);
+            second.setAttribute(key, value);
+        }
+
+        @Override
+        public void recordError(Throwable throwable) {
+            first.recordError(throwable);
+            second.recordError(throwable);
+        }
+
+        @Override
+        public void end() {
+            first.end();
+            second.end();
+        }
+    }
+}
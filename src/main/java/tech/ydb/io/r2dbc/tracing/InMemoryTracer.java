@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import reactor.util.annotation.Nullable;
+import reactor.util.context.ContextView;
+
+/**
+ * Tracer, which keeps finished spans in memory, for example, to check the spans in tests.
+ * A span started by this tracer and put into the context under {@link YdbSpan#CONTEXT_KEY} becomes the parent of
+ * the driver spans.
+ *
+ * @author Egor Kuleshov
+ */
+public final class InMemoryTracer implements YdbTracer {
+    private final AtomicLong ids = new AtomicLong();
+    private final Queue<FinishedSpan> finishedSpans = new ConcurrentLinkedQueue<>();
+
+    @Override
+    public YdbSpan startSpan(String name, ContextView context) {
+        long parentId = context.getOrDefault(YdbSpan.CONTEXT_KEY, null) instanceof Span parent ? parent.id : 0;
+
+        return new Span(ids.incrementAndGet(), parentId, name);
+    }
+
+    /**
+     * @return finished spans in the order of their end
+     */
+    public List<FinishedSpan> getFinishedSpans() {
+        return new ArrayList<>(finishedSpans);
+    }
+
+    public void reset() {
+        finishedSpans.clear();
+    }
+
+    /**
+     * Finished span, times are in nanoseconds.
+     *
+     * @param id identifier of the span
+     * @param parentId identifier of the parent span, or {@code 0} for a root span
+     * @param name name of the span
+     * @param attributes attributes of the span
+     * @param error error of the operation
+     * @param startNanos start of the span
+     * @param endNanos end of the span
+     */
+    public record FinishedSpan(long id,
+                               long parentId,
+                               String name,
+                               Map<String, Object> attributes,
+                               @Nullable Throwable error,
+                               long startNanos,
+                               long endNanos) {
+        public long durationNanos() {
+            return endNanos - startNanos;
+        }
+    }
+
+    private final class Span implements YdbSpan {
+        private final long id;
+        private final long parentId;
+        private final String name;
+        private final long startNanos = System.nanoTime();
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+        private final AtomicBoolean ended = new AtomicBoolean();
+        private volatile Throwable error;
+
+        Span(long id, long parentId, String name) {
+            this.id = id;
+            this.parentId = parentId;
+            this.name = name;
+        }
+
+        @Override
+        public void setAttribute(String key, String value) {
+            attributes.put(key, value);
+        }
+
+        @Override
+        public void setAttribute(String key, long value) {
+            attributes.put(key, value);
+        }
+
+        @Override
+        public void recordError(Throwable throwable) {
+            error = throwable;
+        }
+
+        @Override
+        public void end() {
+            if (ended.compareAndSet(false, true)) {
+                finishedSpans.add(new FinishedSpan(id, parentId, name, Map.copyOf(attributes), error, startNanos,
+                        System.nanoTime()));
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.tracing;
+
+import java.util.List;
+import java.util.StringJoiner;
+
+import reactor.core.publisher.Flux;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+import tech.ydb.core.StatusCode;
+import tech.ydb.io.r2dbc.logging.QueryTrace;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.table.Session;
+
+/**
+ * Trace of a query execution, which creates the {@link Tracing#QUERY} or {@link Tracing#SCHEME_QUERY} span with child spans of the execution on
+ * the server and of streaming the results. Sessions acquired for the query are traced within the query span.
+ * The spans end when the rows of the streamed results are consumed.
+ *
+ * @author Egor Kuleshov
+ */
+final class TracedQuery extends QueryTrace {
+    private final YdbTracer tracer;
+    private final YdbSpan querySpan;
+    private final Context context;
+
+    private volatile YdbSpan executeSpan = YdbSpan.NOOP;
+    private volatile YdbSpan resultsSpan = YdbSpan.NOOP;
+
+    TracedQuery(YdbTracer tracer, ContextView context, String yql, List<OperationType> operationTypes,
+                YdbTxSettings txSettings, @Nullable String txId) {
+        this.tracer = tracer;
+        this.querySpan = tracer.startSpan(operationTypes.contains(OperationType.SCHEME)
+                ? Tracing.SCHEME_QUERY
+                : Tracing.QUERY, context);
+        this.context = Context.of(context).put(YdbSpan.CONTEXT_KEY, querySpan);
+
+        StringJoiner types = new StringJoiner(",");
+        for (OperationType operationType : operationTypes) {
+            types.add(operationType.name());
+        }
+        querySpan.setAttribute(Tracing.QUERY_FINGERPRINT, Tracing.fingerprint(yql));
+        querySpan.setAttribute(Tracing.OPERATION_TYPES, types.toString());
+        querySpan.setAttribute(Tracing.TX_MODE, Tracing.txMode(txSettings));
+        if (txId != null) {
+            querySpan.setAttribute(Tracing.TX_ID, txId);
+        }
+    }
+
+    @Override
+    public void onSession(Session session) {
+        querySpan.setAttribute(Tracing.SESSION_ID, session.getId());
+        executeSpan = tracer.startSpan(Tracing.QUERY_EXECUTE, context);
+    }
+
+    @Override
+    public void onExecuted() {
+        executeSpan.setAttribute(Tracing.STATUS_CODE, StatusCode.SUCCESS.name());
+        executeSpan.end();
+        resultsSpan = tracer.startSpan(Tracing.QUERY_RESULTS, context);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Tracing.recordError(executeSpan, throwable);
+        executeSpan.end();
+        Tracing.recordError(querySpan, throwable);
+        querySpan.end();
+    }
+
+    @Override
+    public Flux<YdbResult> onResults(Flux<YdbResult> results) {
+        long[] rows = new long[1];
+
+        return YdbResult.doOnConsumed(results
+                        .doOnNext(result -> rows[0] = rows[0] < 0 || result.getRowCount() < 0
+                                ? -1
+                                : rows[0] + result.getRowCount())
+                        .doOnComplete(() -> {
+                            resultsSpan.setAttribute(Tracing.STATUS_CODE, StatusCode.SUCCESS.name());
+                            querySpan.setAttribute(Tracing.STATUS_CODE, StatusCode.SUCCESS.name());
+                        })
+                        .doOnError(throwable -> {
+                            Tracing.recordError(resultsSpan, throwable);
+                            Tracing.recordError(querySpan, throwable);
+                        }),
+                YdbResult::isStreamed,
+                () -> finish(rows[0]));
+    }
+
+    private void finish(long rows) {
+        resultsSpan.setAttribute(Tracing.ROWS, rows);
+        querySpan.setAttribute(Tracing.ROWS, rows);
+        resultsSpan.end();
+        querySpan.end();
+    }
+
+    @Override
+    public Context contextWrite(Context context) {
+        return context.put(YdbSpan.CONTEXT_KEY, querySpan);
+    }
+}
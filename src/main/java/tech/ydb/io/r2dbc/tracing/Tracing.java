@@ -0,0 +1,158 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.tracing;
+
+import java.util.List;
+import java.util.function.Function;
+
+import reactor.core.publisher.Mono;
+import reactor.util.annotation.Nullable;
+import reactor.util.context.ContextView;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.io.r2dbc.logging.QueryTrace;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+
+/**
+ * Names and attributes of the driver spans and helpers to trace operations with {@link YdbTracer}.
+ *
+ * @author Egor Kuleshov
+ */
+public final class Tracing {
+    public static final String SESSION_ACQUIRE = "ydb.session.acquire";
+    /**
+     * Whole query execution: acquiring a session, executing the query and streaming its results.
+     */
+    public static final String QUERY = "ydb.query";
+    /**
+     * Whole scheme query execution, which has the same phases as {@link #QUERY}.
+     */
+    public static final String SCHEME_QUERY = "ydb.scheme_query";
+    public static final String QUERY_EXECUTE = "ydb.query.execute";
+    public static final String QUERY_RESULTS = "ydb.query.results";
+    public static final String TRANSACTION_BEGIN = "ydb.transaction.begin";
+    public static final String TRANSACTION_COMMIT = "ydb.transaction.commit";
+    public static final String TRANSACTION_ROLLBACK = "ydb.transaction.rollback";
+
+    public static final String QUERY_FINGERPRINT = "ydb.query_fingerprint";
+    public static final String OPERATION_TYPES = "ydb.operation_types";
+    public static final String TX_MODE = "ydb.tx_mode";
+    public static final String TX_ID = "ydb.tx_id";
+    public static final String SESSION_ID = "ydb.session_id";
+    public static final String STATUS_CODE = "ydb.status_code";
+    public static final String ROWS = "ydb.rows";
+
+    private Tracing() {
+    }
+
+    /**
+     * Traces the operation with a span, which ends when the operation completes, fails or is cancelled,
+     * before the result is passed downstream.
+     * The span is the parent of the spans started by the operation.
+     *
+     * @param tracer tracer
+     * @param name name of the span
+     * @param operation operation, which may add attributes to the span
+     * @param <T> result of the operation
+     * @return traced operation
+     */
+    public static <T> Mono<T> trace(YdbTracer tracer, String name, Function<YdbSpan, Mono<T>> operation) {
+        if (tracer == YdbTracer.NOOP) {
+            return operation.apply(YdbSpan.NOOP);
+        }
+
+        return Mono.deferContextual(context -> {
+            YdbSpan span = tracer.startSpan(name, context);
+            Mono<T> mono;
+            try {
+                mono = operation.apply(span);
+            } catch (Throwable throwable) {
+                mono = Mono.error(throwable);
+            }
+
+            return mono
+                    .doOnSuccess(unused -> {
+                        span.setAttribute(STATUS_CODE, StatusCode.SUCCESS.name());
+                        span.end();
+                    })
+                    .doOnError(throwable -> {
+                        recordError(span, throwable);
+                        span.end();
+                    })
+                    .doOnCancel(span::end)
+                    .contextWrite(innerContext -> innerContext.put(YdbSpan.CONTEXT_KEY, span));
+        });
+    }
+
+    /**
+     * Starts a trace of a query execution, which creates a span for each of its phases.
+     *
+     * @param tracer tracer
+     * @param context Reactor context of the subscriber of the execution
+     * @param yql query text
+     * @param operationTypes types of operations within the query
+     * @param txSettings transaction settings
+     * @param txId identifier of the open transaction, or {@code null} outside a transaction
+     * @return trace of the execution
+     */
+    public static QueryTrace startQuery(YdbTracer tracer, ContextView context, String yql,
+                                        List<OperationType> operationTypes, YdbTxSettings txSettings,
+                                        @Nullable String txId) {
+        if (tracer == YdbTracer.NOOP) {
+            return QueryTrace.NOOP;
+        }
+
+        return new TracedQuery(tracer, context, yql, operationTypes, txSettings, txId);
+    }
+
+    /**
+     * Fingerprint identifies the text of a query without exposing it. Runs of whitespace are ignored.
+     *
+     * @param yql query text
+     * @return hex string of 64-bit FNV-1a hash of the query text
+     */
+    public static String fingerprint(String yql) {
+        long hash = 0xcbf29ce484222325L;
+        boolean whitespace = false;
+        for (int index = 0; index < yql.length(); index++) {
+            char symbol = yql.charAt(index);
+            if (Character.isWhitespace(symbol)) {
+                whitespace = true;
+                continue;
+            }
+            if (whitespace) {
+                hash = (hash ^ ' ') * 0x100000001b3L;
+                whitespace = false;
+            }
+            hash = (hash ^ symbol) * 0x100000001b3L;
+        }
+
+        return String.format("%016x", hash);
+    }
+
+    public static String txMode(YdbTxSettings txSettings) {
+        return String.valueOf(txSettings.getMode());
+    }
+
+    static void recordError(YdbSpan span, Throwable throwable) {
+        span.setAttribute(STATUS_CODE, throwable instanceof UnexpectedResultException exception
+                ? exception.getStatus().getCode().name()
+                : StatusCode.CLIENT_INTERNAL_ERROR.name());
+        span.recordError(throwable);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.tracing;
+
+/**
+ * Span of a driver operation created by {@link YdbTracer}.
+ *
+ * @author Egor Kuleshov
+ */
+public interface YdbSpan {
+    /**
+     * Key of the current driver span in the Reactor {@link reactor.util.context.Context}.
+     * Spans started by the driver inside another driver span have it as the parent.
+     */
+    Object CONTEXT_KEY = YdbSpan.class;
+
+    YdbSpan NOOP = new YdbSpan() {
+        @Override
+        public void setAttribute(String key, String value) {
+        }
+
+        @Override
+        public void setAttribute(String key, long value) {
+        }
+
+        @Override
+        public void recordError(Throwable throwable) {
+        }
+
+        @Override
+        public void end() {
+        }
+    };
+
+    void setAttribute(String key, String value);
+
+    void setAttribute(String key, long value);
+
+    /**
+     * @param throwable error of the operation
+     */
+    void recordError(Throwable throwable);
+
+    /**
+     * Finishes the span, subsequent calls are ignored.
+     */
+    void end();
+}
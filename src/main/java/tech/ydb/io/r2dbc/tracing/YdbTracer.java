@@ -0,0 +1,59 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.tracing;
+
+import reactor.util.context.ContextView;
+
+/**
+ * Creates spans for session acquisition, query execution, result streaming and transaction control,
+ * so the latency may be attributed to the driver or to the server.
+ * Implementations may bridge spans to a tracing library.
+ *
+ * @author Egor Kuleshov
+ */
+@FunctionalInterface
+public interface YdbTracer {
+    YdbTracer NOOP = (name, context) -> YdbSpan.NOOP;
+
+    /**
+     * Starts a span. Its parent is the driver span stored in the context under {@link YdbSpan#CONTEXT_KEY},
+     * otherwise an implementation may take the span of the application from the context.
+     *
+     * @param name name of the span, one of {@link Tracing} span names
+     * @param context Reactor context of the subscriber of the operation
+     * @return started span
+     */
+    YdbSpan startSpan(String name, ContextView context);
+
+    /**
+     * Combines tracers, so each of them receives the spans of the driver.
+     *
+     * @param first first tracer
+     * @param second second tracer
+     * @return combined tracer
+     */
+    static YdbTracer combine(YdbTracer first, YdbTracer second) {
+        if (first == NOOP) {
+            return second;
+        }
+        if (second == NOOP) {
+            return first;
+        }
+
+        return new CompositeTracer(first, second);
+    }
+}
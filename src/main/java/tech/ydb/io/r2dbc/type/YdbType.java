@@ -20,6 +20,7 @@ import io.r2dbc.spi.R2dbcType;
 import io.r2dbc.spi.Type;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
@@ -28,6 +29,7 @@ import java.time.ZonedDateTime;
 import java.util.UUID;
 import java.util.function.Function;
 
+import com.google.protobuf.ByteString;
 import tech.ydb.table.values.DecimalType;
 import tech.ydb.table.values.DecimalValue;
 import tech.ydb.table.values.PrimitiveType;
@@ -230,6 +232,78 @@ public enum YdbType implements Type {
         return valueGetter.apply(value);
     }
 
+    /**
+     * Returns the protobuf-backed bytes of a binary value without copying them.
+     *
+     * @param value value of {@link #BYTES} or {@link #YSON} type
+     * @return immutable bytes shared with the value
+     */
+    public ByteString getByteString(Value<?> value) {
+        return switch (this) {
+            case BYTES -> value.asData().getBytesAsByteString();
+            case YSON -> value.asData().getYsonBytes();
+            default -> throw new ClassCastException("Cannot read " + name() + " value as ByteString");
+        };
+    }
+
+    /**
+     * Returns a read-only view of a binary value without copying it.
+     *
+     * @param value value of {@link #BYTES} or {@link #YSON} type
+     * @return read-only {@link ByteBuffer} view over the value bytes
+     */
+    public ByteBuffer getByteBuffer(Value<?> value) {
+        return getByteString(value).asReadOnlyByteBuffer();
+    }
+
+    /**
+     * Returns the unscaled value of a decimal without {@link BigDecimal} allocation,
+     * e.g. {@code 12.34} of {@code Decimal(22, 9)} is {@code 12340000000}.
+     *
+     * @param value value of {@link #DECIMAL} type
+     * @return unscaled value
+     * @throws ArithmeticException if the value is not finite or does not fit into {@code long}
+     */
+    public long getUnscaledLong(Value<?> value) {
+        DecimalValue decimal = getFiniteDecimal(value);
+        if (decimal.getHigh() != decimal.getLow() >> 63) {
+            throw new ArithmeticException("Decimal value " + decimal + " does not fit into long");
+        }
+
+        return decimal.getLow();
+    }
+
+    /**
+     * @param value value of {@link #DECIMAL} type
+     * @return high 64 bits of the unscaled 128-bit value
+     * @throws ArithmeticException if the value is not finite
+     */
+    public long getUnscaledHigh(Value<?> value) {
+        return getFiniteDecimal(value).getHigh();
+    }
+
+    /**
+     * @param value value of {@link #DECIMAL} type
+     * @return low 64 bits of the unscaled 128-bit value
+     * @throws ArithmeticException if the value is not finite
+     */
+    public long getUnscaledLow(Value<?> value) {
+        return getFiniteDecimal(value).getLow();
+    }
+
+    private DecimalValue getFiniteDecimal(Value<?> value) {
+        if (this != DECIMAL) {
+            throw new ClassCastException("Cannot read " + name() + " value as unscaled decimal");
+        }
+
+        DecimalValue decimal = (DecimalValue) value;
+        if (decimal.isInf() || decimal.isNegativeInf() || decimal.isNan()) {
+            throw new ArithmeticException("Decimal value " + decimal + " is not finite");
+        }
+
+        return decimal;
+    }
+
     public static YdbType valueOf(R2dbcType r2dbcType) {
         return switch (r2dbcType) {
             case BOOLEAN -> BOOL;
@@ -18,21 +18,34 @@ package tech.ydb.io.r2dbc.util;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Semaphore;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import tech.ydb.core.Result;
 import tech.ydb.core.Status;
 import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.core.grpc.GrpcReadStream;
+import tech.ydb.io.r2dbc.codec.Codecs;
 import tech.ydb.io.r2dbc.query.OperationType;
 import tech.ydb.io.r2dbc.result.YdbResult;
 import tech.ydb.table.query.DataQueryResult;
+import tech.ydb.table.query.stats.QueryPhaseStats;
+import tech.ydb.table.query.stats.QueryStats;
+import tech.ydb.table.query.stats.TableAccessStats;
+import tech.ydb.table.result.ResultSetReader;
 
 /**
  * @author Kirill Kurdyukov
  */
 public class ResultExtractor {
 
+    /**
+     * Number of streamed result set parts buffered ahead of the demand of the subscriber.
+     */
+    public static final int STREAM_PREFETCH = 2;
+
     private ResultExtractor() {
     }
 
@@ -55,30 +68,137 @@ public class ResultExtractor {
     public static Flux<YdbResult> extract(Result<DataQueryResult> dataQueryResultResult,
                                           List<OperationType> operationTypes,
                                           boolean failOnTruncated
+    ) {
+        return extract(dataQueryResultResult, operationTypes, failOnTruncated, false, Codecs.EMPTY);
+    }
+
+    /**
+     * Extracts results of a data query in the order of its operations.
+     * If YDB returned statistics of the query, they are attached to each result, and the rows affected by the query
+     * are reported as rows updated of its only data modification.
+     *
+     * @param dataQueryResultResult result of the data query
+     * @param operationTypes types of operations within the query
+     * @param failOnTruncated return an error on a truncated result set
+     * @param parallelDecoding decode several result sets concurrently on {@link Schedulers#parallel()}
+     * @param codecs codecs to decode values of the columns
+     * @return results of the operations
+     */
+    public static Flux<YdbResult> extract(Result<DataQueryResult> dataQueryResultResult,
+                                          List<OperationType> operationTypes,
+                                          boolean failOnTruncated,
+                                          boolean parallelDecoding,
+                                          Codecs codecs
     ) {
         try {
             Mono<DataQueryResult> dataQueryResultMono =
                     ResultExtractor.extract(dataQueryResultResult);
 
             return dataQueryResultMono.flatMapMany(result -> {
-                List<YdbResult> results = new ArrayList<>();
+                boolean decodeInParallel = parallelDecoding && result.getResultSetCount() > 1;
+                QueryStats stats = result.hasQueryStats() ? result.getQueryStats() : null;
+                YdbResult updateResult = stats == null
+                        ? YdbResult.UPDATE_RESULT
+                        : YdbResult.updated(isSingleUpdate(operationTypes) ? affectedRows(stats) : 1L)
+                        .withStats(stats);
+                List<Mono<YdbResult>> results = new ArrayList<>();
                 for (int opIndex = 0, resSetIndex = 0; opIndex < operationTypes.size(); opIndex++) {
                     results.add(switch (operationTypes.get(opIndex)) {
-                        case SELECT -> new YdbResult(result.getResultSet(resSetIndex++), failOnTruncated);
-                        case UPDATE -> YdbResult.UPDATE_RESULT;
+                        case SELECT -> {
+                            ResultSetReader resultSetReader = result.getResultSet(resSetIndex++);
+                            Mono<YdbResult> selectResult = decodeInParallel
+                                    ? YdbResult.decode(resultSetReader, failOnTruncated, codecs)
+                                    .subscribeOn(Schedulers.parallel())
+                                    : Mono.just(new YdbResult(resultSetReader, failOnTruncated, codecs));
+                            yield stats == null
+                                    ? selectResult
+                                    : selectResult.map(ydbResult -> ydbResult.withStats(stats));
+                        }
+                        case UPDATE -> Mono.just(updateResult);
                         case SCHEME -> throw new IllegalStateException(
                                 "DDL operation not support in executeDataQuery"
                         );
                     });
                 }
 
-                return Flux.fromIterable(results);
+                return Flux.mergeSequential(results);
             });
         } catch (UnexpectedResultException e) {
             return Flux.error(e);
         }
     }
 
+    /**
+     * YDB reports affected rows per query, so they can be attributed to a data modification only if it is the only one.
+     */
+    private static boolean isSingleUpdate(List<OperationType> operationTypes) {
+        int updates = 0;
+        for (OperationType operationType : operationTypes) {
+            if (operationType == OperationType.UPDATE) {
+                updates++;
+            }
+        }
+
+        return updates == 1;
+    }
+
+    private static long affectedRows(QueryStats stats) {
+        long rows = 0;
+        for (QueryPhaseStats phase : stats.getQueryPhasesList()) {
+            for (TableAccessStats tableAccess : phase.getTableAccessList()) {
+                rows += tableAccess.getUpdates().getRows() + tableAccess.getDeletes().getRows();
+            }
+        }
+
+        return rows;
+    }
+
+    /**
+     * Streams the parts of a result set read from the server. At most {@link #STREAM_PREFETCH} parts wait for
+     * the demand of the subscriber: the transport thread delivering the next part waits until a buffered part is
+     * requested, so the stream does not ask the server for more parts while the subscriber is slow.
+     *
+     * @param stream stream of result set parts
+     * @param failMessage message of the error returned on an unsuccessful status
+     * @return {@link Flux} of the result set parts
+     */
+    public static Flux<ResultSetReader> extract(GrpcReadStream<ResultSetReader> stream, String failMessage) {
+        return Flux.defer(() -> {
+            Semaphore buffered = new Semaphore(STREAM_PREFETCH);
+
+            return Flux.<ResultSetReader>create(sink -> {
+                sink.onCancel(stream::cancel);
+                sink.onDispose(() -> buffered.release(STREAM_PREFETCH));
+                stream.start(part -> {
+                    if (sink.isCancelled()) {
+                        return;
+                    }
+
+                    try {
+                        buffered.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        stream.cancel();
+                        sink.error(e);
+                        return;
+                    }
+
+                    if (!sink.isCancelled()) {
+                        sink.next(part);
+                    }
+                }).whenComplete((status, throwable) -> {
+                    if (throwable != null) {
+                        sink.error(throwable);
+                    } else if (!status.isSuccess()) {
+                        sink.error(new UnexpectedResultException(failMessage, status));
+                    } else {
+                        sink.complete();
+                    }
+                });
+            }).doOnNext(part -> buffered.release());
+        });
+    }
+
     public static Mono<Void> extract(Status status) {
         try {
             status.expectSuccess();
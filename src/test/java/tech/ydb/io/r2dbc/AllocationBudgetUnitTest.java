@@ -0,0 +1,165 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.util.Properties;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tech.ydb.io.r2dbc.helper.FakeResponse;
+import tech.ydb.io.r2dbc.helper.FakeTableService;
+import tech.ydb.io.r2dbc.helper.FakeTransport;
+import tech.ydb.io.r2dbc.options.ConnectionOptions;
+import tech.ydb.io.r2dbc.result.YdbResult;
+
+/**
+ * Checks bytes allocated per execute cycle against budgets from {@code allocation-budget.properties}. The fake
+ * service is called in the test thread, so the thread allocation counter covers the whole cycle.
+ * The budgets depend on the JVM, so the test runs only with the {@code allocation-budget} Maven profile.
+ *
+ * @author Egor Kuleshov
+ */
+@Tag("allocation")
+public class AllocationBudgetUnitTest {
+    private static final int WARMUP_CYCLES = 5_000;
+    private static final int MEASURED_CYCLES = 2_000;
+    private static final int ROUNDS = 3;
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static Properties budgets;
+    private static FakeTransport transport;
+    private static YdbConnection connection;
+
+    @BeforeAll
+    public static void setUp() {
+        Assumptions.assumeTrue(THREAD_MX_BEAN.isThreadAllocatedMemorySupported());
+        THREAD_MX_BEAN.setThreadAllocatedMemoryEnabled(true);
+
+        budgets = new Properties();
+        try (InputStream input = AllocationBudgetUnitTest.class.getResourceAsStream("/allocation-budget.properties")) {
+            budgets.load(input);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        FakeTableService service = new FakeTableService()
+                .on("SELECT", FakeResponse.of(FakeResponse.rows("id", 10)));
+        transport = new FakeTransport(service, true);
+        YdbConnectionFactory connectionFactory = (YdbConnectionFactory) ConnectionFactories.get(
+                ConnectionFactoryOptions.builder()
+                        .option(ConnectionFactoryOptions.DRIVER, "ydb")
+                        .option(ConnectionOptions.TRANSPORT, transport)
+                        .build());
+        connection = connectionFactory.create().block();
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        if (connection != null) {
+            connection.close().block();
+        }
+        if (transport != null) {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void bindTest() {
+        assertBudget("bind", () -> connection.createStatement("UPSERT INTO t (id, value) VALUES (?, ?);")
+                .bind(0, 1L)
+                .bind(1, "value")
+                .add()
+                .bind(0, 2L)
+                .bind(1, "value"));
+    }
+
+    @Test
+    public void selectTest() {
+        assertBudget("select", () -> connection.createStatement("SELECT id FROM t WHERE id > ?;")
+                .bind(0, 1L)
+                .execute()
+                .flatMap(result -> result.map(row -> row.get("id", Long.class)))
+                .blockLast());
+    }
+
+    @Test
+    public void upsertTest() {
+        assertBudget("upsert", () -> connection.createStatement("UPSERT INTO t (id, value) VALUES (?, ?);")
+                .bind(0, 1L)
+                .bind(1, "value")
+                .execute()
+                .flatMap(YdbResult::getRowsUpdated)
+                .blockLast());
+    }
+
+    @Test
+    public void transactionTest() {
+        assertBudget("transaction", () -> connection.beginTransaction()
+                .thenMany(Flux.defer(() -> connection.createStatement("UPSERT INTO t (id, value) VALUES (?, ?);")
+                        .bind(0, 1L)
+                        .bind(1, "value")
+                        .execute()))
+                .flatMap(YdbResult::getRowsUpdated)
+                .then(Mono.defer(connection::commitTransaction))
+                .block());
+    }
+
+    private static void assertBudget(String name, Runnable cycle) {
+        long budget = Long.parseLong(budgets.getProperty(name));
+        long allocated = allocatedBytesPerCycle(cycle);
+
+        Assertions.assertTrue(allocated <= budget,
+                name + " allocated " + allocated + " bytes per cycle, budget is " + budget);
+    }
+
+    /**
+     * @return the smallest average over several rounds, which filters out allocations of unrelated activity
+     */
+    private static long allocatedBytesPerCycle(Runnable cycle) {
+        for (int i = 0; i < WARMUP_CYCLES; i++) {
+            cycle.run();
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long result = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < MEASURED_CYCLES; i++) {
+                cycle.run();
+            }
+            long after = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+            result = Math.min(result, (after - before) / MEASURED_CYCLES);
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc;
+
+import java.time.Duration;
+import java.util.List;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Result;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+import tech.ydb.core.StatusCode;
+import tech.ydb.io.r2dbc.helper.FakeResponse;
+import tech.ydb.io.r2dbc.helper.FakeTableService;
+import tech.ydb.io.r2dbc.helper.FakeTransport;
+import tech.ydb.io.r2dbc.options.ConnectionOptions;
+import tech.ydb.io.r2dbc.options.OperationOptions;
+
+/**
+ * Runs the driver stack against the in-process {@link FakeTableService}.
+ *
+ * @author Egor Kuleshov
+ */
+public class FakeTableServiceUnitTest {
+    private FakeTableService service;
+    private FakeTransport transport;
+
+    @BeforeEach
+    public void setUp() {
+        service = new FakeTableService();
+        transport = new FakeTransport(service);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        transport.close();
+    }
+
+    @Test
+    public void selectTest() {
+        service.on("SELECT", FakeResponse.of(FakeResponse.longs("id", 1, 2, 3)));
+
+        execute(connectionFactory(), "SELECT id FROM test_table;")
+                .as(StepVerifier::create)
+                .expectNext(1L, 2L, 3L)
+                .verifyComplete();
+
+        Assertions.assertEquals(1, service.getDataQueries());
+        Assertions.assertEquals(0, service.getActiveTransactions());
+    }
+
+    @Test
+    public void scriptedErrorTest() {
+        service.on("fail_table", FakeResponse.error(StatusCode.OVERLOADED));
+
+        execute(connectionFactory(), "SELECT id FROM fail_table;")
+                .as(StepVerifier::create)
+                .verifyError();
+    }
+
+    @Test
+    public void transactionTest() {
+        Mono.usingWhen(connectionFactory().create(),
+                        connection -> connection.beginTransaction()
+                                .thenMany(Flux.defer(() -> connection
+                                        .createStatement("UPSERT INTO test_table (id) VALUES (1);")
+                                        .execute()))
+                                .flatMap(Result::getRowsUpdated)
+                                .then(Mono.defer(connection::commitTransaction)),
+                        YdbConnection::close)
+                .as(StepVerifier::create)
+                .verifyComplete();
+
+        Assertions.assertEquals(1, service.getCommits());
+        Assertions.assertEquals(0, service.getActiveTransactions());
+    }
+
+    @Test
+    public void rollbackTest() {
+        Mono.usingWhen(connectionFactory().create(),
+                        connection -> connection.beginTransaction()
+                                .thenMany(Flux.defer(() -> connection
+                                        .createStatement("UPSERT INTO test_table (id) VALUES (1);")
+                                        .execute()))
+                                .flatMap(Result::getRowsUpdated)
+                                .then(Mono.defer(connection::rollbackTransaction)),
+                        YdbConnection::close)
+                .as(StepVerifier::create)
+                .verifyComplete();
+
+        Assertions.assertEquals(1, service.getRollbacks());
+        Assertions.assertEquals(0, service.getActiveTransactions());
+    }
+
+    @Test
+    public void pipelinedTransactionTest() {
+        YdbConnection connection = connectionFactory().create().block();
+
+        Flux.merge(
+                        connection.beginTransaction(),
+                        connection.createStatement("UPSERT INTO test_table (id) VALUES (1);").execute()
+                                .flatMap(Result::getRowsUpdated),
+                        connection.createStatement("UPSERT INTO test_table (id) VALUES (2);").execute()
+                                .flatMap(Result::getRowsUpdated),
+                        connection.commitTransaction(),
+                        connection.close())
+                .as(StepVerifier::create)
+                .expectNextCount(2)
+                .verifyComplete();
+
+        Assertions.assertEquals(1, service.getCreatedSessions());
+        Assertions.assertEquals(2, service.getDataQueries());
+        Assertions.assertEquals(1, service.getCommits());
+        Assertions.assertEquals(0, service.getActiveTransactions());
+    }
+
+    @Test
+    public void statementFusionTest() {
+        service.on("slow_table", FakeResponse.of(FakeResponse.longs("id", 1)).withLatency(Duration.ofMillis(200)))
+                .on("$f0_jp1", FakeResponse.of(FakeResponse.longs("id", 7)));
+        YdbConnection connection = connectionFactory(ConnectionFactoryOptions.builder()
+                .option(OperationOptions.STATEMENT_FUSION, true)).create().block();
+        connection.beginTransaction().block();
+
+        Flux.merge(
+                        connection.createStatement("SELECT id FROM slow_table;").execute()
+                                .flatMap(result -> result.map(row -> row.get("id", Long.class))),
+                        connection.createStatement("SELECT id FROM test_table WHERE id = ?;").bind(0, 7L).execute()
+                                .flatMap(result -> result.map(row -> row.get("id", Long.class))),
+                        connection.createStatement("UPSERT INTO test_table (id) VALUES (?);").bind(0, 8L).execute()
+                                .flatMap(Result::getRowsUpdated))
+                .collectList()
+                .as(StepVerifier::create)
+                .expectNextMatches(values -> values.containsAll(List.of(1L, 7L)) && values.size() == 3)
+                .verifyComplete();
+        connection.commitTransaction().then(connection.close()).block();
+
+        Assertions.assertEquals(2, service.getDataQueries());
+        Assertions.assertEquals(1, service.getCommits());
+    }
+
+    @Test
+    public void resultSchedulerTest() {
+        service.on("SELECT", FakeResponse.of(FakeResponse.rows("id", 3)));
+        Scheduler scheduler = Schedulers.newSingle("ydb-results");
+
+        try {
+            threadNames(connectionFactory(ConnectionFactoryOptions.builder()
+                    .option(OperationOptions.RESULT_SCHEDULER, scheduler)))
+                    .as(StepVerifier::create)
+                    .expectNextMatches(names -> names.stream().allMatch(name -> name.startsWith("ydb-results")))
+                    .verifyComplete();
+
+            threadNames(connectionFactory(ConnectionFactoryOptions.builder()
+                    .option(OperationOptions.RESULT_SCHEDULER, scheduler)
+                    .option(OperationOptions.INLINE_RESULT_MAX_ROWS, 3)))
+                    .as(StepVerifier::create)
+                    .expectNextMatches(names -> names.stream().noneMatch(name -> name.startsWith("ydb-results")))
+                    .verifyComplete();
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    public void scanOnTruncatedTest() {
+        service.on("SELECT", FakeResponse.of(FakeResponse.rows("id", 250)).truncated());
+
+        execute(connectionFactory(ConnectionFactoryOptions.builder()
+                        .option(OperationOptions.SCAN_ON_TRUNCATED_RESULT, true)),
+                "SELECT id FROM test_table;")
+                .count()
+                .as(StepVerifier::create)
+                .expectNext(250L)
+                .verifyComplete();
+
+        Assertions.assertEquals(1, service.getScanQueries());
+    }
+
+    @Test
+    public void concurrentLatencyTest() {
+        service.on("SELECT", FakeResponse.of(FakeResponse.longs("id", 1)).withLatency(Duration.ofMillis(10)));
+        YdbConnectionFactory connectionFactory = connectionFactory();
+
+        Flux.range(0, 200)
+                .flatMap(i -> execute(connectionFactory, "SELECT id FROM test_table;"), 20)
+                .count()
+                .as(StepVerifier::create)
+                .expectNext(200L)
+                .verifyComplete();
+
+        Assertions.assertEquals(200, service.getDataQueries());
+        Assertions.assertTrue(service.getCreatedSessions() <= 20);
+    }
+
+    private YdbConnectionFactory connectionFactory() {
+        return connectionFactory(ConnectionFactoryOptions.builder());
+    }
+
+    private YdbConnectionFactory connectionFactory(ConnectionFactoryOptions.Builder options) {
+        return (YdbConnectionFactory) ConnectionFactories.get(options
+                .option(ConnectionFactoryOptions.DRIVER, "ydb")
+                .option(ConnectionOptions.TRANSPORT, transport)
+                .build());
+    }
+
+    private static Mono<List<String>> threadNames(YdbConnectionFactory connectionFactory) {
+        return Flux.usingWhen(connectionFactory.create(),
+                        connection -> Flux.from(connection.createStatement("SELECT id FROM test_table;").execute())
+                                .flatMap(result -> result.map(row -> Thread.currentThread().getName())),
+                        YdbConnection::close)
+                .collectList();
+    }
+
+    private static Flux<Long> execute(YdbConnectionFactory connectionFactory, String sql) {
+        return Flux.usingWhen(connectionFactory.create(),
+                connection -> Flux.from(connection.createStatement(sql).execute())
+                        .flatMap(result -> result.map(row -> row.get("id", Long.class))),
+                YdbConnection::close);
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc;
+
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import tech.ydb.io.r2dbc.helper.FakeResponse;
+import tech.ydb.io.r2dbc.helper.FakeTableService;
+import tech.ydb.io.r2dbc.helper.FakeTransport;
+import tech.ydb.io.r2dbc.options.ClientOptions;
+import tech.ydb.io.r2dbc.options.ConnectionOptions;
+import tech.ydb.io.r2dbc.options.OperationOptions;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class TransportRegistryUnitTest {
+    @Test
+    public void sharedTest() {
+        FakeTransport transport = new FakeTransport(new FakeTableService());
+
+        try {
+            TransportRegistry registry = new TransportRegistry();
+            TransportRegistry.Lease first = registry.acquire(new OptionExtractor(ConnectionFactoryOptions.builder()
+                    .option(ConnectionOptions.TRANSPORT, transport)
+                    .option(OperationOptions.STATEMENT_CACHE_SIZE, 1)
+                    .build()));
+            TransportRegistry.Lease second = registry.acquire(new OptionExtractor(ConnectionFactoryOptions.builder()
+                    .option(ConnectionOptions.TRANSPORT, transport)
+                    .option(OperationOptions.STATEMENT_CACHE_SIZE, 2)
+                    .build()));
+
+            Assertions.assertSame(first.getTableClient(), second.getTableClient());
+            Assertions.assertEquals(1, registry.size());
+
+            first.release();
+            first.release();
+            Assertions.assertEquals(1, registry.size());
+
+            second.release();
+            Assertions.assertEquals(0, registry.size());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void differentSettingsTest() {
+        FakeTransport transport = new FakeTransport(new FakeTableService());
+
+        try {
+            TransportRegistry registry = new TransportRegistry();
+            TransportRegistry.Lease first = registry.acquire(new OptionExtractor(ConnectionFactoryOptions.builder()
+                    .option(ConnectionOptions.TRANSPORT, transport)
+                    .option(ClientOptions.SESSION_POOL_MAX_SIZE, 10)
+                    .build()));
+            TransportRegistry.Lease second = registry.acquire(new OptionExtractor(ConnectionFactoryOptions.builder()
+                    .option(ConnectionOptions.TRANSPORT, transport)
+                    .option(ClientOptions.SESSION_POOL_MAX_SIZE, 20)
+                    .build()));
+
+            Assertions.assertNotSame(first.getTableClient(), second.getTableClient());
+            Assertions.assertEquals(2, registry.size());
+
+            first.release();
+            second.release();
+            Assertions.assertEquals(0, registry.size());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void sharedFactoriesTest() {
+        FakeTableService service = new FakeTableService()
+                .on("SELECT 1", FakeResponse.of(FakeResponse.longs("value", 1)));
+        FakeTransport transport = new FakeTransport(service);
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.builder()
+                .option(ConnectionOptions.TRANSPORT, transport)
+                .option(ConnectionOptions.SHARED_TRANSPORT, true)
+                .build();
+
+        try {
+            YdbContext first = new YdbContext(new OptionExtractor(options));
+            YdbContext second = new YdbContext(new OptionExtractor(options));
+
+            Flux.just(first, second)
+                    .map(YdbConnectionFactory::new)
+                    .concatMap(YdbConnectionFactory::create)
+                    .concatMap(connection -> connection.createStatement("SELECT 1").execute())
+                    .concatMap(result -> result.map(row -> row.get("value", Long.class)))
+                    .as(StepVerifier::create)
+                    .expectNext(1L, 1L)
+                    .verifyComplete();
+
+            Assertions.assertEquals(1, service.getCreatedSessions());
+            Assertions.assertEquals(1, TransportRegistry.SHARED.size());
+
+            first.close();
+            second.close();
+            Assertions.assertEquals(0, TransportRegistry.SHARED.size());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void slowEndpointTest() throws Exception {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        FakeTransport transport = new FakeTransport(new FakeTableService());
+        TransportRegistry registry = new TransportRegistry();
+
+        try {
+            CompletableFuture<TransportRegistry.Lease> unreachable = CompletableFuture.supplyAsync(
+                    () -> registry.acquire(new OptionExtractor(ConnectionFactoryOptions.builder()
+                            .option(ConnectionFactoryOptions.HOST, "localhost")
+                            .option(ConnectionFactoryOptions.PORT, port)
+                            .option(ConnectionFactoryOptions.DATABASE, "/local")
+                            .option(ConnectionFactoryOptions.CONNECT_TIMEOUT, Duration.ofMillis(500))
+                            .option(ConnectionOptions.DISCOVERY_TIMEOUT, Duration.ofSeconds(2))
+                            .build())));
+            while (registry.size() == 0) {
+                Thread.sleep(1);
+            }
+
+            long startNanos = System.nanoTime();
+            TransportRegistry.Lease lease = registry.acquire(new OptionExtractor(ConnectionFactoryOptions.builder()
+                    .option(ConnectionOptions.TRANSPORT, transport)
+                    .build()));
+            Assertions.assertTrue(System.nanoTime() - startNanos < Duration.ofSeconds(1).toNanos());
+            Assertions.assertFalse(unreachable.isDone());
+            lease.release();
+
+            Assertions.assertThrows(ExecutionException.class, () -> unreachable.get(60, TimeUnit.SECONDS));
+            Assertions.assertEquals(0, registry.size());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void secretsTest() {
+        FakeTransport transport = new FakeTransport(new FakeTableService());
+
+        try {
+            List<Object> key = TransportRegistry.key(new OptionExtractor(ConnectionFactoryOptions.builder()
+                    .option(ConnectionOptions.TRANSPORT, transport)
+                    .option(ConnectionFactoryOptions.PASSWORD, "password-value")
+                    .option(ConnectionOptions.TOKEN, "token-value")
+                    .build()));
+            List<Object> sameKey = TransportRegistry.key(new OptionExtractor(ConnectionFactoryOptions.builder()
+                    .option(ConnectionOptions.TRANSPORT, transport)
+                    .option(ConnectionFactoryOptions.PASSWORD, "password-value")
+                    .option(ConnectionOptions.TOKEN, "token-value")
+                    .build()));
+            List<Object> otherKey = TransportRegistry.key(new OptionExtractor(ConnectionFactoryOptions.builder()
+                    .option(ConnectionOptions.TRANSPORT, transport)
+                    .option(ConnectionFactoryOptions.PASSWORD, "other-password")
+                    .option(ConnectionOptions.TOKEN, "token-value")
+                    .build()));
+
+            Assertions.assertEquals(key, sameKey);
+            Assertions.assertNotEquals(key, otherKey);
+            Assertions.assertFalse(key.toString().contains("password-value"));
+            Assertions.assertFalse(key.toString().contains("token-value"));
+        } finally {
+            transport.close();
+        }
+    }
+}
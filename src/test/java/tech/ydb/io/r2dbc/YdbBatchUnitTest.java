@@ -16,16 +16,27 @@
 
 package tech.ydb.io.r2dbc;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.helper.FakeResponse;
+import tech.ydb.io.r2dbc.helper.FakeTableService;
+import tech.ydb.io.r2dbc.helper.FakeTransport;
+import tech.ydb.io.r2dbc.options.ConnectionOptions;
 import tech.ydb.io.r2dbc.query.QueryType;
 import tech.ydb.io.r2dbc.query.YdbQuery;
 import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
 import tech.ydb.io.r2dbc.statement.YdbDDLStatement;
 import tech.ydb.io.r2dbc.statement.YdbDMLStatement;
 
@@ -49,7 +60,7 @@ public class YdbBatchUnitTest {
                 .thenReturn(Mono.just(-1L));
         Mockito.when(ydbContext.fetchYdbQuery(Mockito.any()))
                 .thenReturn(query);
-        Mockito.when(ydbConnection.executeDataQuery(Mockito.any(), Mockito.any(), Mockito.any()))
+        Mockito.when(ydbConnection.executeDataQuery(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
                 .thenReturn(Flux.just(ydbResult));
 
         YdbBatch batch = new YdbBatch(ydbConnection, ydbContext);
@@ -63,7 +74,7 @@ public class YdbBatchUnitTest {
                 .verifyComplete();
 
         Mockito.verify(ydbContext).fetchYdbQuery("test");
-        Mockito.verify(ydbConnection).executeDataQuery(eq("test"), any(), any());
+        Mockito.verify(ydbConnection).executeDataQuery(eq("test"), any(), any(), any());
     }
 
     @Test
@@ -79,7 +90,7 @@ public class YdbBatchUnitTest {
                 .thenReturn(Mono.just(-1L));
         Mockito.when(ydbContext.fetchYdbQuery(Mockito.any()))
                 .thenReturn(query);
-        Mockito.when(ydbConnection.executeDataQuery(Mockito.any(), Mockito.any(), Mockito.any()))
+        Mockito.when(ydbConnection.executeDataQuery(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any()))
                 .thenReturn(Flux.just(ydbResult));
 
         YdbBatch batch = new YdbBatch(ydbConnection, ydbContext);
@@ -93,7 +104,7 @@ public class YdbBatchUnitTest {
                 .verifyComplete();
 
         Mockito.verify(ydbContext).fetchYdbQuery("test1;\ntest2");
-        Mockito.verify(ydbConnection).executeDataQuery(eq("test1;\ntest2"), any(), any());
+        Mockito.verify(ydbConnection).executeDataQuery(eq("test1;\ntest2"), any(), any(), any());
     }
 
     @Test
@@ -121,7 +132,7 @@ public class YdbBatchUnitTest {
                 .verifyComplete();
 
         Mockito.verify(ydbContext).fetchYdbQuery("test1;\ntest2");
-        Mockito.verify(ydbConnection, Mockito.never()).executeDataQuery(any(), any(), any());
+        Mockito.verify(ydbConnection, Mockito.never()).executeDataQuery(any(), any(), any(), any());
     }
 
     @Test
@@ -141,6 +152,183 @@ public class YdbBatchUnitTest {
                 .verifyError(IllegalArgumentException.class);
 
         Mockito.verify(ydbContext).fetchYdbQuery("test1;\ntest2");
+        Mockito.verify(ydbConnection, Mockito.never()).executeDataQuery(any(), any(), any(), any());
+    }
+
+    @Test
+    public void parallelTest() {
+        FakeTableService service = new FakeTableService()
+                .on("slow_table", FakeResponse.of(FakeResponse.longs("id", 1)).withLatency(Duration.ofMillis(200)))
+                .on("fast_table", FakeResponse.of(FakeResponse.longs("id", 2)));
+        FakeTransport transport = new FakeTransport(service);
+
+        try {
+            YdbConnection connection = connectionFactory(transport).create().block();
+
+            connection.createBatch()
+                    .parallel(4)
+                    .add("SELECT id FROM slow_table WHERE id = ?;", 1L)
+                    .add("SELECT id FROM fast_table WHERE id = ?;", 2L)
+                    .add("UPSERT INTO fast_table (id) VALUES (3);")
+                    .execute()
+                    .concatMap(result -> Flux.from(result.map(row -> row.get("id", Long.class))).defaultIfEmpty(-1L))
+                    .as(StepVerifier::create)
+                    .expectNext(1L, 2L, -1L)
+                    .verifyComplete();
+
+            Assertions.assertEquals(3, service.getDataQueries());
+            Assertions.assertTrue(service.getCreatedSessions() > 1);
+            Assertions.assertEquals(0, service.getActiveTransactions());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void parallelConnectionsTest() {
+        FakeTableService service = new FakeTableService();
+        FakeTransport transport = new FakeTransport(service);
+
+        try {
+            YdbContext ydbContext = new YdbContext(new OptionExtractor(ConnectionFactoryOptions.builder()
+                    .option(ConnectionOptions.TRANSPORT, transport)
+                    .build()));
+            YdbConnection connection = ydbContext.createConnection(YdbTxSettings.defaultSettings());
+            connection.setStatementTimeout(Duration.ofSeconds(7)).block();
+
+            connection.createBatch()
+                    .parallel(4)
+                    .add("UPSERT INTO test_table (id) VALUES (1);")
+                    .add("UPSERT INTO test_table (id) VALUES (2);")
+                    .execute()
+                    .as(StepVerifier::create)
+                    .expectNextCount(2)
+                    .verifyComplete();
+
+            Assertions.assertEquals(Duration.ofSeconds(7), service.getOperationTimeout());
+            Assertions.assertEquals(List.of(connection), ydbContext.getConnections());
+            ydbContext.close();
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void parallelInsideTransactionTest() {
+        FakeTransport transport = new FakeTransport(new FakeTableService());
+
+        try {
+            YdbConnection connection = connectionFactory(transport).create().block();
+            // not awaited, the batch must still see the transaction started before it
+            connection.beginTransaction().subscribe();
+
+            connection.createBatch()
+                    .parallel(4)
+                    .add("UPSERT INTO test_table (id) VALUES (1);")
+                    .execute()
+                    .as(StepVerifier::create)
+                    .verifyError(IllegalStateException.class);
+
+            connection.rollbackTransaction().block();
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void parametrizedTest() {
+        FakeTableService service = new FakeTableService()
+                .on(yql -> yql.contains("DECLARE $f0_jp1 AS Int64;") && yql.contains("DECLARE $f1_jp1 AS Int64;")
+                                && yql.contains("WHERE id = $f1_jp1;"),
+                        FakeResponse.of(FakeResponse.longs("id", 1), FakeResponse.longs("id", 2)));
+        FakeTransport transport = new FakeTransport(service);
+
+        try {
+            YdbConnection connection = connectionFactory(transport).create().block();
+
+            connection.createBatch()
+                    .add("SELECT id FROM test_table WHERE id = ?;", 1L)
+                    .add("SELECT id FROM test_table WHERE id = ?;", 2L)
+                    .execute()
+                    .concatMap(result -> result.map(row -> row.get("id", Long.class)))
+                    .as(StepVerifier::create)
+                    .expectNext(1L, 2L)
+                    .verifyComplete();
+
+            Assertions.assertEquals(1, service.getDataQueries());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void namedParametrizedTest() {
+        FakeTableService service = new FakeTableService()
+                .on(yql -> yql.contains("SELECT '$jp1' AS text, id FROM test_table WHERE id = $f0_jp2;")
+                                && yql.contains("WHERE id = $f1_jp1;") && yql.contains("-- ?, $f1\n"),
+                        FakeResponse.of(FakeResponse.longs("id", 1), FakeResponse.longs("id", 2)));
+        FakeTransport transport = new FakeTransport(service);
+
+        try {
+            YdbConnection connection = connectionFactory(transport).create().block();
+
+            connection.createBatch()
+                    .add("SELECT '$jp1' AS text, id FROM test_table WHERE id = ?;", 1L)
+                    .add("-- ?, $f1\nSELECT id FROM test_table WHERE id = ?;", Map.of("$jp1", 2L))
+                    .execute()
+                    .concatMap(result -> result.map(row -> row.get("id", Long.class)))
+                    .as(StepVerifier::create)
+                    .expectNext(1L, 2L)
+                    .verifyComplete();
+
+            Assertions.assertEquals(1, service.getDataQueries());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void parametrizedErrorsTest() {
+        YdbConnection ydbConnection = Mockito.mock(YdbConnection.class);
+        YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        OperationsConfig operationsConfig = Mockito.mock(OperationsConfig.class);
+        Mockito.when(operationsConfig.getCodecs()).thenReturn(Codecs.EMPTY);
+        Mockito.when(ydbContext.getOperationsConfig()).thenReturn(operationsConfig);
+        Mockito.when(ydbContext.fetchYdbQuery("dml"))
+                .thenReturn(new YdbQuery("dml", List.of(), QueryType.DML));
+        Mockito.when(ydbContext.fetchYdbQuery("ddl"))
+                .thenReturn(new YdbQuery("ddl", List.of(), QueryType.DDL));
+        Mockito.when(ydbContext.fetchYdbQuery("named"))
+                .thenReturn(new YdbQuery("$x = $jp1; SELECT $x", List.of("$jp1"), QueryType.DML));
+
+        new YdbBatch(ydbConnection, ydbContext)
+                .add("dml", 1L)
+                .execute()
+                .as(StepVerifier::create)
+                .verifyError(IllegalArgumentException.class);
+
+        new YdbBatch(ydbConnection, ydbContext)
+                .add("ddl")
+                .add("named", 1L)
+                .execute()
+                .as(StepVerifier::create)
+                .verifyError(IllegalArgumentException.class);
+
+        new YdbBatch(ydbConnection, ydbContext)
+                .add("named", 1L)
+                .execute()
+                .as(StepVerifier::create)
+                .verifyError(IllegalArgumentException.class);
+
         Mockito.verify(ydbConnection, Mockito.never()).executeDataQuery(any(), any(), any());
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new YdbBatch(ydbConnection, ydbContext).parallel(0));
+    }
+
+    private static YdbConnectionFactory connectionFactory(FakeTransport transport) {
+        return (YdbConnectionFactory) ConnectionFactories.get(ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "ydb")
+                .option(ConnectionOptions.TRANSPORT, transport)
+                .build());
     }
 }
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import tech.ydb.io.r2dbc.helper.FakeResponse;
+import tech.ydb.io.r2dbc.helper.FakeTableService;
+import tech.ydb.io.r2dbc.helper.FakeTransport;
+import tech.ydb.io.r2dbc.options.ConnectionOptions;
+import tech.ydb.io.r2dbc.options.OperationOptions;
+import tech.ydb.io.r2dbc.result.YdbResult;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class YdbConnectionFactoryUnitTest {
+    @Test
+    public void closeTest() {
+        FakeTableService service = new FakeTableService()
+                .on("SELECT 1", FakeResponse.of(FakeResponse.longs("value", 1)));
+        FakeTransport transport = new FakeTransport(service);
+
+        try {
+            YdbConnectionFactory factory = connectionFactory(transport);
+            YdbConnection connection = factory.create().block();
+            connection.createStatement("SELECT 1")
+                    .execute()
+                    .concatMap(result -> result.map(row -> row.get("value", Long.class)))
+                    .as(StepVerifier::create)
+                    .expectNext(1L)
+                    .verifyComplete();
+
+            factory.shutdown(Duration.ofSeconds(5))
+                    .as(StepVerifier::create)
+                    .expectNext(0)
+                    .verifyComplete();
+
+            Assertions.assertTrue(factory.isClosed());
+            factory.create()
+                    .as(StepVerifier::create)
+                    .verifyError(IllegalStateException.class);
+            factory.close()
+                    .as(StepVerifier::create)
+                    .verifyComplete();
+            connection.createStatement("SELECT 1")
+                    .execute()
+                    .as(StepVerifier::create)
+                    .verifyError(IllegalStateException.class);
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void drainTest() {
+        FakeTableService service = new FakeTableService();
+        FakeTransport transport = new FakeTransport(service);
+
+        try {
+            YdbConnectionFactory factory = connectionFactory(transport);
+            YdbConnection connection = factory.create().block();
+            connection.beginTransaction().block();
+            connection.createStatement("UPSERT INTO test_table (id) VALUES (1);")
+                    .execute()
+                    .flatMap(YdbResult::getRowsUpdated)
+                    .blockLast();
+
+            factory.shutdown(Duration.ofSeconds(5))
+                    .as(StepVerifier::create)
+                    .expectNext(1)
+                    .then(() -> connection.commitTransaction().subscribe())
+                    .expectNext(0)
+                    .verifyComplete();
+
+            Assertions.assertEquals(1, service.getCommits());
+            Assertions.assertEquals(0, service.getRollbacks());
+            Assertions.assertEquals(0, service.getActiveTransactions());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void timeoutTest() {
+        FakeTableService service = new FakeTableService();
+        FakeTransport transport = new FakeTransport(service);
+
+        try {
+            YdbConnectionFactory factory = connectionFactory(transport);
+            YdbConnection connection = factory.create().block();
+            connection.beginTransaction().block();
+            connection.createStatement("UPSERT INTO test_table (id) VALUES (1);")
+                    .execute()
+                    .flatMap(YdbResult::getRowsUpdated)
+                    .blockLast();
+
+            factory.shutdown(Duration.ofMillis(100))
+                    .as(StepVerifier::create)
+                    .expectNext(1)
+                    .verifyComplete();
+
+            Assertions.assertEquals(0, service.getCommits());
+            Assertions.assertEquals(1, service.getRollbacks());
+            Assertions.assertEquals(0, service.getActiveTransactions());
+            Flux.from(connection.commitTransaction())
+                    .as(StepVerifier::create)
+                    .verifyError(IllegalStateException.class);
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void streamedResultTest() {
+        FakeTableService service = new FakeTableService()
+                .on("SELECT", FakeResponse.of(FakeResponse.rows("id", 250)).truncated());
+        FakeTransport transport = new FakeTransport(service);
+
+        try {
+            YdbConnectionFactory factory = (YdbConnectionFactory) ConnectionFactories.get(
+                    ConnectionFactoryOptions.builder()
+                            .option(ConnectionFactoryOptions.DRIVER, "ydb")
+                            .option(ConnectionOptions.TRANSPORT, transport)
+                            .option(OperationOptions.SCAN_ON_TRUNCATED_RESULT, true)
+                            .build());
+            YdbResult result = factory.create()
+                    .flatMapMany(connection -> connection.createStatement("SELECT id FROM test_table;").execute())
+                    .blockLast();
+            AtomicLong rows = new AtomicLong();
+
+            factory.shutdown(Duration.ofSeconds(5))
+                    .as(StepVerifier::create)
+                    .expectNext(1)
+                    .then(() -> Flux.from(result.map(row -> row.get("id"))).count().subscribe(rows::set))
+                    .expectNext(0)
+                    .verifyComplete();
+
+            Assertions.assertEquals(250, rows.get());
+            Assertions.assertEquals(1, service.getScanQueries());
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void repeatedCloseTest() {
+        FakeTransport transport = new FakeTransport(new FakeTableService());
+
+        try {
+            YdbConnectionFactory factory = connectionFactory(transport);
+            YdbConnection connection = factory.create().block();
+            connection.beginTransaction().block();
+
+            Flux<Integer> first = factory.shutdown(Duration.ofSeconds(5));
+            Assertions.assertSame(first, factory.shutdown(Duration.ofMillis(1)));
+
+            first.as(StepVerifier::create)
+                    .expectNext(1)
+                    .then(() -> connection.commitTransaction().subscribe())
+                    .expectNext(0)
+                    .verifyComplete();
+            factory.close()
+                    .as(StepVerifier::create)
+                    .verifyComplete();
+        } finally {
+            transport.close();
+        }
+    }
+
+    private static YdbConnectionFactory connectionFactory(FakeTransport transport) {
+        return (YdbConnectionFactory) ConnectionFactories.get(ConnectionFactoryOptions.builder()
+                .option(ConnectionFactoryOptions.DRIVER, "ydb")
+                .option(ConnectionOptions.TRANSPORT, transport)
+                .build());
+    }
+}
@@ -16,13 +16,27 @@
 
 package tech.ydb.io.r2dbc;
 
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+
 import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.NoSuchOptionException;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import tech.ydb.io.r2dbc.helper.FakeResponse;
+import tech.ydb.io.r2dbc.helper.FakeTableService;
+import tech.ydb.io.r2dbc.helper.FakeTransport;
+import tech.ydb.io.r2dbc.jfr.JfrEvents;
+import tech.ydb.io.r2dbc.options.ConnectionOptions;
 import tech.ydb.io.r2dbc.options.OperationOptions;
 import tech.ydb.io.r2dbc.query.YdbQuery;
 import tech.ydb.io.r2dbc.query.YdbSqlParser;
+import tech.ydb.io.r2dbc.tracing.YdbTracer;
 import tech.ydb.table.impl.PooledTableClient;
 
 /**
@@ -97,4 +111,61 @@ public class YdbContextUnitTest {
             parser.verify(() -> YdbSqlParser.parse("test"), Mockito.times(1));
         }
     }
+
+    @Test
+    public void createAsyncTest() {
+        FakeTableService service = new FakeTableService()
+                .on("SELECT 1", FakeResponse.of(FakeResponse.longs("value", 1)));
+        FakeTransport transport = new FakeTransport(service);
+
+        try {
+            new YdbConnectionFactoryProvider()
+                    .createAsync(ConnectionFactoryOptions.builder()
+                            .option(ConnectionOptions.TRANSPORT, transport)
+                            .build())
+                    .flatMap(YdbConnectionFactory::create)
+                    .flatMapMany(connection -> connection.createStatement("SELECT 1").execute())
+                    .concatMap(result -> result.map(row -> row.get("value", Long.class)))
+                    .as(StepVerifier::create)
+                    .expectNext(1L)
+                    .verifyComplete();
+        } finally {
+            transport.close();
+        }
+    }
+
+    @Test
+    public void createAsyncErrorTest() {
+        Mono<YdbContext> context = YdbContext.createAsync(OptionExtractor.empty());
+
+        context.as(StepVerifier::create)
+                .verifyError(NoSuchOptionException.class);
+    }
+
+    @Test
+    public void createAsyncUnreachableTest() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+
+        YdbContext.createAsync(new OptionExtractor(ConnectionFactoryOptions.builder()
+                        .option(ConnectionFactoryOptions.HOST, "localhost")
+                        .option(ConnectionFactoryOptions.PORT, port)
+                        .option(ConnectionFactoryOptions.DATABASE, "/local")
+                        .option(ConnectionOptions.DISCOVERY_TIMEOUT, Duration.ofMillis(500))
+                        .build()))
+                .as(StepVerifier::create)
+                .expectError(IllegalStateException.class)
+                .verify(Duration.ofSeconds(10));
+    }
+
+    @Test
+    public void jfrEventsTest() {
+        Assertions.assertSame(YdbTracer.NOOP, OperationsConfig.defaultConfig().getTracer());
+        Assertions.assertSame(JfrEvents.tracer(), new OperationsConfig(new OptionExtractor(
+                ConnectionFactoryOptions.builder()
+                        .option(OperationOptions.JFR_EVENTS, true)
+                        .build())).getTracer());
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.codec;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+
+import com.google.protobuf.ByteString;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.ydb.table.values.PrimitiveType;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.Type;
+import tech.ydb.table.values.Value;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class CodecsUnitTest {
+    @Test
+    public void emptyTest() {
+        Codecs codecs = Codecs.of(List.of());
+
+        Assertions.assertSame(Codecs.EMPTY, codecs);
+        Assertions.assertNull(codecs.findEncoder(UUID.class));
+        Assertions.assertNull(codecs.findDecoder(UUID.class, PrimitiveType.Bytes));
+    }
+
+    @Test
+    public void findEncoderTest() {
+        UuidBytesCodec codec = new UuidBytesCodec();
+        Codecs codecs = Codecs.of(List.of(codec));
+
+        Assertions.assertSame(codec, codecs.findEncoder(UUID.class));
+        Assertions.assertSame(codec, codecs.findEncoder(UUID.class));
+        Assertions.assertNull(codecs.findEncoder(String.class));
+
+        UUID uuid = UUID.randomUUID();
+        Value<?> value = codecs.findEncoder(UUID.class).encode(uuid);
+        Assertions.assertEquals(PrimitiveType.Bytes, value.getType());
+        Assertions.assertEquals(uuid, codec.decode(value));
+    }
+
+    @Test
+    public void findDecoderTest() {
+        UuidBytesCodec codec = new UuidBytesCodec();
+        Codecs codecs = Codecs.of(List.of(codec));
+
+        Assertions.assertSame(codec, codecs.findDecoder(UUID.class, PrimitiveType.Bytes));
+        Assertions.assertNull(codecs.findDecoder(UUID.class, PrimitiveType.Text));
+        Assertions.assertNull(codecs.findDecoder(String.class, PrimitiveType.Bytes));
+        Assertions.assertNull(codecs.findDecoder(Object.class, PrimitiveType.Bytes));
+    }
+
+    @Test
+    public void firstCodecWinsTest() {
+        UuidBytesCodec first = new UuidBytesCodec();
+        Codecs codecs = Codecs.of(List.of(first, new UuidBytesCodec()));
+
+        Assertions.assertSame(first, codecs.findEncoder(UUID.class));
+        Assertions.assertSame(first, codecs.findDecoder(UUID.class, PrimitiveType.Bytes));
+    }
+
+    /**
+     * Stores UUID as 16 bytes without hex formatting.
+     */
+    static class UuidBytesCodec implements Codec<UUID> {
+        @Override
+        public Class<UUID> getJavaType() {
+            return UUID.class;
+        }
+
+        @Override
+        public boolean canDecode(Type ydbType) {
+            return ydbType == PrimitiveType.Bytes;
+        }
+
+        @Override
+        public Value<?> encode(UUID value) {
+            ByteBuffer buffer = ByteBuffer.allocate(16);
+            buffer.putLong(value.getMostSignificantBits()).putLong(value.getLeastSignificantBits());
+
+            return PrimitiveValue.newBytes(ByteString.copyFrom(buffer.flip()));
+        }
+
+        @Override
+        public UUID decode(Value<?> value) {
+            ByteBuffer buffer = value.asData().getBytesAsByteString().asReadOnlyByteBuffer();
+
+            return new UUID(buffer.getLong(), buffer.getLong());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.helper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import tech.ydb.core.StatusCode;
+import tech.ydb.proto.ValueProtos;
+
+/**
+ * Scripted response of {@link FakeTableService} to a query.
+ *
+ * @author Egor Kuleshov
+ */
+public final class FakeResponse {
+    private static final FakeResponse EMPTY = new FakeResponse(StatusCode.SUCCESS, List.of(), Duration.ZERO);
+
+    private final StatusCode status;
+    private final List<ValueProtos.ResultSet> resultSets;
+    private final Duration latency;
+
+    private FakeResponse(StatusCode status, List<ValueProtos.ResultSet> resultSets, Duration latency) {
+        this.status = status;
+        this.resultSets = resultSets;
+        this.latency = latency;
+    }
+
+    public static FakeResponse empty() {
+        return EMPTY;
+    }
+
+    public static FakeResponse of(ValueProtos.ResultSet... resultSets) {
+        return new FakeResponse(StatusCode.SUCCESS, List.of(resultSets), Duration.ZERO);
+    }
+
+    public static FakeResponse error(StatusCode status) {
+        return new FakeResponse(status, List.of(), Duration.ZERO);
+    }
+
+    /**
+     * @param column name of the Int64 column
+     * @param values values of the rows
+     * @return result set with a single column
+     */
+    public static ValueProtos.ResultSet longs(String column, long... values) {
+        return ValueProtos.ResultSet.newBuilder()
+                .addColumns(ValueProtos.Column.newBuilder()
+                        .setName(column)
+                        .setType(ValueProtos.Type.newBuilder().setTypeId(ValueProtos.Type.PrimitiveTypeId.INT64)))
+                .addAllRows(LongStream.of(values)
+                        .mapToObj(value -> ValueProtos.Value.newBuilder()
+                                .addItems(ValueProtos.Value.newBuilder().setInt64Value(value))
+                                .build())
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    /**
+     * @param column name of the Int64 column
+     * @param count number of rows
+     * @return result set with rows numbered from zero
+     */
+    public static ValueProtos.ResultSet rows(String column, int count) {
+        return longs(column, LongStream.range(0, count).toArray());
+    }
+
+    /**
+     * @param latency delay before the response is sent
+     * @return the same response sent after the delay
+     */
+    public FakeResponse withLatency(Duration latency) {
+        return new FakeResponse(status, resultSets, latency);
+    }
+
+    /**
+     * Marks result sets as truncated, the full result sets are streamed by a scan query.
+     *
+     * @return the same response with truncated result sets
+     */
+    public FakeResponse truncated() {
+        return new FakeResponse(status, resultSets.stream()
+                .map(resultSet -> resultSet.toBuilder().setTruncated(true).build())
+                .collect(Collectors.toList()), latency);
+    }
+
+    public StatusCode getStatus() {
+        return status;
+    }
+
+    public List<ValueProtos.ResultSet> getResultSets() {
+        return resultSets;
+    }
+
+    public Duration getLatency() {
+        return latency;
+    }
+}
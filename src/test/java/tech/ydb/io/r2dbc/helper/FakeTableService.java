@@ -0,0 +1,351 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.helper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import com.google.protobuf.Any;
+import com.google.protobuf.Message;
+import io.grpc.stub.StreamObserver;
+import tech.ydb.core.StatusCode;
+import tech.ydb.proto.OperationProtos;
+import tech.ydb.proto.StatusCodesProtos;
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.proto.YdbIssueMessage;
+import tech.ydb.proto.table.YdbTable;
+import tech.ydb.proto.table.v1.TableServiceGrpc;
+
+/**
+ * In-process stand-in of the YDB table service. Sessions and transactions are tracked, queries are answered by
+ * scripted {@link FakeResponse responses} matched by the query text, unmatched queries succeed without result sets.
+ *
+ * @author Egor Kuleshov
+ */
+public class FakeTableService extends TableServiceGrpc.TableServiceImplBase {
+    private static final int SCAN_PART_ROWS = 100;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fake-table-service");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final List<Rule> rules = new CopyOnWriteArrayList<>();
+    private final Set<String> sessions = ConcurrentHashMap.newKeySet();
+    private final Map<String, String> transactions = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicInteger createdSessions = new AtomicInteger();
+    private final AtomicInteger dataQueries = new AtomicInteger();
+    private final AtomicInteger scanQueries = new AtomicInteger();
+    private final AtomicInteger commits = new AtomicInteger();
+    private final AtomicInteger rollbacks = new AtomicInteger();
+    private volatile Duration operationTimeout = Duration.ZERO;
+
+    /**
+     * Queries containing the fragment are answered by the response, the first registered matching rule wins.
+     */
+    public FakeTableService on(String yqlFragment, FakeResponse response) {
+        return on(yql -> yql.contains(yqlFragment), response);
+    }
+
+    public FakeTableService on(Predicate<String> yql, FakeResponse response) {
+        rules.add(new Rule(yql, response));
+        return this;
+    }
+
+    public int getCreatedSessions() {
+        return createdSessions.get();
+    }
+
+    public int getActiveSessions() {
+        return sessions.size();
+    }
+
+    public int getDataQueries() {
+        return dataQueries.get();
+    }
+
+    public int getScanQueries() {
+        return scanQueries.get();
+    }
+
+    public int getCommits() {
+        return commits.get();
+    }
+
+    public int getRollbacks() {
+        return rollbacks.get();
+    }
+
+    /**
+     * @return operation timeout of the last data query, zero if it was not set
+     */
+    public Duration getOperationTimeout() {
+        return operationTimeout;
+    }
+
+    public int getActiveTransactions() {
+        return transactions.size();
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public void createSession(YdbTable.CreateSessionRequest request,
+                              StreamObserver<YdbTable.CreateSessionResponse> responseObserver) {
+        String sessionId = "fake-session-" + ids.incrementAndGet();
+        sessions.add(sessionId);
+        createdSessions.incrementAndGet();
+
+        respond(responseObserver, YdbTable.CreateSessionResponse.newBuilder()
+                .setOperation(success(YdbTable.CreateSessionResult.newBuilder().setSessionId(sessionId).build()))
+                .build());
+    }
+
+    @Override
+    public void deleteSession(YdbTable.DeleteSessionRequest request,
+                              StreamObserver<YdbTable.DeleteSessionResponse> responseObserver) {
+        sessions.remove(request.getSessionId());
+        transactions.values().removeIf(request.getSessionId()::equals);
+
+        respond(responseObserver, YdbTable.DeleteSessionResponse.newBuilder()
+                .setOperation(operation(StatusCode.SUCCESS, null))
+                .build());
+    }
+
+    @Override
+    public void keepAlive(YdbTable.KeepAliveRequest request,
+                          StreamObserver<YdbTable.KeepAliveResponse> responseObserver) {
+        OperationProtos.Operation operation = sessions.contains(request.getSessionId())
+                ? success(YdbTable.KeepAliveResult.newBuilder()
+                .setSessionStatus(YdbTable.KeepAliveResult.SessionStatus.SESSION_STATUS_READY)
+                .build())
+                : operation(StatusCode.BAD_SESSION, null);
+
+        respond(responseObserver, YdbTable.KeepAliveResponse.newBuilder().setOperation(operation).build());
+    }
+
+    @Override
+    public void executeDataQuery(YdbTable.ExecuteDataQueryRequest request,
+                                 StreamObserver<YdbTable.ExecuteDataQueryResponse> responseObserver) {
+        dataQueries.incrementAndGet();
+        operationTimeout = Duration.ofSeconds(request.getOperationParams().getOperationTimeout().getSeconds(),
+                request.getOperationParams().getOperationTimeout().getNanos());
+        FakeResponse response = match(request.getQuery().getYqlText());
+
+        respond(responseObserver, response, () -> {
+            OperationProtos.Operation operation;
+            if (!sessions.contains(request.getSessionId())) {
+                operation = operation(StatusCode.BAD_SESSION, null);
+            } else if (response.getStatus() != StatusCode.SUCCESS) {
+                transactions.values().removeIf(request.getSessionId()::equals);
+                operation = operation(response.getStatus(), null);
+            } else {
+                YdbTable.TransactionControl txControl = request.getTxControl();
+                String txId = txControl.hasBeginTx() ? beginTransaction(request.getSessionId()) : txControl.getTxId();
+
+                if (!transactions.containsKey(txId)) {
+                    operation = operation(StatusCode.NOT_FOUND, null);
+                } else {
+                    if (txControl.getCommitTx()) {
+                        transactions.remove(txId);
+                        commits.incrementAndGet();
+                        txId = "";
+                    }
+                    operation = success(YdbTable.ExecuteQueryResult.newBuilder()
+                            .addAllResultSets(response.getResultSets())
+                            .setTxMeta(YdbTable.TransactionMeta.newBuilder().setId(txId))
+                            .build());
+                }
+            }
+
+            return YdbTable.ExecuteDataQueryResponse.newBuilder().setOperation(operation).build();
+        });
+    }
+
+    @Override
+    public void executeSchemeQuery(YdbTable.ExecuteSchemeQueryRequest request,
+                                   StreamObserver<YdbTable.ExecuteSchemeQueryResponse> responseObserver) {
+        FakeResponse response = match(request.getYqlText());
+
+        respond(responseObserver, response, () -> YdbTable.ExecuteSchemeQueryResponse.newBuilder()
+                .setOperation(operation(response.getStatus(), null))
+                .build());
+    }
+
+    @Override
+    public void beginTransaction(YdbTable.BeginTransactionRequest request,
+                                 StreamObserver<YdbTable.BeginTransactionResponse> responseObserver) {
+        OperationProtos.Operation operation = sessions.contains(request.getSessionId())
+                ? success(YdbTable.BeginTransactionResult.newBuilder()
+                .setTxMeta(YdbTable.TransactionMeta.newBuilder().setId(beginTransaction(request.getSessionId())))
+                .build())
+                : operation(StatusCode.BAD_SESSION, null);
+
+        respond(responseObserver, YdbTable.BeginTransactionResponse.newBuilder().setOperation(operation).build());
+    }
+
+    @Override
+    public void commitTransaction(YdbTable.CommitTransactionRequest request,
+                                  StreamObserver<YdbTable.CommitTransactionResponse> responseObserver) {
+        boolean committed = transactions.remove(request.getTxId()) != null;
+        if (committed) {
+            commits.incrementAndGet();
+        }
+
+        respond(responseObserver, YdbTable.CommitTransactionResponse.newBuilder()
+                .setOperation(committed
+                        ? success(YdbTable.CommitTransactionResult.getDefaultInstance())
+                        : operation(StatusCode.NOT_FOUND, null))
+                .build());
+    }
+
+    @Override
+    public void rollbackTransaction(YdbTable.RollbackTransactionRequest request,
+                                    StreamObserver<YdbTable.RollbackTransactionResponse> responseObserver) {
+        boolean rolledBack = transactions.remove(request.getTxId()) != null;
+        if (rolledBack) {
+            rollbacks.incrementAndGet();
+        }
+
+        respond(responseObserver, YdbTable.RollbackTransactionResponse.newBuilder()
+                .setOperation(operation(rolledBack ? StatusCode.SUCCESS : StatusCode.NOT_FOUND, null))
+                .build());
+    }
+
+    /**
+     * Streams the full result sets of the matched response, split into parts.
+     */
+    @Override
+    public void streamExecuteScanQuery(YdbTable.ExecuteScanQueryRequest request,
+                                       StreamObserver<YdbTable.ExecuteScanQueryPartialResponse> responseObserver) {
+        scanQueries.incrementAndGet();
+        FakeResponse response = match(request.getQuery().getYqlText());
+
+        schedule(response, () -> {
+            if (response.getStatus() != StatusCode.SUCCESS) {
+                responseObserver.onNext(YdbTable.ExecuteScanQueryPartialResponse.newBuilder()
+                        .setStatus(status(response.getStatus()))
+                        .addIssues(issue(response.getStatus()))
+                        .build());
+                responseObserver.onCompleted();
+                return;
+            }
+
+            for (ValueProtos.ResultSet resultSet : response.getResultSets()) {
+                int from = 0;
+                do {
+                    int to = Math.min(resultSet.getRowsCount(), from + SCAN_PART_ROWS);
+                    responseObserver.onNext(YdbTable.ExecuteScanQueryPartialResponse.newBuilder()
+                            .setStatus(StatusCodesProtos.StatusIds.StatusCode.SUCCESS)
+                            .setResult(YdbTable.ExecuteScanQueryPartialResult.newBuilder()
+                                    .setResultSet(ValueProtos.ResultSet.newBuilder()
+                                            .addAllColumns(resultSet.getColumnsList())
+                                            .addAllRows(resultSet.getRowsList().subList(from, to))))
+                            .build());
+                    from = to;
+                } while (from < resultSet.getRowsCount());
+            }
+            responseObserver.onCompleted();
+        });
+    }
+
+    private FakeResponse match(String yql) {
+        for (Rule rule : rules) {
+            if (rule.yql.test(yql)) {
+                return rule.response;
+            }
+        }
+
+        return FakeResponse.empty();
+    }
+
+    private String beginTransaction(String sessionId) {
+        String txId = "fake-tx-" + ids.incrementAndGet();
+        transactions.put(txId, sessionId);
+        return txId;
+    }
+
+    private <T> void respond(StreamObserver<T> responseObserver, T response) {
+        responseObserver.onNext(response);
+        responseObserver.onCompleted();
+    }
+
+    private <T> void respond(StreamObserver<T> responseObserver, FakeResponse response, Supplier<T> supplier) {
+        schedule(response, () -> respond(responseObserver, supplier.get()));
+    }
+
+    private void schedule(FakeResponse response, Runnable action) {
+        if (response.getLatency().isZero()) {
+            action.run();
+        } else {
+            scheduler.schedule(action, response.getLatency().toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static OperationProtos.Operation success(Message result) {
+        return operation(StatusCode.SUCCESS, result);
+    }
+
+    private static OperationProtos.Operation operation(StatusCode status, Message result) {
+        OperationProtos.Operation.Builder builder = OperationProtos.Operation.newBuilder()
+                .setId("fake-operation")
+                .setReady(true)
+                .setStatus(status(status));
+        if (status != StatusCode.SUCCESS) {
+            builder.addIssues(issue(status));
+        }
+        if (result != null) {
+            builder.setResult(Any.pack(result));
+        }
+
+        return builder.build();
+    }
+
+    private static StatusCodesProtos.StatusIds.StatusCode status(StatusCode status) {
+        return StatusCodesProtos.StatusIds.StatusCode.forNumber(status.getCode());
+    }
+
+    private static YdbIssueMessage.IssueMessage issue(StatusCode status) {
+        return YdbIssueMessage.IssueMessage.newBuilder()
+                .setMessage("Scripted " + status)
+                .build();
+    }
+
+    private static final class Rule {
+        private final Predicate<String> yql;
+        private final FakeResponse response;
+
+        private Rule(Predicate<String> yql, FakeResponse response) {
+            this.yql = yql;
+            this.response = response;
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.helper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.grpc.CallOptions;
+import io.grpc.ClientCall;
+import io.grpc.ManagedChannel;
+import io.grpc.MethodDescriptor;
+import io.grpc.Server;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.ClientCalls;
+import io.grpc.stub.StreamObserver;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.grpc.GrpcReadStream;
+import tech.ydb.core.grpc.GrpcReadWriteStream;
+import tech.ydb.core.grpc.GrpcRequestSettings;
+import tech.ydb.core.grpc.GrpcTransport;
+
+/**
+ * Transport to a {@link FakeTableService} served by an in-process gRPC server, usable as
+ * {@link tech.ydb.io.r2dbc.options.ConnectionOptions#TRANSPORT}.
+ *
+ * @author Egor Kuleshov
+ */
+public class FakeTransport implements GrpcTransport {
+    private static final String DATABASE = "/local";
+
+    private final FakeTableService service;
+    private final Server server;
+    private final ManagedChannel channel;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "fake-transport");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public FakeTransport(FakeTableService service) {
+        this(service, false);
+    }
+
+    /**
+     * @param service served table service
+     * @param directExecutor handle calls in the calling thread, responses without latency complete before the call
+     *                       returns
+     */
+    public FakeTransport(FakeTableService service, boolean directExecutor) {
+        String name = InProcessServerBuilder.generateName();
+        InProcessServerBuilder serverBuilder = InProcessServerBuilder.forName(name);
+        InProcessChannelBuilder channelBuilder = InProcessChannelBuilder.forName(name);
+        if (directExecutor) {
+            serverBuilder.directExecutor();
+            channelBuilder.directExecutor();
+        }
+
+        this.service = service;
+        try {
+            this.server = serverBuilder
+                    .addService(service)
+                    .build()
+                    .start();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        this.channel = channelBuilder.build();
+    }
+
+    @Override
+    public <ReqT, RespT> CompletableFuture<Result<RespT>> unaryCall(MethodDescriptor<ReqT, RespT> method,
+                                                                   GrpcRequestSettings settings, ReqT request) {
+        CompletableFuture<Result<RespT>> result = new CompletableFuture<>();
+        ClientCalls.asyncUnaryCall(channel.newCall(method, callOptions(settings)), request,
+                new StreamObserver<>() {
+                    @Override
+                    public void onNext(RespT value) {
+                        result.complete(Result.success(value));
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        result.complete(Result.fail(status(t)));
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                    }
+                });
+
+        return result;
+    }
+
+    @Override
+    public <ReqT, RespT> GrpcReadStream<RespT> readStreamCall(MethodDescriptor<ReqT, RespT> method,
+                                                            GrpcRequestSettings settings, ReqT request) {
+        ClientCall<ReqT, RespT> call = channel.newCall(method, callOptions(settings));
+
+        return new GrpcReadStream<>() {
+            @Override
+            public CompletableFuture<Status> start(Observer<RespT> observer) {
+                CompletableFuture<Status> result = new CompletableFuture<>();
+                ClientCalls.asyncServerStreamingCall(call, request, new StreamObserver<>() {
+                    @Override
+                    public void onNext(RespT value) {
+                        observer.onNext(value);
+                    }
+
+                    @Override
+                    public void onError(Throwable t) {
+                        result.complete(status(t));
+                    }
+
+                    @Override
+                    public void onCompleted() {
+                        result.complete(Status.SUCCESS);
+                    }
+                });
+
+                return result;
+            }
+
+            @Override
+            public void cancel() {
+                call.cancel("Cancelled by client", null);
+            }
+        };
+    }
+
+    @Override
+    public <ReqT, RespT> GrpcReadWriteStream<RespT, ReqT> readWriteStreamCall(MethodDescriptor<ReqT, RespT> method,
+                                                                              GrpcRequestSettings settings) {
+        throw new UnsupportedOperationException("Bidirectional streams are not supported by the fake service");
+    }
+
+    @Override
+    public String getDatabase() {
+        return DATABASE;
+    }
+
+    @Override
+    public ScheduledExecutorService getScheduler() {
+        return scheduler;
+    }
+
+    @Override
+    public void close() {
+        channel.shutdownNow();
+        server.shutdownNow();
+        scheduler.shutdownNow();
+        service.shutdown();
+    }
+
+    private static CallOptions callOptions(GrpcRequestSettings settings) {
+        if (settings.getDeadlineAfter() > 0) {
+            return CallOptions.DEFAULT.withDeadlineAfter(settings.getDeadlineAfter() - System.nanoTime(),
+                    TimeUnit.NANOSECONDS);
+        }
+
+        return CallOptions.DEFAULT;
+    }
+
+    private static Status status(Throwable t) {
+        switch (io.grpc.Status.fromThrowable(t).getCode()) {
+            case DEADLINE_EXCEEDED:
+                return Status.of(StatusCode.CLIENT_DEADLINE_EXCEEDED);
+            case CANCELLED:
+                return Status.of(StatusCode.CLIENT_CANCELLED);
+            default:
+                return Status.of(StatusCode.TRANSPORT_UNAVAILABLE);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.io.r2dbc.logging.QueryTrace;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.io.r2dbc.tracing.Tracing;
+import tech.ydb.io.r2dbc.tracing.YdbSpan;
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.table.Session;
+import tech.ydb.table.result.impl.ProtoValueReaders;
+import tech.ydb.table.values.PrimitiveType;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class JfrEventsUnitTest {
+    private static final String TEST_QUERY = "SELECT 1;";
+
+    @Test
+    public void dataQueryEventTest() throws IOException {
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getId()).thenReturn("test_session");
+
+        List<RecordedEvent> events = record(() -> {
+            QueryTrace trace = Tracing.startQuery(JfrTracer.INSTANCE, Context.empty(), TEST_QUERY,
+                    List.of(OperationType.SELECT), YdbTxSettings.defaultSettings(), null);
+            Tracing.trace(JfrTracer.INSTANCE, Tracing.SESSION_ACQUIRE, span -> Mono.just(session))
+                    .contextWrite(trace::contextWrite)
+                    .block();
+            trace.onSession(session);
+            trace.onExecuted();
+            trace.onResults(Flux.just(YdbResult.UPDATE_RESULT))
+                    .as(StepVerifier::create)
+                    .expectNextCount(1)
+                    .verifyComplete();
+        });
+
+        RecordedEvent sessionAcquire = event(events, "tech.ydb.r2dbc.SessionAcquire");
+        Assertions.assertEquals("SUCCESS", sessionAcquire.getString("status"));
+        RecordedEvent dataQuery = event(events, "tech.ydb.r2dbc.DataQuery");
+        Assertions.assertEquals(Tracing.fingerprint(TEST_QUERY), dataQuery.getString("fingerprint"));
+        Assertions.assertEquals("SELECT", dataQuery.getString("operationTypes"));
+        Assertions.assertEquals("test_session", dataQuery.getString("sessionId"));
+        Assertions.assertEquals("SUCCESS", dataQuery.getString("status"));
+        Assertions.assertEquals(0, dataQuery.getLong("rows"));
+        Assertions.assertTrue(dataQuery.getLong("sessionWait") > 0);
+        Assertions.assertTrue(dataQuery.getDuration().toNanos() >= dataQuery.getLong("sessionWait"));
+    }
+
+    @Test
+    public void commitEventTest() throws IOException {
+        List<RecordedEvent> events = record(() -> Tracing.trace(JfrTracer.INSTANCE, Tracing.TRANSACTION_COMMIT,
+                        span -> {
+                            span.setAttribute(Tracing.TX_ID, "test_tx");
+                            return Mono.error(new UnexpectedResultException("test", Status.of(StatusCode.ABORTED)));
+                        })
+                .as(StepVerifier::create)
+                .verifyError(UnexpectedResultException.class));
+
+        RecordedEvent commit = event(events, "tech.ydb.r2dbc.Commit");
+        Assertions.assertEquals("test_tx", commit.getString("txId"));
+        Assertions.assertEquals("ABORTED", commit.getString("status"));
+    }
+
+    @Test
+    public void resultDecodingEventTest() throws IOException {
+        ValueProtos.ResultSet.Builder resultSet = ValueProtos.ResultSet.newBuilder()
+                .addColumns(ValueProtos.Column.newBuilder().setName("id").setType(PrimitiveType.Int32.toPb()));
+        for (int id = 0; id < 10; id++) {
+            resultSet.addRows(ValueProtos.Value.newBuilder().addItems(ValueProtos.Value.newBuilder().setInt32Value(id)));
+        }
+
+        List<RecordedEvent> events = record(() ->
+                new YdbResult(ProtoValueReaders.forResultSet(resultSet.build()), false)
+                        .map((row, rowMetadata) -> row.get(0))
+                        .as(StepVerifier::create)
+                        .expectNextCount(10)
+                        .verifyComplete());
+
+        RecordedEvent decoding = event(events, "tech.ydb.r2dbc.ResultDecoding");
+        Assertions.assertEquals(1, decoding.getInt("columns"));
+        Assertions.assertEquals(10, decoding.getLong("rows"));
+        Assertions.assertEquals("SUCCESS", decoding.getString("status"));
+        Assertions.assertTrue(decoding.getLong("decodingTime") > 0);
+    }
+
+    @Test
+    public void disabledEventsTest() {
+        Assertions.assertSame(YdbSpan.NOOP, JfrTracer.INSTANCE.startSpan(Tracing.QUERY, Context.empty()));
+        Assertions.assertSame(ResultDecodingRecorder.NOOP, JfrEvents.startDecoding(1));
+    }
+
+    private static RecordedEvent event(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No event " + name + " in " + events));
+    }
+
+    private static List<RecordedEvent> record(Runnable runnable) throws IOException {
+        Path file = Files.createTempFile("ydb-r2dbc", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("tech.ydb.r2dbc.*");
+            recording.start();
+            runnable.run();
+            recording.stop();
+            recording.dump(file);
+
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.logging;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import reactor.util.Logger;
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.table.Session;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.values.PrimitiveValue;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class SlowQueryLoggerUnitTest {
+    private static final Params PARAMS = Params.of("$id", PrimitiveValue.newInt64(42));
+
+    @Test
+    public void logTest() {
+        Logger logger = enabledLogger();
+        SlowQueryLogger slowQueryLogger = new SlowQueryLogger(Duration.ZERO, 1, false, logger);
+
+        execute(slowQueryLogger.start("SELECT 1", PARAMS, YdbTxSettings.defaultSettings(), null));
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(logger).warn(message.capture());
+        Assertions.assertTrue(message.getValue().contains("rows 0"), message.getValue());
+        Assertions.assertTrue(message.getValue().contains("session test_session"), message.getValue());
+        Assertions.assertTrue(message.getValue().contains("tx SERIALIZABLE_READ_WRITE"), message.getValue());
+        Assertions.assertTrue(message.getValue().contains("parameters [$id: Int64]"), message.getValue());
+        Assertions.assertTrue(message.getValue().endsWith(": SELECT 1"), message.getValue());
+    }
+
+    @Test
+    public void logParameterValuesTest() {
+        Logger logger = enabledLogger();
+        SlowQueryLogger slowQueryLogger = new SlowQueryLogger(Duration.ZERO, 1, true, logger);
+
+        execute(slowQueryLogger.start("SELECT 1", PARAMS, YdbTxSettings.defaultSettings(), "test_tx"));
+
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(logger).warn(message.capture());
+        Assertions.assertTrue(message.getValue().contains("tx SERIALIZABLE_READ_WRITE test_tx"), message.getValue());
+        Assertions.assertTrue(message.getValue().contains("parameters [$id: Int64 = 42]"), message.getValue());
+    }
+
+    @Test
+    public void logErrorTest() {
+        Logger logger = enabledLogger();
+        SlowQueryLogger slowQueryLogger = new SlowQueryLogger(Duration.ZERO, 1, false, logger);
+        IllegalStateException error = new IllegalStateException();
+
+        QueryTrace trace = slowQueryLogger.start("SELECT 1", PARAMS, YdbTxSettings.defaultSettings(), null);
+        trace.onError(error);
+        trace.onError(error);
+
+        verify(logger).warn(anyString(), any(Throwable.class));
+    }
+
+    @Test
+    public void thresholdTest() {
+        Logger logger = enabledLogger();
+        SlowQueryLogger slowQueryLogger = new SlowQueryLogger(Duration.ofHours(1), 1, false, logger);
+
+        execute(slowQueryLogger.start("SELECT 1", PARAMS, YdbTxSettings.defaultSettings(), null));
+
+        verify(logger, never()).warn(anyString());
+    }
+
+    @Test
+    public void streamedResultTest() {
+        Logger logger = enabledLogger();
+        SlowQueryLogger slowQueryLogger = new SlowQueryLogger(Duration.ZERO, 1, false, logger);
+        QueryTrace trace = slowQueryLogger.start("SELECT 1", PARAMS, YdbTxSettings.defaultSettings(), null);
+
+        YdbResult result = trace.onResults(Flux.just(new YdbResult(Flux.<ResultSetReader>empty(), Codecs.EMPTY)))
+                .blockLast();
+        verify(logger, never()).warn(anyString());
+
+        Flux.from(result.getRowsUpdated()).blockLast();
+        verify(logger).warn(anyString());
+    }
+
+    @Test
+    public void disabledTest() {
+        Logger logger = enabledLogger();
+
+        Assertions.assertSame(QueryTrace.NOOP, new SlowQueryLogger(Duration.ZERO, 0, false, logger)
+                .start("SELECT 1", PARAMS, YdbTxSettings.defaultSettings(), null));
+        Assertions.assertSame(QueryTrace.NOOP, SlowQueryLogger.DISABLED
+                .start("SELECT 1", PARAMS, YdbTxSettings.defaultSettings(), null));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new SlowQueryLogger(Duration.ZERO, 2, false));
+    }
+
+    private static void execute(QueryTrace trace) {
+        Session session = mock(Session.class);
+        when(session.getId()).thenReturn("test_session");
+
+        trace.onSession(session);
+        trace.onExecuted();
+        trace.onResults(Flux.just(YdbResult.UPDATE_RESULT))
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    private static Logger enabledLogger() {
+        Logger logger = mock(Logger.class);
+        when(logger.isWarnEnabled()).thenReturn(true);
+
+        return logger;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.parameter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.ydb.table.values.DecimalType;
+import tech.ydb.table.values.DecimalValue;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class DecimalParametersUnitTest {
+    @Test
+    public void unscaledTest() {
+        DecimalValue value = DecimalParameters.of(1234, 2);
+
+        Assertions.assertEquals(DecimalType.of(22, 2), value.getType());
+        Assertions.assertEquals(new BigDecimal("12.34"), value.toBigDecimal());
+        Assertions.assertSame(value, YdbParameterResolver.resolve(value));
+    }
+
+    @Test
+    public void precisionTest() {
+        DecimalValue value = DecimalParameters.of(-5, 35, 10);
+
+        Assertions.assertEquals(DecimalType.of(35, 10), value.getType());
+        Assertions.assertEquals(new BigDecimal("-0.0000000005"), value.toBigDecimal());
+    }
+
+    @Test
+    public void bitsTest() {
+        DecimalValue value = DecimalParameters.of(1L, 0L, 35, 0);
+
+        Assertions.assertEquals(new BigDecimal(BigInteger.ONE.shiftLeft(64)),
+                value.toBigDecimal());
+    }
+
+    @Test
+    public void bigDecimalTest() {
+        DecimalValue value = DecimalParameters.of(new BigDecimal("1.5"), 10, 3);
+
+        Assertions.assertEquals(DecimalType.of(10, 3), value.getType());
+        Assertions.assertEquals(1500L, value.getLow());
+        Assertions.assertThrows(ArithmeticException.class,
+                () -> DecimalParameters.of(new BigDecimal("1.2345"), 10, 3));
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.parameter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import com.google.protobuf.ByteString;
+import io.r2dbc.spi.Parameters;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import tech.ydb.io.r2dbc.codec.Codec;
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.type.YdbType;
+import tech.ydb.table.values.ListType;
+import tech.ydb.table.values.ListValue;
+import tech.ydb.table.values.PrimitiveType;
+import tech.ydb.table.values.StructType;
+import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.Type;
+import tech.ydb.table.values.Value;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class YdbParameterResolverUnitTest {
+    @Test
+    public void resolveSubclassTest() {
+        Instant instant = Instant.parse("2024-01-01T10:00:00Z");
+
+        Assertions.assertEquals(PrimitiveValue.newTimestamp(instant),
+                YdbParameterResolver.resolve(Timestamp.from(instant)));
+        Assertions.assertEquals(YdbType.TIMESTAMP, YdbParameterResolver.resolveClass(Timestamp.class));
+    }
+
+    @Test
+    public void resolveInterfaceTest() {
+        Assertions.assertEquals(PrimitiveValue.newText("test"),
+                YdbParameterResolver.resolve(new StringBuilder("test")));
+        Assertions.assertEquals(YdbType.TEXT, YdbParameterResolver.resolveClass(StringBuilder.class));
+    }
+
+    @Test
+    public void resolveBinaryTest() {
+        byte[] bytes = "test".getBytes(StandardCharsets.UTF_8);
+
+        Assertions.assertEquals(PrimitiveValue.newBytes(bytes), YdbParameterResolver.resolve(ByteBuffer.wrap(bytes)));
+        Assertions.assertEquals(PrimitiveValue.newBytes(bytes),
+                YdbParameterResolver.resolve(ByteBuffer.allocateDirect(bytes.length).put(bytes).flip()));
+        Assertions.assertEquals(PrimitiveValue.newBytes(bytes),
+                YdbParameterResolver.resolve(ByteString.copyFrom(bytes)));
+    }
+
+    @Test
+    public void resolveUnknownClassTest() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> YdbParameterResolver.resolve(new Object()));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> YdbParameterResolver.resolveEmptyValue(Thread.class));
+    }
+
+    @Test
+    public void resolveCollectionTest() {
+        ListValue expected = ListValue.of(PrimitiveValue.newInt64(1L), PrimitiveValue.newInt64(2L));
+
+        Assertions.assertEquals(expected, YdbParameterResolver.resolve(List.of(1L, 2L)));
+        Assertions.assertEquals(expected, YdbParameterResolver.resolve(new LinkedHashSet<>(List.of(1L, 2L))));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> YdbParameterResolver.resolve(List.of()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> YdbParameterResolver.resolve(List.of(1L, "2")));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> YdbParameterResolver.resolveEmptyValue(List.class));
+    }
+
+    @Test
+    public void resolveArrayTest() {
+        assertListEquals(ListValue.of(PrimitiveValue.newInt64(1L), PrimitiveValue.newInt64(2L)),
+                YdbParameterResolver.resolve(new long[]{1L, 2L}));
+        assertListEquals(ListValue.of(PrimitiveValue.newInt32(1), PrimitiveValue.newInt32(2)),
+                YdbParameterResolver.resolve(new int[]{1, 2}));
+        assertListEquals(ListValue.of(PrimitiveValue.newDouble(1.5)),
+                YdbParameterResolver.resolve(new double[]{1.5}));
+        assertListEquals(ListValue.of(PrimitiveValue.newText("a"), PrimitiveValue.newText("b")),
+                YdbParameterResolver.resolve(new String[]{"a", "b"}));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> YdbParameterResolver.resolve(new String[]{"a", null}));
+    }
+
+    @Test
+    public void resolveArrayCopyTest() {
+        long[] ids = new long[]{1L};
+        Value<?> value = YdbParameterResolver.resolve(ids);
+        ids[0] = 2L;
+
+        assertListEquals(ListValue.of(PrimitiveValue.newInt64(1L)), value);
+    }
+
+    @Test
+    public void resolveArrayAsListTest() {
+        ListValue list = YdbParameterResolver.resolve(new String[]{"a", "b"}).asList();
+
+        Assertions.assertEquals(2, list.size());
+        Assertions.assertEquals(PrimitiveValue.newText("b"), list.get(1));
+        Assertions.assertEquals(ListValue.of(PrimitiveValue.newInt64(1L)),
+                YdbParameterResolver.resolve(new long[]{1L}).asList());
+    }
+
+    private static void assertListEquals(ListValue expected, Value<?> actual) {
+        Assertions.assertEquals(expected.getType(), actual.getType());
+        Assertions.assertEquals(expected.toPb(), actual.toPb());
+    }
+
+    @Test
+    public void resolveRecordTest() {
+        StructType type = StructType.of("id", PrimitiveType.Int64, "name", PrimitiveType.Text.makeOptional());
+
+        Assertions.assertEquals(type.newValue("id", PrimitiveValue.newInt64(1L),
+                        "name", PrimitiveValue.newText("a").makeOptional()),
+                YdbParameterResolver.resolve(new Row(1L, "a")));
+        Assertions.assertEquals(ListValue.of(
+                        type.newValue("id", PrimitiveValue.newInt64(1L),
+                                "name", PrimitiveValue.newText("a").makeOptional()),
+                        type.newValue("id", PrimitiveValue.newInt64(2L),
+                                "name", PrimitiveType.Text.makeOptional().emptyValue())),
+                YdbParameterResolver.resolve(List.of(new Row(1L, "a"), new Row(2L, null))));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> YdbParameterResolver.resolve(new UnsupportedRow(new Object())));
+    }
+
+    @Test
+    public void resolveCodecTest() {
+        Codecs codecs = Codecs.of(List.of(new AmountCodec()));
+        StructType type = StructType.of("amount", PrimitiveType.Int64.makeOptional(), "id", PrimitiveType.Int64);
+
+        Assertions.assertEquals(PrimitiveValue.newInt64(1L),
+                YdbParameterResolver.resolve(Parameters.in(new Amount(1L)), codecs));
+        assertListEquals(ListValue.of(PrimitiveValue.newInt64(1L), PrimitiveValue.newInt64(2L)),
+                YdbParameterResolver.resolve(List.of(new Amount(1L), new Amount(2L)), codecs));
+        Assertions.assertEquals(type.newValue("amount", PrimitiveValue.newInt64(2L).makeOptional(),
+                        "id", PrimitiveValue.newInt64(1L)),
+                YdbParameterResolver.resolve(new AmountRow(1L, new Amount(2L)), codecs));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> YdbParameterResolver.resolve(new AmountRow(1L, null), codecs));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> YdbParameterResolver.resolve(new AmountRow(1L, new Amount(2L))));
+    }
+
+    @Test
+    public void resolveRecordListComponentTest() {
+        StructType type = StructType.of("id", PrimitiveType.Int64,
+                "tags", ListType.of(PrimitiveType.Text).makeOptional());
+
+        Assertions.assertEquals(type.newValue("id", PrimitiveValue.newInt64(1L),
+                        "tags", ListValue.of(PrimitiveValue.newText("a"), PrimitiveValue.newText("b")).makeOptional()),
+                YdbParameterResolver.resolve(new TaggedRow(1L, List.of("a", "b"))));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> YdbParameterResolver.resolve(new TaggedRow(1L, null)));
+    }
+
+    @Test
+    public void resolveNestedRecordTest() {
+        StructType rowType = StructType.of("id", PrimitiveType.Int64, "name", PrimitiveType.Text.makeOptional());
+        StructType type = StructType.of("id", PrimitiveType.Int64, "row", rowType.makeOptional());
+
+        Assertions.assertEquals(type.newValue("id", PrimitiveValue.newInt64(2L),
+                        "row", rowType.newValue("id", PrimitiveValue.newInt64(1L),
+                                "name", PrimitiveValue.newText("a").makeOptional()).makeOptional()),
+                YdbParameterResolver.resolve(new NestedRow(2L, new Row(1L, "a"))));
+    }
+
+    private record Row(long id, String name) {
+    }
+
+    private record TaggedRow(long id, List<String> tags) {
+    }
+
+    private record NestedRow(long id, Row row) {
+    }
+
+    private record AmountRow(long id, Amount amount) {
+    }
+
+    private static final class Amount {
+        private final long cents;
+
+        private Amount(long cents) {
+            this.cents = cents;
+        }
+    }
+
+    private static final class AmountCodec implements Codec<Amount> {
+        @Override
+        public Class<Amount> getJavaType() {
+            return Amount.class;
+        }
+
+        @Override
+        public boolean canDecode(Type ydbType) {
+            return ydbType == PrimitiveType.Int64;
+        }
+
+        @Override
+        public Value<?> encode(Amount value) {
+            return PrimitiveValue.newInt64(value.cents);
+        }
+
+        @Override
+        public Amount decode(Value<?> value) {
+            return new Amount(value.asData().getInt64());
+        }
+    }
+
+    private record UnsupportedRow(Object value) {
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.query;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.values.PrimitiveValue;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class FusedDataQueryUnitTest {
+    @Test
+    public void combineTest() {
+        FusedDataQuery query = new FusedDataQuery();
+        query.add("DECLARE $jp1 AS Int64;\nSELECT * FROM t WHERE id = $jp1",
+                Params.of("$jp1", PrimitiveValue.newInt64(1)), List.of(OperationType.SELECT));
+        query.add("DECLARE $jp1 AS Int64;\nDECLARE $jp2 AS Text;\nUPSERT INTO t (id, value) VALUES ($jp1, $jp2);",
+                Params.of("$jp1", PrimitiveValue.newInt64(2), "$jp2", PrimitiveValue.newText("test")),
+                List.of(OperationType.UPDATE));
+
+        Assertions.assertEquals("DECLARE $f0_jp1 AS Int64;\n"
+                + "DECLARE $f1_jp1 AS Int64;\n"
+                + "DECLARE $f1_jp2 AS Text;\n"
+                + "SELECT * FROM t WHERE id = $f0_jp1;\n"
+                + "UPSERT INTO t (id, value) VALUES ($f1_jp1, $f1_jp2);\n", query.getYql());
+        Assertions.assertEquals(PrimitiveValue.newInt64(1), query.getParams().values().get("$f0_jp1"));
+        Assertions.assertEquals(PrimitiveValue.newInt64(2), query.getParams().values().get("$f1_jp1"));
+        Assertions.assertEquals(PrimitiveValue.newText("test"), query.getParams().values().get("$f1_jp2"));
+        Assertions.assertEquals(List.of(OperationType.SELECT, OperationType.UPDATE), query.getOperationTypes());
+    }
+
+    @Test
+    public void resultsTest() {
+        FusedDataQuery query = new FusedDataQuery();
+        query.add("SELECT 1; SELECT 2;", Params.empty(), List.of(OperationType.SELECT, OperationType.SELECT));
+        query.add("UPSERT INTO t (id) VALUES (1);", Params.empty(), List.of(OperationType.UPDATE));
+        query.add("SELECT 3;", Params.empty(), List.of(OperationType.SELECT));
+
+        YdbResult first = Mockito.mock(YdbResult.class);
+        YdbResult second = Mockito.mock(YdbResult.class);
+        YdbResult third = Mockito.mock(YdbResult.class);
+        YdbResult fourth = Mockito.mock(YdbResult.class);
+        List<YdbResult> results = List.of(first, second, third, fourth);
+
+        Assertions.assertEquals(List.of(first, second), query.results(results, 0));
+        Assertions.assertEquals(List.of(third), query.results(results, 1));
+        Assertions.assertEquals(List.of(fourth), query.results(results, 2));
+    }
+
+    @Test
+    public void canFuseTest() {
+        Params params = Params.of("$jp1", PrimitiveValue.newInt64(1));
+
+        Assertions.assertTrue(FusedDataQuery.canFuse("SELECT * FROM t WHERE id = $jp1;", params));
+        Assertions.assertTrue(FusedDataQuery.canFuse("SELECT * FROM t;", Params.empty()));
+        Assertions.assertFalse(FusedDataQuery.canFuse("$ids = SELECT id FROM t; SELECT * FROM $ids;",
+                Params.empty()));
+        Assertions.assertFalse(FusedDataQuery.canFuse("SELECT * FROM t WHERE id = $id;", params));
+    }
+
+    @Test
+    public void pragmaTest() {
+        Assertions.assertFalse(FusedDataQuery.canFuse("PRAGMA TablePathPrefix(\"/local\");\nSELECT * FROM t;",
+                Params.empty()));
+        Assertions.assertFalse(FusedDataQuery.canFuse("/* hint */ pragma AnsiInForEmptyOrNullableItemsCollections;\n"
+                + "SELECT * FROM t;", Params.empty()));
+        Assertions.assertTrue(FusedDataQuery.canFuse("SELECT 'PRAGMA' AS pragma_name FROM t;", Params.empty()));
+    }
+
+    @Test
+    public void literalTest() {
+        Params params = Params.of("$id", PrimitiveValue.newInt64(1));
+        String yql = "DECLARE $id AS Int64;\nSELECT '$id' AS a, \"$id;\" AS b, `$id` AS c, $id AS d FROM t;";
+        Assertions.assertTrue(FusedDataQuery.canFuse(yql, params));
+
+        FusedDataQuery query = new FusedDataQuery();
+        query.add(yql, params, List.of(OperationType.SELECT));
+
+        Assertions.assertEquals("DECLARE $f0_id AS Int64;\n"
+                + "SELECT '$id' AS a, \"$id;\" AS b, `$id` AS c, $f0_id AS d FROM t;\n", query.getYql());
+        Assertions.assertFalse(FusedDataQuery.canFuse("SELECT '$id', $other FROM t;", params));
+    }
+
+    @Test
+    public void commentTest() {
+        Params params = Params.of("$id", PrimitiveValue.newInt64(1));
+        String yql = "-- DECLARE $other AS Int64;\n"
+                + "declare $id AS Int64;\n"
+                + "/* $other; */ SELECT $id -- $other;\n"
+                + ";";
+        Assertions.assertTrue(FusedDataQuery.canFuse(yql, params));
+
+        FusedDataQuery query = new FusedDataQuery();
+        query.add(yql, params, List.of(OperationType.SELECT));
+
+        Assertions.assertEquals("-- DECLARE $other AS Int64;\n"
+                + "declare $f0_id AS Int64;\n"
+                + "/* $other; */ SELECT $f0_id -- $other;\n"
+                + ";\n", query.getYql());
+    }
+}
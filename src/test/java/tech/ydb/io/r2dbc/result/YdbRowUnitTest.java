@@ -16,13 +16,22 @@
 
 package tech.ydb.io.r2dbc.result;
 
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.util.List;
 
+import com.google.protobuf.ByteString;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import tech.ydb.io.r2dbc.codec.Codec;
+import tech.ydb.io.r2dbc.codec.Codecs;
 import tech.ydb.io.r2dbc.type.YdbType;
+import tech.ydb.table.values.DecimalType;
 import tech.ydb.table.values.OptionalType;
+import tech.ydb.table.values.PrimitiveType;
 import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.Type;
+import tech.ydb.table.values.Value;
 
 /**
  * @author Egor Kuleshov
@@ -81,4 +90,98 @@ public class YdbRowUnitTest {
 
         Assertions.assertThrows(ClassCastException.class, () -> ydbRow.get("test", String.class));
     }
+
+    @Test
+    public void getByteBufferTest() {
+        ByteString bytes = ByteString.copyFromUtf8("blob");
+        YdbColumnMetadata ydbColumnMetadata = new YdbColumnMetadata(YdbType.BYTES.getYdbType(), "test");
+        YdbRowMetadata ydbRowMetadata = new YdbRowMetadata(List.of(ydbColumnMetadata));
+        YdbRow ydbRow = new YdbRow(ydbRowMetadata, List.of(PrimitiveValue.newBytes(bytes)));
+
+        ByteBuffer buffer = ydbRow.get("test", ByteBuffer.class);
+        Assertions.assertTrue(buffer.isReadOnly());
+        Assertions.assertEquals(bytes.asReadOnlyByteBuffer(), buffer);
+        Assertions.assertSame(bytes, ydbRow.get("test", ByteString.class));
+    }
+
+    @Test
+    public void getCharSequenceTest() {
+        String text = "text";
+        YdbColumnMetadata ydbColumnMetadata = new YdbColumnMetadata(YdbType.JSON.getYdbType(), "test");
+        YdbRowMetadata ydbRowMetadata = new YdbRowMetadata(List.of(ydbColumnMetadata));
+        YdbRow ydbRow = new YdbRow(ydbRowMetadata, List.of(PrimitiveValue.newJson(text)));
+
+        Assertions.assertEquals(text, ydbRow.get("test", CharSequence.class));
+        Assertions.assertThrows(ClassCastException.class, () -> ydbRow.get("test", ByteBuffer.class));
+    }
+
+    @Test
+    public void getCodecTest() {
+        Codec<StringBuilder> codec = new Codec<>() {
+            @Override
+            public Class<StringBuilder> getJavaType() {
+                return StringBuilder.class;
+            }
+
+            @Override
+            public boolean canDecode(Type ydbType) {
+                return ydbType == PrimitiveType.Text;
+            }
+
+            @Override
+            public Value<?> encode(StringBuilder value) {
+                return PrimitiveValue.newText(value.toString());
+            }
+
+            @Override
+            public StringBuilder decode(Value<?> value) {
+                return new StringBuilder(value.asData().getText());
+            }
+        };
+        OptionalType type = YdbType.TEXT.getYdbType().makeOptional();
+        YdbColumnMetadata ydbColumnMetadata = new YdbColumnMetadata(type, "test");
+        YdbRowMetadata ydbRowMetadata = new YdbRowMetadata(List.of(ydbColumnMetadata), Codecs.of(List.of(codec)));
+        YdbRow ydbRow = new YdbRow(ydbRowMetadata, List.of(type.newValue(PrimitiveValue.newText("text"))));
+
+        Assertions.assertEquals("text", ydbRow.get(0, StringBuilder.class).toString());
+        Assertions.assertEquals("text", ydbRow.get(0, String.class));
+        Assertions.assertEquals("text", ydbRow.get(0));
+    }
+
+    @Test
+    public void getUnscaledDecimalTest() {
+        DecimalType type = DecimalType.of(35, 2);
+        YdbColumnMetadata ydbColumnMetadata = new YdbColumnMetadata(type.makeOptional(), "test");
+        YdbRowMetadata ydbRowMetadata = new YdbRowMetadata(List.of(ydbColumnMetadata));
+        YdbRow ydbRow = new YdbRow(ydbRowMetadata, List.of(type.newValue(new BigDecimal("-12.34"))));
+
+        Assertions.assertEquals(YdbType.DECIMAL, ydbColumnMetadata.getType());
+        Assertions.assertEquals(new BigDecimal("-12.34"), ydbRow.get("test", BigDecimal.class));
+        Assertions.assertEquals(-1234L, ydbRow.getUnscaledLong("test"));
+        Assertions.assertEquals(-1L, ydbRow.getUnscaledHigh(0));
+        Assertions.assertEquals(-1234L, ydbRow.getUnscaledLow(0));
+    }
+
+    @Test
+    public void getUnscaledDecimalOverflowTest() {
+        DecimalType type = DecimalType.of(35, 0);
+        YdbColumnMetadata ydbColumnMetadata = new YdbColumnMetadata(type, "test");
+        YdbRowMetadata ydbRowMetadata = new YdbRowMetadata(List.of(ydbColumnMetadata));
+        YdbRow ydbRow = new YdbRow(ydbRowMetadata, List.of(type.newValue(1L, 0L)));
+
+        Assertions.assertThrows(ArithmeticException.class, () -> ydbRow.getUnscaledLong(0));
+        Assertions.assertEquals(1L, ydbRow.getUnscaledHigh(0));
+        Assertions.assertEquals(0L, ydbRow.getUnscaledLow(0));
+    }
+
+    @Test
+    public void getUnscaledDecimalNullTest() {
+        OptionalType type = DecimalType.getDefault().makeOptional();
+        YdbColumnMetadata ydbColumnMetadata = new YdbColumnMetadata(type, "test");
+        YdbRowMetadata ydbRowMetadata = new YdbRowMetadata(List.of(ydbColumnMetadata));
+        YdbRow ydbRow = new YdbRow(ydbRowMetadata, List.of(type.emptyValue()));
+
+        Assertions.assertNull(ydbRow.get(0, BigDecimal.class));
+        Assertions.assertThrows(NullPointerException.class, () -> ydbRow.getUnscaledLong(0));
+    }
 }
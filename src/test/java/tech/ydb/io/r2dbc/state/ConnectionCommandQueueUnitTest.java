@@ -0,0 +1,200 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.state;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.values.PrimitiveValue;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class ConnectionCommandQueueUnitTest {
+    private final YdbConnectionState first = Mockito.mock(YdbConnectionState.class);
+    private final YdbConnectionState second = Mockito.mock(YdbConnectionState.class);
+
+    @Test
+    public void orderTest() {
+        ConnectionCommandQueue queue = new ConnectionCommandQueue(first);
+        Sinks.One<NextStateResult<String>> firstResult = Sinks.one();
+        List<YdbConnectionState> seenStates = new ArrayList<>();
+
+        StepVerifier firstVerifier = queue.submit(state -> {
+                    seenStates.add(state);
+                    return firstResult.asMono();
+                })
+                .as(StepVerifier::create)
+                .expectNext("first")
+                .expectComplete()
+                .verifyLater();
+        StepVerifier secondVerifier = queue.submitInState(state -> {
+                    seenStates.add(state);
+                    return Mono.just("second");
+                })
+                .as(StepVerifier::create)
+                .expectNext("second")
+                .expectComplete()
+                .verifyLater();
+
+        Assertions.assertEquals(List.of(first), seenStates);
+
+        firstResult.tryEmitValue(new NextStateResult<>("first", second));
+
+        firstVerifier.verify();
+        secondVerifier.verify();
+        Assertions.assertEquals(List.of(first, second), seenStates);
+        Assertions.assertEquals(second, queue.getState());
+    }
+
+    @Test
+    public void errorKeepsStateTest() {
+        ConnectionCommandQueue queue = new ConnectionCommandQueue(first);
+
+        queue.transition(state -> Mono.error(new IllegalStateException("test")))
+                .as(StepVerifier::create)
+                .verifyError(IllegalStateException.class);
+        queue.transition(state -> {
+                    throw new IllegalArgumentException("test");
+                })
+                .as(StepVerifier::create)
+                .verifyError(IllegalArgumentException.class);
+
+        Assertions.assertEquals(first, queue.getState());
+
+        queue.transition(state -> Mono.just(second))
+                .as(StepVerifier::create)
+                .verifyComplete();
+
+        Assertions.assertEquals(second, queue.getState());
+    }
+
+    @Test
+    public void cancelledCommandCompletesTransitionTest() {
+        ConnectionCommandQueue queue = new ConnectionCommandQueue(first);
+        Sinks.One<YdbConnectionState> next = Sinks.one();
+
+        queue.transition(state -> next.asMono())
+                .as(StepVerifier::create)
+                .thenCancel()
+                .verify();
+        next.tryEmitValue(second);
+
+        Assertions.assertEquals(second, queue.getState());
+    }
+
+    @Test
+    public void fusionTest() {
+        InsideTransactionState inside = Mockito.mock(InsideTransactionState.class);
+        Mockito.when(inside.isStatementFusion()).thenReturn(true);
+        YdbResult selectResult = Mockito.mock(YdbResult.class);
+        YdbResult updateResult = Mockito.mock(YdbResult.class);
+        Mockito.when(inside.executeDataQuery(any(), any(), any(), any()))
+                .thenReturn(Mono.just(new NextStateResult<>(Flux.just(selectResult, updateResult), inside)));
+
+        ConnectionCommandQueue queue = new ConnectionCommandQueue(first);
+        Sinks.One<YdbConnectionState> begin = Sinks.one();
+        queue.transition(state -> begin.asMono()).subscribe();
+
+        StepVerifier selectVerifier = queue.submitDataQuery("DECLARE $jp1 AS Int64;\nSELECT * FROM t WHERE id = $jp1;",
+                        Params.of("$jp1", PrimitiveValue.newInt64(1)), List.of(OperationType.SELECT), null)
+                .flatMapMany(results -> results)
+                .as(StepVerifier::create)
+                .expectNext(selectResult)
+                .expectComplete()
+                .verifyLater();
+        StepVerifier updateVerifier = queue.submitDataQuery("UPSERT INTO t (id) VALUES (1);",
+                        Params.empty(), List.of(OperationType.UPDATE), null)
+                .flatMapMany(results -> results)
+                .as(StepVerifier::create)
+                .expectNext(updateResult)
+                .expectComplete()
+                .verifyLater();
+
+        begin.tryEmitValue(inside);
+
+        selectVerifier.verify();
+        updateVerifier.verify();
+        Mockito.verify(inside).executeDataQuery(
+                eq("DECLARE $f0_jp1 AS Int64;\nSELECT * FROM t WHERE id = $f0_jp1;\nUPSERT INTO t (id) VALUES (1);\n"),
+                any(), eq(List.of(OperationType.SELECT, OperationType.UPDATE)), any());
+    }
+
+    @Test
+    public void writeThenReadTest() {
+        InsideTransactionState inside = Mockito.mock(InsideTransactionState.class);
+        Mockito.when(inside.isStatementFusion()).thenReturn(true);
+        Mockito.when(inside.executeDataQuery(any(), any(), any(), any()))
+                .thenReturn(Mono.just(new NextStateResult<>(Flux.empty(), inside)));
+
+        ConnectionCommandQueue queue = new ConnectionCommandQueue(first);
+        Sinks.One<YdbConnectionState> begin = Sinks.one();
+        queue.transition(state -> begin.asMono()).subscribe();
+        queue.submitDataQuery("SELECT 1;", Params.empty(), List.of(OperationType.SELECT), null).subscribe();
+        queue.submitDataQuery("UPSERT INTO t (id) VALUES (1);", Params.empty(), List.of(OperationType.UPDATE), null)
+                .subscribe();
+        queue.submitDataQuery("SELECT * FROM t;", Params.empty(), List.of(OperationType.SELECT), null).subscribe();
+
+        begin.tryEmitValue(inside);
+
+        Mockito.verify(inside).executeDataQuery(eq("SELECT 1;\nUPSERT INTO t (id) VALUES (1);\n"), any(),
+                eq(List.of(OperationType.SELECT, OperationType.UPDATE)), any());
+        Mockito.verify(inside).executeDataQuery(eq("SELECT * FROM t;"), any(), any(), any());
+    }
+
+    @Test
+    public void withoutFusionTest() {
+        InsideTransactionState inside = Mockito.mock(InsideTransactionState.class);
+        Mockito.when(inside.executeDataQuery(any(), any(), any(), any()))
+                .thenReturn(Mono.just(new NextStateResult<>(Flux.empty(), inside)));
+
+        ConnectionCommandQueue queue = new ConnectionCommandQueue(first);
+        Sinks.One<YdbConnectionState> begin = Sinks.one();
+        queue.transition(state -> begin.asMono()).subscribe();
+        queue.submitDataQuery("SELECT 1;", Params.empty(), List.of(OperationType.SELECT), null).subscribe();
+        queue.submitDataQuery("SELECT 2;", Params.empty(), List.of(OperationType.SELECT), null).subscribe();
+
+        begin.tryEmitValue(inside);
+
+        Mockito.verify(inside).executeDataQuery(eq("SELECT 1;"), any(), any(), any());
+        Mockito.verify(inside).executeDataQuery(eq("SELECT 2;"), any(), any(), any());
+    }
+
+    @Test
+    public void contextTest() {
+        ConnectionCommandQueue queue = new ConnectionCommandQueue(first);
+
+        queue.submitInState(state -> Mono.deferContextual(context -> Mono.just(context.get("key"))))
+                .contextWrite(context -> context.put("key", "value"))
+                .as(StepVerifier::create)
+                .expectNext("value")
+                .verifyComplete();
+    }
+}
@@ -138,6 +138,8 @@ public class InsideTransactionStateUnitTest {
                 Result.fail(Status.of(StatusCode.ABORTED))
         ));
         YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        Mockito.when(ydbContext.getOperationsConfig())
+                .thenReturn(OperationsConfig.defaultConfig());
         YdbTxSettings ydbTxSettings = Mockito.mock(YdbTxSettings.class);
         Params params = Mockito.mock(Params.class);
 
@@ -193,6 +195,8 @@ public class InsideTransactionStateUnitTest {
         Mockito.when(session.commitTransaction(any(), any()))
                 .thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
         YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        Mockito.when(ydbContext.getOperationsConfig())
+                .thenReturn(OperationsConfig.defaultConfig());
         YdbTxSettings ydbTxSettings = Mockito.mock(YdbTxSettings.class);
 
         InsideTransactionState state = new InsideTransactionState(ydbContext, TEST_TX_ID, session, ydbTxSettings);
@@ -213,6 +217,8 @@ public class InsideTransactionStateUnitTest {
         Mockito.when(session.commitTransaction(any(), any()))
                 .thenReturn(CompletableFuture.completedFuture(Status.of(StatusCode.ABORTED)));
         YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        Mockito.when(ydbContext.getOperationsConfig())
+                .thenReturn(OperationsConfig.defaultConfig());
         YdbTxSettings ydbTxSettings = Mockito.mock(YdbTxSettings.class);
 
         InsideTransactionState state = new InsideTransactionState(ydbContext, TEST_TX_ID, session, ydbTxSettings);
@@ -232,6 +238,8 @@ public class InsideTransactionStateUnitTest {
         Mockito.when(session.rollbackTransaction(any(), any()))
                 .thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
         YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        Mockito.when(ydbContext.getOperationsConfig())
+                .thenReturn(OperationsConfig.defaultConfig());
         YdbTxSettings ydbTxSettings = Mockito.mock(YdbTxSettings.class);
 
         InsideTransactionState state = new InsideTransactionState(ydbContext, TEST_TX_ID, session, ydbTxSettings);
@@ -252,6 +260,8 @@ public class InsideTransactionStateUnitTest {
         Mockito.when(session.rollbackTransaction(any(), any()))
                 .thenReturn(CompletableFuture.completedFuture(Status.of(StatusCode.ABORTED)));
         YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        Mockito.when(ydbContext.getOperationsConfig())
+                .thenReturn(OperationsConfig.defaultConfig());
         YdbTxSettings ydbTxSettings = Mockito.mock(YdbTxSettings.class);
 
         InsideTransactionState state = new InsideTransactionState(ydbContext, TEST_TX_ID, session, ydbTxSettings);
@@ -271,6 +281,8 @@ public class InsideTransactionStateUnitTest {
         Mockito.when(session.commitTransaction(any(), any()))
                 .thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
         YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        Mockito.when(ydbContext.getOperationsConfig())
+                .thenReturn(OperationsConfig.defaultConfig());
         YdbTxSettings ydbTxSettings = Mockito.mock(YdbTxSettings.class);
 
         InsideTransactionState state = new InsideTransactionState(ydbContext, TEST_TX_ID, session, ydbTxSettings);
@@ -292,6 +304,8 @@ public class InsideTransactionStateUnitTest {
         Mockito.when(session.commitTransaction(any(), any()))
                 .thenReturn(CompletableFuture.completedFuture(Status.of(StatusCode.ABORTED)));
         YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        Mockito.when(ydbContext.getOperationsConfig())
+                .thenReturn(OperationsConfig.defaultConfig());
         YdbTxSettings ydbTxSettings = Mockito.mock(YdbTxSettings.class);
 
         InsideTransactionState state = new InsideTransactionState(ydbContext, TEST_TX_ID, session, ydbTxSettings);
@@ -481,6 +495,8 @@ public class InsideTransactionStateUnitTest {
         Mockito.when(session.commitTransaction(any(), any()))
                 .thenReturn(CompletableFuture.completedFuture(Status.SUCCESS));
         YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        Mockito.when(ydbContext.getOperationsConfig())
+                .thenReturn(OperationsConfig.defaultConfig());
         YdbTxSettings ydbTxSettings = Mockito.mock(YdbTxSettings.class);
 
         InsideTransactionState state = new InsideTransactionState(ydbContext, TEST_TX_ID, session, ydbTxSettings);
@@ -500,6 +516,8 @@ public class InsideTransactionStateUnitTest {
         Mockito.when(session.commitTransaction(any(), any()))
                 .thenReturn(CompletableFuture.completedFuture(Status.of(StatusCode.ABORTED)));
         YdbContext ydbContext = Mockito.mock(YdbContext.class);
+        Mockito.when(ydbContext.getOperationsConfig())
+                .thenReturn(OperationsConfig.defaultConfig());
         YdbTxSettings ydbTxSettings = Mockito.mock(YdbTxSettings.class);
 
         InsideTransactionState state = new InsideTransactionState(ydbContext, TEST_TX_ID, session, ydbTxSettings);
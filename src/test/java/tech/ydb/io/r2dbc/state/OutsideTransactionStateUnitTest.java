@@ -22,14 +22,19 @@ import java.util.concurrent.CompletableFuture;
 import io.r2dbc.spi.ValidationDepth;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 import reactor.test.StepVerifier;
 import tech.ydb.core.Result;
 import tech.ydb.core.Status;
 import tech.ydb.core.StatusCode;
 import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.core.grpc.GrpcReadStream;
 import tech.ydb.io.r2dbc.OperationsConfig;
 import tech.ydb.io.r2dbc.YdbContext;
+import tech.ydb.io.r2dbc.settings.YdbStatsMode;
+import tech.ydb.io.r2dbc.tracing.InMemoryTracer;
+import tech.ydb.io.r2dbc.tracing.Tracing;
 import tech.ydb.io.r2dbc.settings.YdbTxSettings;
 import tech.ydb.io.r2dbc.query.OperationType;
 import tech.ydb.io.r2dbc.result.YdbResult;
@@ -39,6 +44,9 @@ import tech.ydb.table.Session;
 import tech.ydb.table.impl.PooledTableClient;
 import tech.ydb.table.query.DataQueryResult;
 import tech.ydb.table.query.Params;
+import tech.ydb.table.query.stats.QueryStatsCollectionMode;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.settings.ExecuteDataQuerySettings;
 import tech.ydb.table.transaction.Transaction;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -92,6 +100,77 @@ public class OutsideTransactionStateUnitTest {
         Mockito.verify(session).close();
     }
 
+    @Test
+    public void executeDataQueryStatsModeTest() {
+        PooledTableClient tableClient = Mockito.mock(PooledTableClient.class);
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.executeDataQuery(any(), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(
+                Result.success(new DataQueryResult(YdbTable.ExecuteQueryResult.newBuilder().build()))
+        ));
+        Mockito.when(tableClient.createSession(any()))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(session)));
+        YdbContext ydbContext = new YdbContext(tableClient, OperationsConfig.defaultConfig());
+
+        OutsideTransactionState state = new OutsideTransactionState(ydbContext, Mockito.mock(YdbTxSettings.class));
+
+        state.executeDataQuery(TEST_QUERY, Params.empty(), List.of(OperationType.UPDATE), YdbStatsMode.FULL)
+                .flatMapMany(NextStateResult::getResult)
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .verifyComplete();
+        state.executeDataQuery(TEST_QUERY, Params.empty(), List.of(OperationType.UPDATE))
+                .flatMapMany(NextStateResult::getResult)
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .verifyComplete();
+
+        ArgumentCaptor<ExecuteDataQuerySettings> settings = ArgumentCaptor.forClass(ExecuteDataQuerySettings.class);
+        Mockito.verify(session, Mockito.times(2)).executeDataQuery(eq(TEST_QUERY), any(), any(), settings.capture());
+        Assertions.assertEquals(QueryStatsCollectionMode.FULL, settings.getAllValues().get(0).collectStats());
+        Assertions.assertNotEquals(QueryStatsCollectionMode.FULL, settings.getAllValues().get(1).collectStats());
+    }
+
+    @Test
+    public void executeDataQueryTracingTest() {
+        PooledTableClient tableClient = Mockito.mock(PooledTableClient.class);
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getId()).thenReturn("test_session");
+        Mockito.when(session.executeDataQuery(any(), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(
+                Result.success(new DataQueryResult(YdbTable.ExecuteQueryResult.newBuilder()
+                        .addResultSets(ValueProtos.ResultSet.newBuilder().getDefaultInstanceForType())
+                        .build()))
+        ));
+        Mockito.when(tableClient.createSession(any()))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(session)));
+        InMemoryTracer tracer = new InMemoryTracer();
+        OperationsConfig operationsConfig = Mockito.spy(OperationsConfig.defaultConfig());
+        Mockito.doReturn(tracer).when(operationsConfig).getTracer();
+        YdbContext ydbContext = new YdbContext(tableClient, operationsConfig);
+
+        OutsideTransactionState state = new OutsideTransactionState(ydbContext, YdbTxSettings.defaultSettings());
+
+        state.executeDataQuery(TEST_QUERY, Params.empty(), List.of(OperationType.SELECT))
+                .flatMapMany(NextStateResult::getResult)
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .verifyComplete();
+
+        List<InMemoryTracer.FinishedSpan> spans = tracer.getFinishedSpans();
+        Assertions.assertEquals(List.of(Tracing.SESSION_ACQUIRE, Tracing.QUERY_EXECUTE, Tracing.QUERY_RESULTS,
+                        Tracing.QUERY),
+                spans.stream().map(InMemoryTracer.FinishedSpan::name).toList());
+        InMemoryTracer.FinishedSpan query = spans.get(3);
+        for (InMemoryTracer.FinishedSpan span : spans.subList(0, 3)) {
+            Assertions.assertEquals(query.id(), span.parentId());
+        }
+        Assertions.assertEquals("test_session", spans.get(0).attributes().get(Tracing.SESSION_ID));
+        Assertions.assertEquals(0L, spans.get(2).attributes().get(Tracing.ROWS));
+        Assertions.assertEquals("SELECT", query.attributes().get(Tracing.OPERATION_TYPES));
+        Assertions.assertEquals("SUCCESS", query.attributes().get(Tracing.STATUS_CODE));
+        Assertions.assertEquals(Tracing.txMode(YdbTxSettings.defaultSettings()),
+                query.attributes().get(Tracing.TX_MODE));
+    }
+
     @Test
     public void executeDataQueryWithTxIdTest() {
         PooledTableClient tableClient = Mockito.mock(PooledTableClient.class);
@@ -137,6 +216,109 @@ public class OutsideTransactionStateUnitTest {
         Mockito.verify(session, Mockito.never()).close();
     }
 
+    @Test
+    public void executeDataQueryScanOnTruncatedTest() {
+        Session session = truncatedSession();
+        ResultSetReader resultSetReader = Mockito.mock(ResultSetReader.class);
+        GrpcReadStream<ResultSetReader> stream = scanStream(resultSetReader);
+        Mockito.when(session.executeScanQuery(any(), any(), any())).thenReturn(stream);
+        Params params = Mockito.mock(Params.class);
+        OutsideTransactionState state = scanOnTruncatedState(session);
+
+        state.executeDataQuery(TEST_QUERY, params, List.of(OperationType.SELECT))
+                .as(StepVerifier::create)
+                .expectNextMatches(fluxNextStateResult -> {
+                    Mockito.verify(session).close();
+                    fluxNextStateResult.getResult()
+                            .flatMap(YdbResult::getRowsUpdated)
+                            .as(StepVerifier::create)
+                            .expectNext(-1L)
+                            .verifyComplete();
+
+                    return fluxNextStateResult.getNextState() == state;
+                })
+                .verifyComplete();
+
+        Mockito.verify(session).executeScanQuery(eq(TEST_QUERY), eq(params), any());
+        Mockito.verify(resultSetReader).next();
+        Mockito.verify(session, Mockito.times(2)).close();
+    }
+
+    @Test
+    public void executeDataQueryScanOnTruncatedDroppedTest() {
+        Session session = truncatedSession();
+        OutsideTransactionState state = scanOnTruncatedState(session);
+
+        state.executeDataQuery(TEST_QUERY, Params.empty(), List.of(OperationType.SELECT))
+                .flatMapMany(NextStateResult::getResult)
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .verifyComplete();
+
+        Mockito.verify(session, Mockito.never()).executeScanQuery(any(), any(), any());
+        Mockito.verify(session).close();
+    }
+
+    @Test
+    public void executeDataQueryScanOnTruncatedTwiceTest() {
+        Session session = truncatedSession();
+        GrpcReadStream<ResultSetReader> stream = scanStream(Mockito.mock(ResultSetReader.class));
+        Mockito.when(session.executeScanQuery(any(), any(), any())).thenReturn(stream);
+        OutsideTransactionState state = scanOnTruncatedState(session);
+
+        YdbResult result = state.executeDataQuery(TEST_QUERY, Params.empty(), List.of(OperationType.SELECT))
+                .flatMapMany(NextStateResult::getResult)
+                .blockLast();
+
+        result.getRowsUpdated()
+                .as(StepVerifier::create)
+                .expectNext(-1L)
+                .verifyComplete();
+        result.getRowsUpdated()
+                .as(StepVerifier::create)
+                .verifyError(IllegalStateException.class);
+
+        Mockito.verify(stream).start(any());
+    }
+
+    private static Session truncatedSession() {
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.executeDataQuery(any(), any(), any(), any())).thenReturn(CompletableFuture.completedFuture(
+                Result.success(new DataQueryResult(
+                                YdbTable.ExecuteQueryResult.newBuilder()
+                                        .addResultSets(ValueProtos.ResultSet.newBuilder()
+                                                .setTruncated(true)
+                                                .build())
+                                        .build()
+                        )
+                )
+        ));
+
+        return session;
+    }
+
+    private static GrpcReadStream<ResultSetReader> scanStream(ResultSetReader resultSetReader) {
+        @SuppressWarnings("unchecked")
+        GrpcReadStream<ResultSetReader> stream = Mockito.mock(GrpcReadStream.class);
+        Mockito.when(stream.start(any())).thenAnswer(invocation -> {
+            invocation.<GrpcReadStream.Observer<ResultSetReader>>getArgument(0).onNext(resultSetReader);
+            return CompletableFuture.completedFuture(Status.SUCCESS);
+        });
+
+        return stream;
+    }
+
+    private static OutsideTransactionState scanOnTruncatedState(Session session) {
+        PooledTableClient tableClient = Mockito.mock(PooledTableClient.class);
+        Mockito.when(tableClient.createSession(any()))
+                .thenReturn(CompletableFuture.completedFuture(Result.success(session)));
+        OperationsConfig operationsConfig = Mockito.spy(OperationsConfig.defaultConfig());
+        Mockito.when(operationsConfig.isScanOnTruncatedResult()).thenReturn(true);
+
+        return new OutsideTransactionState(new YdbContext(tableClient, operationsConfig),
+                Mockito.mock(YdbTxSettings.class));
+    }
+
     @Test
     public void executeDataQueryFailTest() {
         PooledTableClient tableClient = Mockito.mock(PooledTableClient.class);
@@ -7,12 +7,18 @@ import io.r2dbc.spi.Parameters;
 import io.r2dbc.spi.R2dbcType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import tech.ydb.io.r2dbc.codec.Codec;
+import tech.ydb.io.r2dbc.codec.Codecs;
 import tech.ydb.io.r2dbc.query.QueryType;
 import tech.ydb.io.r2dbc.query.YdbQuery;
 import tech.ydb.io.r2dbc.YdbConnection;
 import tech.ydb.io.r2dbc.type.YdbType;
+import tech.ydb.table.values.ListType;
 import tech.ydb.table.values.PrimitiveType;
 import tech.ydb.table.values.PrimitiveValue;
+import tech.ydb.table.values.StructType;
+import tech.ydb.table.values.Type;
+import tech.ydb.table.values.Value;
 
 import static org.mockito.Mockito.mock;
 
@@ -173,4 +179,75 @@ public class YdbDMLStatementTest {
         Assertions.assertThrows(IllegalArgumentException.class, () -> statement.bind(-1, 1));
         Assertions.assertThrows(IllegalArgumentException.class, () -> statement.bind(3, 1));
     }
+
+    @Test
+    public void toParamsTest() {
+        YdbQuery query = new YdbQuery("test_sql", List.of("$testParamA", "$testParamB"), QueryType.DML);
+        YdbConnection queryExecutor = mock(YdbConnection.class);
+        YdbStatement statement = new YdbDMLStatement(query, queryExecutor);
+
+        statement.bind(1, "test");
+        IllegalArgumentException exception = Assertions.assertThrows(IllegalArgumentException.class,
+                () -> statement.getBindings().getCurrent().validate());
+        Assertions.assertEquals("Parameters $testParamA not bounded", exception.getMessage());
+
+        statement.bind(0, 1);
+        Assertions.assertEquals(Map.of("$testParamA", PrimitiveValue.newInt32(1),
+                        "$testParamB", PrimitiveValue.newText("test")),
+                statement.getBindings().getCurrent().toParams().values());
+        Assertions.assertEquals("DECLARE $testParamA AS Int32;\nDECLARE $testParamB AS Text;\ntest_sql",
+                query.getYqlQuery(statement.getBindings().getCurrent()));
+    }
+
+    @Test
+    public void bindRecordListDeclareTest() {
+        String sql = "UPSERT INTO t SELECT * FROM AS_TABLE($rows)";
+        YdbQuery query = new YdbQuery(sql, List.of("$rows"), QueryType.DML);
+        YdbConnection queryExecutor = mock(YdbConnection.class);
+        YdbStatement statement = new YdbDMLStatement(query, queryExecutor);
+
+        statement.bind("$rows", List.of(new TestRow(1, "a"), new TestRow(2, null)));
+
+        ListType type = ListType.of(StructType.of("id", PrimitiveType.Int32, "value", PrimitiveType.Text.makeOptional()));
+        Assertions.assertEquals("DECLARE $rows AS " + type + ";\n" + sql,
+                query.getYqlQuery(statement.getBindings().getCurrent()));
+    }
+
+    private record TestRow(int id, String value) {
+    }
+
+    @Test
+    public void bindCodecTest() {
+        Codec<Integer> codec = new Codec<>() {
+            @Override
+            public Class<Integer> getJavaType() {
+                return Integer.class;
+            }
+
+            @Override
+            public boolean canDecode(Type ydbType) {
+                return false;
+            }
+
+            @Override
+            public Value<?> encode(Integer value) {
+                return PrimitiveValue.newUint32(value);
+            }
+
+            @Override
+            public Integer decode(Value<?> value) {
+                throw new UnsupportedOperationException();
+            }
+        };
+        YdbQuery query = new YdbQuery("test_sql", List.of("$testParamA", "$testParamB"), QueryType.DML);
+        YdbConnection queryExecutor = mock(YdbConnection.class);
+        YdbStatement statement = new YdbDMLStatement(query, queryExecutor, Codecs.of(List.of(codec)));
+
+        statement.bind("$testParamA", 1);
+        statement.bind("$testParamB", "test");
+
+        Assertions.assertEquals(Map.of("$testParamA", PrimitiveValue.newUint32(1),
+                        "$testParamB", PrimitiveValue.newText("test")),
+                statement.getBindings().getCurrent().values());
+    }
 }
@@ -0,0 +1,79 @@
+package tech.ydb.io.r2dbc.statement;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import tech.ydb.io.r2dbc.YdbConnection;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.query.QueryType;
+import tech.ydb.io.r2dbc.query.YdbQuery;
+import tech.ydb.table.query.Params;
+import tech.ydb.table.values.PrimitiveValue;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class YdbStatementTemplateTest {
+    @Test
+    public void executeTest() {
+        YdbQuery query = new YdbQuery("test_sql", List.of("$testParamA", "$testParamB"), QueryType.DML);
+        YdbConnection connection = mock(YdbConnection.class);
+        when(connection.executeDataQuery(anyString(), any(), anyList())).thenReturn(Flux.empty());
+        YdbStatementTemplate template = new YdbStatementTemplate(query);
+
+        template.bind(1, "test").execute(connection).blockLast();
+
+        ArgumentCaptor<Params> params = ArgumentCaptor.forClass(Params.class);
+        verify(connection).executeDataQuery(
+                eq("DECLARE $testParamA AS Int32;\nDECLARE $testParamB AS Text;\ntest_sql"),
+                params.capture(),
+                eq(List.<OperationType>of()));
+        Assertions.assertEquals(PrimitiveValue.newInt32(1), params.getValue().values().get("$testParamA"));
+        Assertions.assertEquals(PrimitiveValue.newText("test"), params.getValue().values().get("$testParamB"));
+    }
+
+    @Test
+    public void reuseDeclarationTest() {
+        YdbQuery query = new YdbQuery("test_sql", List.of("$testParamA"), QueryType.DML);
+        YdbConnection connection = mock(YdbConnection.class);
+        when(connection.executeDataQuery(anyString(), any(), anyList())).thenReturn(Flux.empty());
+        YdbStatementTemplate template = new YdbStatementTemplate(query);
+
+        template.bind(1).execute(connection).blockLast();
+        template.bind(2).execute(connection).blockLast();
+        template.bind(3L).execute(connection).blockLast();
+
+        ArgumentCaptor<String> yql = ArgumentCaptor.forClass(String.class);
+        verify(connection, times(3)).executeDataQuery(yql.capture(), any(), anyList());
+        Assertions.assertSame(yql.getAllValues().get(0), yql.getAllValues().get(1));
+        Assertions.assertEquals("DECLARE $testParamA AS Int64;\ntest_sql", yql.getAllValues().get(2));
+    }
+
+    @Test
+    public void bindWrongCountTest() {
+        YdbQuery query = new YdbQuery("test_sql", List.of("$testParamA"), QueryType.DML);
+        YdbStatementTemplate template = new YdbStatementTemplate(query);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.bind(1, 2));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> template.bind((Object) null));
+    }
+
+    @Test
+    public void ddlQueryTest() {
+        YdbQuery query = new YdbQuery("test_sql", List.of(), QueryType.DDL);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new YdbStatementTemplate(query));
+    }
+}
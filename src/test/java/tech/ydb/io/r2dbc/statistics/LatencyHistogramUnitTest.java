@@ -0,0 +1,61 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.statistics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class LatencyHistogramUnitTest {
+    @Test
+    public void bucketsTest() {
+        for (long value = 0; value < 100_000; value++) {
+            long upperBound = LatencyHistogram.upperBound(LatencyHistogram.index(value));
+            Assertions.assertTrue(upperBound >= value);
+            Assertions.assertTrue(upperBound - value <= value / 8, "value " + value);
+        }
+    }
+
+    @Test
+    public void percentilesTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 1; value <= 1000; value++) {
+            histogram.record(value * 1000);
+        }
+
+        long[] percentiles = histogram.getPercentiles(50, 99, 100);
+        Assertions.assertEquals(500_000, percentiles[0], 500_000 / 8.0);
+        Assertions.assertEquals(990_000, percentiles[1], 990_000 / 8.0);
+        Assertions.assertEquals(1_000_000, percentiles[2]);
+        Assertions.assertEquals(1_000_000, histogram.getMax());
+    }
+
+    @Test
+    public void emptyTest() {
+        Assertions.assertArrayEquals(new long[]{0, 0}, new LatencyHistogram().getPercentiles(50, 99));
+    }
+
+    @Test
+    public void overflowTest() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+
+        Assertions.assertArrayEquals(new long[]{Long.MAX_VALUE}, histogram.getPercentiles(50));
+    }
+}
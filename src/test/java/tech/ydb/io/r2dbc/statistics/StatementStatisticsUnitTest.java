@@ -0,0 +1,138 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.statistics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.io.r2dbc.query.QueryType;
+import tech.ydb.io.r2dbc.query.YdbQuery;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.table.result.ResultSetReader;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class StatementStatisticsUnitTest {
+    private static final YdbQuery QUERY_A = new YdbQuery("query_a", List.of(), QueryType.DML);
+    private static final YdbQuery QUERY_B = new YdbQuery("query_b", List.of(), QueryType.DML);
+
+    @Test
+    public void recordTest() {
+        StatementStatistics statistics = new StatementStatistics(10);
+
+        statistics.record(QUERY_A, Flux.just(selectResult(3), YdbResult.UPDATE_RESULT))
+                .as(StepVerifier::create)
+                .expectNextCount(2)
+                .verifyComplete();
+        statistics.record(new YdbQuery("query_a", List.of(), QueryType.DML), Flux.just(selectResult(2)))
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .verifyComplete();
+        statistics.record(QUERY_A, Flux.error(new UnexpectedResultException("error", Status.of(StatusCode.OVERLOADED))))
+                .as(StepVerifier::create)
+                .verifyError(UnexpectedResultException.class);
+        statistics.record(QUERY_A, Flux.error(new IllegalStateException()))
+                .as(StepVerifier::create)
+                .verifyError(IllegalStateException.class);
+
+        List<StatementStats> snapshot = statistics.snapshot(10);
+        Assertions.assertEquals(1, snapshot.size());
+        StatementStats stats = snapshot.get(0);
+        Assertions.assertEquals(QUERY_A, stats.query());
+        Assertions.assertEquals(4, stats.calls());
+        Assertions.assertEquals(5, stats.rows());
+        Assertions.assertEquals(2, stats.errors());
+        Assertions.assertEquals(0, stats.cancelled());
+        Assertions.assertEquals(Map.of(StatusCode.OVERLOADED, 1L, StatusCode.CLIENT_INTERNAL_ERROR, 1L),
+                stats.errorsByStatus());
+        Assertions.assertTrue(stats.maxTime().compareTo(stats.p50Time()) >= 0);
+        Assertions.assertTrue(stats.totalTime().compareTo(stats.maxTime()) >= 0);
+    }
+
+    @Test
+    public void cancelTest() {
+        StatementStatistics statistics = new StatementStatistics(10);
+
+        statistics.record(QUERY_A, Flux.concat(Flux.just(selectResult(3)), Flux.never()))
+                .next()
+                .as(StepVerifier::create)
+                .expectNextCount(1)
+                .verifyComplete();
+
+        StatementStats stats = statistics.snapshot(10).get(0);
+        Assertions.assertEquals(1, stats.calls());
+        Assertions.assertEquals(3, stats.rows());
+        Assertions.assertEquals(0, stats.errors());
+        Assertions.assertEquals(1, stats.cancelled());
+        Assertions.assertTrue(stats.totalTime().toNanos() > 0);
+    }
+
+    @Test
+    public void topStatementsTest() {
+        StatementStatistics statistics = new StatementStatistics(10);
+
+        statistics.record(QUERY_A, Flux.empty()).blockLast();
+        statistics.record(QUERY_B, Flux.<YdbResult>never().take(Duration.ofMillis(20))).blockLast();
+
+        List<StatementStats> snapshot = statistics.snapshot(1);
+        Assertions.assertEquals(1, snapshot.size());
+        Assertions.assertEquals(QUERY_B, snapshot.get(0).query());
+
+        statistics.reset();
+        Assertions.assertTrue(statistics.snapshot(10).isEmpty());
+    }
+
+    @Test
+    public void maxSizeTest() {
+        StatementStatistics statistics = new StatementStatistics(1);
+
+        statistics.record(QUERY_A, Flux.empty()).blockLast();
+        statistics.record(QUERY_B, Flux.empty()).blockLast();
+
+        List<StatementStats> snapshot = statistics.snapshot(10);
+        Assertions.assertEquals(1, snapshot.size());
+        Assertions.assertEquals(QUERY_A, snapshot.get(0).query());
+    }
+
+    @Test
+    public void disabledTest() {
+        Flux<YdbResult> results = Flux.empty();
+
+        Assertions.assertFalse(StatementStatistics.DISABLED.isEnabled());
+        Assertions.assertSame(results, StatementStatistics.DISABLED.record(QUERY_A, results));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new StatementStatistics(-1));
+    }
+
+    private static YdbResult selectResult(int rowCount) {
+        ResultSetReader resultSetReader = mock(ResultSetReader.class);
+        when(resultSetReader.getRowCount()).thenReturn(rowCount);
+
+        return new YdbResult(resultSetReader, false);
+    }
+}
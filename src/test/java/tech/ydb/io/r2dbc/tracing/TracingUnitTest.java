@@ -0,0 +1,172 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.tracing;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+import tech.ydb.core.Status;
+import tech.ydb.core.StatusCode;
+import tech.ydb.core.UnexpectedResultException;
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.logging.QueryTrace;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.io.r2dbc.settings.YdbTxSettings;
+import tech.ydb.table.Session;
+import tech.ydb.table.result.ResultSetReader;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class TracingUnitTest {
+    @Test
+    public void traceTest() {
+        InMemoryTracer tracer = new InMemoryTracer();
+
+        Tracing.trace(tracer, Tracing.TRANSACTION_COMMIT, span -> {
+                    span.setAttribute(Tracing.TX_ID, "tx");
+                    return Mono.just(1);
+                })
+                .as(StepVerifier::create)
+                .expectNext(1)
+                .verifyComplete();
+
+        List<InMemoryTracer.FinishedSpan> spans = tracer.getFinishedSpans();
+        Assertions.assertEquals(1, spans.size());
+        Assertions.assertEquals(Tracing.TRANSACTION_COMMIT, spans.get(0).name());
+        Assertions.assertEquals(0, spans.get(0).parentId());
+        Assertions.assertEquals("tx", spans.get(0).attributes().get(Tracing.TX_ID));
+        Assertions.assertEquals("SUCCESS", spans.get(0).attributes().get(Tracing.STATUS_CODE));
+        Assertions.assertNull(spans.get(0).error());
+    }
+
+    @Test
+    public void nestedSpansTest() {
+        InMemoryTracer tracer = new InMemoryTracer();
+        YdbSpan applicationSpan = tracer.startSpan("application", Context.empty());
+
+        Tracing.trace(tracer, Tracing.TRANSACTION_BEGIN,
+                        span -> Tracing.trace(tracer, Tracing.SESSION_ACQUIRE, inner -> Mono.just(1)))
+                .contextWrite(Context.of(YdbSpan.CONTEXT_KEY, applicationSpan))
+                .as(StepVerifier::create)
+                .expectNext(1)
+                .verifyComplete();
+        applicationSpan.end();
+
+        List<InMemoryTracer.FinishedSpan> spans = tracer.getFinishedSpans();
+        Assertions.assertEquals(3, spans.size());
+        Assertions.assertEquals(Tracing.SESSION_ACQUIRE, spans.get(0).name());
+        Assertions.assertEquals(spans.get(1).id(), spans.get(0).parentId());
+        Assertions.assertEquals(Tracing.TRANSACTION_BEGIN, spans.get(1).name());
+        Assertions.assertEquals(spans.get(2).id(), spans.get(1).parentId());
+        Assertions.assertEquals("application", spans.get(2).name());
+    }
+
+    @Test
+    public void traceErrorTest() {
+        InMemoryTracer tracer = new InMemoryTracer();
+        UnexpectedResultException exception = new UnexpectedResultException("test", Status.of(StatusCode.ABORTED));
+
+        Tracing.trace(tracer, Tracing.TRANSACTION_ROLLBACK, span -> Mono.error(exception))
+                .as(StepVerifier::create)
+                .verifyError(UnexpectedResultException.class);
+
+        InMemoryTracer.FinishedSpan span = tracer.getFinishedSpans().get(0);
+        Assertions.assertEquals("ABORTED", span.attributes().get(Tracing.STATUS_CODE));
+        Assertions.assertSame(exception, span.error());
+
+        tracer.reset();
+        Assertions.assertTrue(tracer.getFinishedSpans().isEmpty());
+    }
+
+    @Test
+    public void cancelTest() {
+        InMemoryTracer tracer = new InMemoryTracer();
+
+        Tracing.trace(tracer, Tracing.SESSION_ACQUIRE, span -> Mono.never())
+                .as(StepVerifier::create)
+                .thenCancel()
+                .verify();
+
+        InMemoryTracer.FinishedSpan span = tracer.getFinishedSpans().get(0);
+        Assertions.assertNull(span.attributes().get(Tracing.STATUS_CODE));
+    }
+
+    @Test
+    public void fingerprintTest() {
+        Assertions.assertEquals(Tracing.fingerprint("SELECT * FROM series;"),
+                Tracing.fingerprint("SELECT *\n    FROM  series;"));
+        Assertions.assertNotEquals(Tracing.fingerprint("SELECT * FROM series;"),
+                Tracing.fingerprint("SELECT * FROM seasons;"));
+        Assertions.assertEquals(16, Tracing.fingerprint("").length());
+    }
+
+    @Test
+    public void combinedTracersTest() {
+        InMemoryTracer first = new InMemoryTracer();
+        InMemoryTracer second = new InMemoryTracer();
+        YdbTracer tracer = YdbTracer.combine(first, second);
+
+        Tracing.trace(tracer, Tracing.TRANSACTION_BEGIN,
+                        span -> Tracing.trace(tracer, Tracing.SESSION_ACQUIRE, inner -> Mono.just(1)))
+                .as(StepVerifier::create)
+                .expectNext(1)
+                .verifyComplete();
+
+        for (InMemoryTracer inMemoryTracer : List.of(first, second)) {
+            List<InMemoryTracer.FinishedSpan> spans = inMemoryTracer.getFinishedSpans();
+            Assertions.assertEquals(2, spans.size());
+            Assertions.assertEquals(spans.get(1).id(), spans.get(0).parentId());
+        }
+        Assertions.assertSame(first, YdbTracer.combine(first, YdbTracer.NOOP));
+    }
+
+    @Test
+    public void streamedQueryTest() {
+        InMemoryTracer tracer = new InMemoryTracer();
+        Session session = Mockito.mock(Session.class);
+        Mockito.when(session.getId()).thenReturn("test_session");
+
+        QueryTrace trace = Tracing.startQuery(tracer, Context.empty(), "SELECT 1;", List.of(OperationType.SELECT),
+                YdbTxSettings.defaultSettings(), null);
+        trace.onSession(session);
+        trace.onExecuted();
+        YdbResult result = trace.onResults(Flux.just(new YdbResult(Flux.<ResultSetReader>empty(), Codecs.EMPTY)))
+                .blockLast();
+        Assertions.assertEquals(List.of(Tracing.QUERY_EXECUTE), tracer.getFinishedSpans().stream()
+                .map(InMemoryTracer.FinishedSpan::name)
+                .toList());
+
+        Flux.from(result.getRowsUpdated()).blockLast();
+        Assertions.assertEquals(List.of(Tracing.QUERY_EXECUTE, Tracing.QUERY_RESULTS, Tracing.QUERY),
+                tracer.getFinishedSpans().stream()
+                        .map(InMemoryTracer.FinishedSpan::name)
+                        .toList());
+    }
+
+    @Test
+    public void noopTracerTest() {
+        Assertions.assertSame(YdbSpan.NOOP, YdbTracer.NOOP.startSpan(Tracing.QUERY, Context.empty()));
+    }
+}
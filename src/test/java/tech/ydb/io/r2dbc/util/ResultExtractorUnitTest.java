@@ -0,0 +1,188 @@
+/*
+ * Copyright 2022 YANDEX LLC
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *        http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package tech.ydb.io.r2dbc.util;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+import tech.ydb.core.Result;
+import tech.ydb.core.Status;
+import tech.ydb.core.grpc.GrpcReadStream;
+import tech.ydb.io.r2dbc.codec.Codecs;
+import tech.ydb.io.r2dbc.query.OperationType;
+import tech.ydb.io.r2dbc.result.YdbResult;
+import tech.ydb.proto.ValueProtos;
+import tech.ydb.proto.YdbQueryStats;
+import tech.ydb.proto.table.YdbTable;
+import tech.ydb.table.query.DataQueryResult;
+import tech.ydb.table.result.ResultSetReader;
+import tech.ydb.table.result.impl.ProtoValueReaders;
+import tech.ydb.table.values.PrimitiveType;
+
+/**
+ * @author Egor Kuleshov
+ */
+public class ResultExtractorUnitTest {
+    @Test
+    public void parallelDecodingKeepsOrderTest() {
+        YdbTable.ExecuteQueryResult.Builder builder = YdbTable.ExecuteQueryResult.newBuilder();
+        for (int resultSet = 0; resultSet < 3; resultSet++) {
+            builder.addResultSets(resultSet(resultSet * 100, 100));
+        }
+        Result<DataQueryResult> result = Result.success(new DataQueryResult(builder.build()));
+
+        ResultExtractor.extract(result,
+                        List.of(OperationType.SELECT, OperationType.UPDATE, OperationType.SELECT, OperationType.SELECT),
+                        false,
+                        true,
+                        Codecs.EMPTY)
+                .concatMap(ydbResult -> ydbResult.map((row, rowMetadata) -> row.get(0, Integer.class)))
+                .collectList()
+                .as(StepVerifier::create)
+                .expectNextMatches(values -> {
+                    for (int index = 0; index < values.size(); index++) {
+                        if (values.get(index) != index) {
+                            return false;
+                        }
+                    }
+
+                    return values.size() == 300;
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    public void rowsUpdatedFromStatsTest() {
+        Result<DataQueryResult> result = Result.success(new DataQueryResult(YdbTable.ExecuteQueryResult.newBuilder()
+                .setQueryStats(queryStats())
+                .build()));
+
+        ResultExtractor.extract(result, List.of(OperationType.UPDATE), false)
+                .flatMap(YdbResult::getRowsUpdated)
+                .as(StepVerifier::create)
+                .expectNext(5L)
+                .verifyComplete();
+        ResultExtractor.extract(result, List.of(OperationType.UPDATE), false)
+                .flatMap(YdbResult::getStats)
+                .as(StepVerifier::create)
+                .expectNextMatches(stats -> stats.getQueryPhases(0).getTableAccessCount() == 2)
+                .verifyComplete();
+    }
+
+    @Test
+    public void rowsUpdatedOfSeveralUpdatesTest() {
+        Result<DataQueryResult> result = Result.success(new DataQueryResult(YdbTable.ExecuteQueryResult.newBuilder()
+                .addResultSets(resultSet(0, 1))
+                .setQueryStats(queryStats())
+                .build()));
+
+        List<YdbResult> results = ResultExtractor.extract(result,
+                        List.of(OperationType.UPDATE, OperationType.SELECT, OperationType.UPDATE), false)
+                .collectList()
+                .block();
+
+        Assertions.assertNotNull(results);
+        Assertions.assertEquals(1L, results.get(0).getRowsUpdated().block());
+        Assertions.assertEquals(1L, results.get(2).getRowsUpdated().block());
+        for (YdbResult ydbResult : results) {
+            Assertions.assertEquals(1, ydbResult.getStats().blockOptional().orElseThrow().getQueryPhasesCount());
+        }
+    }
+
+    @Test
+    public void withoutStatsTest() {
+        Result<DataQueryResult> result = Result.success(new DataQueryResult(
+                YdbTable.ExecuteQueryResult.newBuilder().build()));
+
+        ResultExtractor.extract(result, List.of(OperationType.UPDATE), false)
+                .as(StepVerifier::create)
+                .expectNextMatches(ydbResult -> ydbResult.getRowsUpdated().block() == 1L
+                        && ydbResult.getStats().blockOptional().isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    public void streamWaitsForDemandTest() {
+        AtomicInteger emitted = new AtomicInteger();
+        GrpcReadStream<ResultSetReader> stream = new GrpcReadStream<>() {
+            @Override
+            public CompletableFuture<Status> start(Observer<ResultSetReader> observer) {
+                return CompletableFuture.supplyAsync(() -> {
+                    for (int part = 0; part < 100; part++) {
+                        emitted.incrementAndGet();
+                        observer.onNext(ProtoValueReaders.forResultSet(resultSet(part, 1)));
+                    }
+
+                    return Status.SUCCESS;
+                });
+            }
+
+            @Override
+            public void cancel() {
+            }
+        };
+
+        StepVerifier.create(new YdbResult(ResultExtractor.extract(stream, "fail"), Codecs.EMPTY)
+                                .map((row, rowMetadata) -> row.get(0, Integer.class)), 1)
+                .expectNext(0)
+                .then(() -> {
+                    try {
+                        Thread.sleep(200);
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    // the consumed part, the part read by the result, the prefetched parts and the waiting one
+                    Assertions.assertTrue(emitted.get() <= ResultExtractor.STREAM_PREFETCH + 3,
+                            "Parts read without demand: " + emitted.get());
+                })
+                .thenRequest(Long.MAX_VALUE)
+                .expectNextCount(99)
+                .verifyComplete();
+        Assertions.assertEquals(100, emitted.get());
+    }
+
+    private static YdbQueryStats.QueryStats queryStats() {
+        return YdbQueryStats.QueryStats.newBuilder()
+                .addQueryPhases(YdbQueryStats.QueryPhaseStats.newBuilder()
+                        .addTableAccess(YdbQueryStats.TableAccessStats.newBuilder()
+                                .setName("/local/series")
+                                .setUpdates(YdbQueryStats.OperationStats.newBuilder().setRows(3))
+                                .setDeletes(YdbQueryStats.OperationStats.newBuilder().setRows(1)))
+                        .addTableAccess(YdbQueryStats.TableAccessStats.newBuilder()
+                                .setName("/local/seasons")
+                                .setReads(YdbQueryStats.OperationStats.newBuilder().setRows(10))
+                                .setUpdates(YdbQueryStats.OperationStats.newBuilder().setRows(1))))
+                .build();
+    }
+
+    private static ValueProtos.ResultSet resultSet(int from, int count) {
+        ValueProtos.ResultSet.Builder builder = ValueProtos.ResultSet.newBuilder()
+                .addColumns(ValueProtos.Column.newBuilder()
+                        .setName("id")
+                        .setType(PrimitiveType.Int32.toPb()));
+        for (int id = from; id < from + count; id++) {
+            builder.addRows(ValueProtos.Value.newBuilder()
+                    .addItems(ValueProtos.Value.newBuilder().setInt32Value(id)));
+        }
+
+        return builder.build();
+    }
+}